@@ -0,0 +1,67 @@
+package dev.ikm.maven.benchmarks;
+
+import dev.ikm.maven.LoincUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LoincUtility#splitCsvLine(String)} and {@link LoincUtility#removeQuotes(String)} as called once per
+ * release row and once per column read.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvParsingBenchmark {
+
+    @Param({"sparse", "full", "quotedCommas", "multiParentComponent"})
+    public String rowType;
+
+    private String line;
+    private String[] columns;
+
+    @Setup
+    public void setup() {
+        line = switch (rowType) {
+            case "sparse" -> LoincRowFixtures.SPARSE_ROW;
+            case "full" -> LoincRowFixtures.FULL_ROW;
+            case "quotedCommas" -> LoincRowFixtures.QUOTED_COMMAS_ROW;
+            case "multiParentComponent" -> LoincRowFixtures.MULTI_PARENT_COMPONENT_ROWS[0];
+            default -> throw new IllegalArgumentException(rowType);
+        };
+        columns = LoincUtility.splitCsvLine(line);
+    }
+
+    @Benchmark
+    public String[] splitCsvLine() {
+        return LoincUtility.splitCsvLine(line);
+    }
+
+    @Benchmark
+    public void removeQuotes(Blackhole blackhole) {
+        for (String column : columns) {
+            blackhole.consume(LoincUtility.removeQuotes(column));
+        }
+    }
+
+    @Benchmark
+    public void splitAndRemoveQuotes(Blackhole blackhole) {
+        for (String column : LoincUtility.splitCsvLine(line)) {
+            blackhole.consume(LoincUtility.removeQuotes(column));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package dev.ikm.maven.benchmarks;
+
+import dev.ikm.maven.LoincUtility;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Representative release rows for the benchmarks, modelled on LOINC 2.81. Loinc.csv rows have the 40 columns of
+ * the release: 0 LOINC_NUM, 1-6 the axes, 7 CLASS, 10 DefinitionDescription, 11 STATUS, 12 CONSUMER_NAME,
+ * 13 CLASSTYPE, 15 EXMPL_ANSWERS, 19 RELATEDNAMES2, 20 SHORTNAME, 21 ORDER_OBS, 24 EXAMPLE_UNITS,
+ * 25 LONG_COMMON_NAME and 39 DisplayName.
+ */
+public final class LoincRowFixtures {
+
+    public static final UUID NAMESPACE = UUID.fromString("7b880c4c-8e54-5625-863c-c8504fa78243");
+
+    /**
+     * Only the axes, class and names are filled, as for most laboratory terms.
+     */
+    public static final String SPARSE_ROW = loincRow(
+            0, "10000-8",
+            1, "R wave duration.lead AVR",
+            2, "Time",
+            3, "Pt",
+            4, "Heart",
+            5, "Qn",
+            6, "EKG",
+            7, "EKG.MEAS",
+            11, "ACTIVE",
+            13, "2",
+            20, "R wave dur L-AVR",
+            21, "Observation",
+            25, "R wave duration in lead AVR",
+            39, "R wave duration Lead aVR");
+
+    /**
+     * Every column the transformer reads is filled, including a long RELATEDNAMES2 and a definition.
+     */
+    public static final String FULL_ROW = loincRow(
+            0, "2345-7",
+            1, "Glucose",
+            2, "MCnc",
+            3, "Pt",
+            4, "Ser/Plas",
+            5, "Qn",
+            6, "",
+            7, "CHEM",
+            8, "2.81",
+            9, "MIN",
+            10, "Glucose is a simple sugar that serves as the primary source of energy for the body's cells.",
+            11, "ACTIVE",
+            12, "Glucose [Mass/volume] in Serum or Plasma",
+            13, "1",
+            19, "Glu; Gluc; Glucoseur; Level; Mass concentration; Plas; Plasma; PLS; Point in time; QNT; Quan; "
+                    + "Quant; Quantitative; Random; SerP; SerPl; SerPlas; Serum; Serum or plasma; SR",
+            20, "Glucose SerPl-mCnc",
+            21, "Both",
+            24, "mg/dL",
+            25, "Glucose [Mass/volume] in Serum or Plasma",
+            26, "mg/dL",
+            30, "1",
+            31, "1",
+            37, "1.0",
+            39, "Glucose [Mass/volume] in Serum or Plasma");
+
+    /**
+     * EXMPL_ANSWERS and RELATEDNAMES2 with commas and doubled quotes inside quoted columns.
+     */
+    public static final String QUOTED_COMMAS_ROW = loincRow(
+            0, "5778-6",
+            1, "Color",
+            2, "Type",
+            3, "Pt",
+            4, "Urine",
+            5, "Nom",
+            6, "",
+            7, "UA",
+            11, "ACTIVE",
+            13, "1",
+            15, "Answer \"\"Yellow\"\", \"\"Amber\"\", \"\"Red\"\", Straw, Colorless",
+            19, "Col; Colour; Random, spot, UA; \"\"Urinalysis\"\"; Urine, U",
+            20, "Color Ur",
+            21, "Both",
+            25, "Color of Urine",
+            39, "Color, Urine");
+
+    /**
+     * ComponentHierarchyBySystem.csv rows: PATH_TO_ROOT, SEQUENCE, IMMEDIATE_PARENT, CODE, CODE_TEXT. The same code
+     * under two parents is what the transformer keeps in its parent cache.
+     */
+    public static final String[] MULTI_PARENT_COMPONENT_ROWS = {
+            "\"LP432695-7.LP29693-6.LP343406-7\",\"1\",\"LP343406-7\",\"LP15341-8\",\"Glucose\"",
+            "\"LP432695-7.LP29693-6.LP7786-9\",\"4\",\"LP7786-9\",\"LP15341-8\",\"Glucose\"",
+            "\"LP432695-7.LP29693-6.LP343406-7.LP15341-8\",\"1\",\"LP15341-8\",\"LP71425-0\",\"Glucose^1H post 50 g glucose PO\""
+    };
+
+    private LoincRowFixtures() {
+    }
+
+    /**
+     * Register the parts the fixture rows reference, the way the transformer does while creating part concepts.
+     */
+    public static void populatePartCache() {
+        LoincUtility.clearCaches();
+        addPart("R wave duration.lead AVR", "COMPONENT", "LP6934-3");
+        addPart("Glucose", "COMPONENT", "LP14635-4");
+        addPart("Color", "COMPONENT", "LP14582-8");
+        addPart("Time", "PROPERTY", "LP6969-9");
+        addPart("MCnc", "PROPERTY", "LP6827-9");
+        addPart("Type", "PROPERTY", "LP6886-5");
+        addPart("Pt", "TIME", "LP6960-1");
+        addPart("Heart", "SYSTEM", "LP7289-4");
+        addPart("Ser/Plas", "SYSTEM", "LP7576-4");
+        addPart("Urine", "SYSTEM", "LP7681-2");
+        addPart("Qn", "SCALE", "LP7753-9");
+        addPart("Nom", "SCALE", "LP7750-5");
+        addPart("EKG", "METHOD", "LP6244-7");
+        addPart("EKG.MEAS", "CLASS", "LP7790-1");
+        addPart("CHEM", "CLASS", "LP7786-9");
+        addPart("UA", "CLASS", "LP7815-6");
+    }
+
+    private static void addPart(String partName, String partTypeName, String partNumber) {
+        LoincUtility.addPartToCache(partName.toLowerCase(), partTypeName, partNumber);
+    }
+
+    /**
+     * Build a quoted 40 column Loinc.csv line from (column index, value) pairs.
+     */
+    private static String loincRow(Object... indexValuePairs) {
+        String[] columns = new String[40];
+        Arrays.fill(columns, "");
+        for (int i = 0; i < indexValuePairs.length; i += 2) {
+            columns[(Integer) indexValuePairs[i]] = (String) indexValuePairs[i + 1];
+        }
+        return Arrays.stream(columns)
+                .map(column -> "\"" + column + "\"")
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,71 @@
+package dev.ikm.maven.benchmarks;
+
+import dev.ikm.maven.LoincUtility;
+import dev.ikm.tinkar.terms.EntityProxy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static dev.ikm.maven.LoincUtility.removeQuotes;
+
+/**
+ * OWL expressions built for each Loinc.csv row and each ComponentHierarchyBySystem.csv row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OwlExpressionBenchmark {
+
+    @Param({"sparse", "full", "quotedCommas"})
+    public String rowType;
+
+    private String[] axes;
+    private EntityProxy.Concept componentConcept;
+    private EntityProxy.Concept observableEntityConcept;
+
+    @Setup
+    public void setup() {
+        LoincRowFixtures.populatePartCache();
+        String line = switch (rowType) {
+            case "sparse" -> LoincRowFixtures.SPARSE_ROW;
+            case "full" -> LoincRowFixtures.FULL_ROW;
+            case "quotedCommas" -> LoincRowFixtures.QUOTED_COMMAS_ROW;
+            default -> throw new IllegalArgumentException(rowType);
+        };
+        String[] columns = LoincUtility.splitCsvLine(line);
+        axes = new String[7];
+        for (int i = 0; i < axes.length; i++) {
+            axes[i] = removeQuotes(columns[i]);
+        }
+
+        String[] componentColumns = LoincUtility.splitCsvLine(LoincRowFixtures.MULTI_PARENT_COMPONENT_ROWS[0]);
+        String code = removeQuotes(componentColumns[3]);
+        componentConcept = LoincUtility.makeConceptProxy(LoincRowFixtures.NAMESPACE, code);
+        observableEntityConcept = LoincUtility.makeConceptProxy(LoincRowFixtures.NAMESPACE,
+                "Observable Entity of Component " + removeQuotes(componentColumns[4]));
+    }
+
+    @Benchmark
+    public String buildOwlExpression() {
+        return LoincUtility.buildOwlExpression(LoincRowFixtures.NAMESPACE,
+                axes[0], axes[1], axes[2], axes[3], axes[4], axes[5], axes[6]);
+    }
+
+    @Benchmark
+    public String buildComponentOwlExpression() {
+        return LoincUtility.buildComponentOwlExpression(LoincRowFixtures.NAMESPACE, observableEntityConcept, componentConcept);
+    }
+}
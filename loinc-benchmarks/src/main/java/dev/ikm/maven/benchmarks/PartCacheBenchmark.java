@@ -0,0 +1,56 @@
+package dev.ikm.maven.benchmarks;
+
+import dev.ikm.maven.LoincUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LoincUtility#getPartNumberFromCache(String, String)} against a cache the size of a full release, for the
+ * lower-cased lookups done while building OWL expressions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PartCacheBenchmark {
+
+    /**
+     * Roughly the number of target-type parts in a LOINC release.
+     */
+    @Param({"60000"})
+    public int cacheSize;
+
+    private String component;
+
+    @Setup
+    public void setup() {
+        LoincRowFixtures.populatePartCache();
+        for (int i = 0; i < cacheSize; i++) {
+            LoincUtility.addPartToCache("synthetic part " + i, "COMPONENT", "LP" + (100000 + i) + "-0");
+        }
+        component = "Glucose";
+    }
+
+    @Benchmark
+    public String hit() {
+        return LoincUtility.getPartNumberFromCache(component.toLowerCase(), "COMPONENT");
+    }
+
+    @Benchmark
+    public String miss() {
+        return LoincUtility.getPartNumberFromCache(component.toLowerCase(), "METHOD");
+    }
+}
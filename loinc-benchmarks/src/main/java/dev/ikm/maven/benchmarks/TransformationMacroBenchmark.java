@@ -0,0 +1,218 @@
+package dev.ikm.maven.benchmarks;
+
+import dev.ikm.maven.JsonWriter;
+import dev.ikm.maven.LoincStageListener;
+import dev.ikm.maven.LoincTransformer;
+import dev.ikm.maven.LoincTransformerSettings;
+import dev.ikm.maven.synthetic.SyntheticLoincReleaseGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end benchmark of the run-loinc-transformation flow ({@link LoincTransformer#run()}, as called by the mojo)
+ * against synthetic releases at several scales and thread counts. Every run gets its own JVM and a fresh datastore
+ * in a temporary directory, and records wall time per stage, Loinc.csv rows per second, peak heap, GC totals and
+ * the datastore size on disk. The results are written as one JSON report.
+ *
+ * <pre>
+ * java -cp loinc-benchmarks/target/benchmarks.jar dev.ikm.maven.benchmarks.TransformationMacroBenchmark \
+ *      --scales 10000,100000,1000000 --threads 1,4,8 --output target/macro-benchmark.json
+ * </pre>
+ */
+public class TransformationMacroBenchmark {
+
+    private static final UUID NAMESPACE = UUID.fromString("7b880c4c-8e54-5625-863c-c8504fa78243");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (options.containsKey("run")) {
+            runSingle(options);
+            return;
+        }
+
+        int[] scales = parseInts(options.getOrDefault("scales", "10000,100000"));
+        int[] threadCounts = parseInts(options.getOrDefault("threads", "1,4"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String controller = options.getOrDefault("controller", LoincTransformerSettings.DEFAULT_CONTROLLER_NAME);
+        File output = new File(options.getOrDefault("output", "target/macro-benchmark.json"));
+        Path workDirectory = Files.createTempDirectory("loinc-macro-benchmark");
+
+        JsonWriter report = new JsonWriter().beginObject()
+                .field("seed", seed)
+                .field("controller", controller)
+                .field("javaVersion", System.getProperty("java.version"))
+                .field("availableProcessors", Runtime.getRuntime().availableProcessors())
+                .field("maxHeapBytes", Runtime.getRuntime().maxMemory())
+                .name("runs").beginArray();
+        try {
+            for (int scale : scales) {
+                File release = workDirectory.resolve("loinc-synthetic-" + scale + ".zip").toFile();
+                System.out.println("Generating " + scale + " term release");
+                new SyntheticLoincReleaseGenerator(scale, seed).write(release);
+                for (int threadCount : threadCounts) {
+                    System.out.println("Transforming " + scale + " terms with " + threadCount + " threads");
+                    report.rawValue(fork(release, scale, threadCount, controller, workDirectory));
+                }
+                Files.delete(release.toPath());
+            }
+        } finally {
+            deleteRecursively(workDirectory);
+        }
+        report.endArray().endObject();
+
+        File parent = output.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+        Files.writeString(output.toPath(), report.toString(), StandardCharsets.UTF_8);
+        System.out.println("Report written to " + output.getAbsolutePath());
+    }
+
+    /**
+     * Run one configuration in a child JVM with the same classpath and JVM options, so heap and GC figures are
+     * not polluted by earlier runs.
+     */
+    private static String fork(File release, int scale, int threadCount, String controller, Path workDirectory)
+            throws IOException, InterruptedException {
+        File result = workDirectory.resolve("run-" + scale + "-" + threadCount + ".json").toFile();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), TransformationMacroBenchmark.class.getName(),
+                "--run", release.getAbsolutePath(),
+                "--scale", Integer.toString(scale),
+                "--threads", Integer.toString(threadCount),
+                "--controller", controller,
+                "--work", workDirectory.toString(),
+                "--result", result.getAbsolutePath()));
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0 || !result.isFile()) {
+            throw new IllegalStateException("Benchmark run for " + scale + " terms and " + threadCount
+                    + " threads failed with exit code " + exitCode);
+        }
+        String json = Files.readString(result.toPath(), StandardCharsets.UTF_8);
+        Files.delete(result.toPath());
+        return json;
+    }
+
+    private static void runSingle(Map<String, String> options) throws IOException {
+        int scale = Integer.parseInt(options.get("scale"));
+        int threadCount = Integer.parseInt(options.get("threads"));
+        Path runDirectory = Files.createTempDirectory(Path.of(options.get("work")), "run");
+        File datastore = runDirectory.resolve("datastore").toFile();
+
+        Map<String, Long> stageNanos = new LinkedHashMap<>();
+        LoincTransformerSettings settings = new LoincTransformerSettings()
+                .namespace(NAMESPACE)
+                .datastorePath(datastore)
+                .inputZipPath(options.get("run"))
+                .dataOutputPath(runDirectory.resolve("output").toFile())
+                .controllerName(options.get("controller"))
+                .threadCount(threadCount)
+                .stageListener(new LoincStageListener() {
+                    @Override
+                    public void stageFinished(String stage, long wallNanos) {
+                        stageNanos.merge(stage, wallNanos, Long::sum);
+                    }
+                });
+
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        long[] gcCountsBefore = collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).toArray();
+        long[] gcMillisBefore = collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).toArray();
+
+        LoincTransformer transformer = new LoincTransformer(settings);
+        long start = System.nanoTime();
+        transformer.run();
+        long wallNanos = System.nanoTime() - start;
+
+        // The transformer resets the pool peaks for every stage, so take the highest stage high-water mark
+        long peakHeap = transformer.getMetrics().peakHeapBytes();
+        long loincComposeNanos = stageNanos.getOrDefault(LoincStageListener.LOINC_COMPOSE, 0L);
+
+        JsonWriter run = new JsonWriter().beginObject()
+                .field("scale", scale)
+                .field("threads", threadCount)
+                .field("wallMillis", TimeUnit.NANOSECONDS.toMillis(wallNanos))
+                .field("rowsPerSecond", scale / (wallNanos / 1e9))
+                .field("loincComposeRowsPerSecond", loincComposeNanos > 0 ? scale / (loincComposeNanos / 1e9) : 0.0)
+                // Sum of the per-pool peaks, an upper bound of the actual peak heap
+                .field("peakHeapBytes", peakHeap)
+                .field("datastoreBytes", directorySize(datastore.toPath()));
+        run.name("stages").beginArray();
+        stageNanos.forEach((stage, nanos) -> run.beginObject()
+                .field("name", stage)
+                .field("wallMillis", TimeUnit.NANOSECONDS.toMillis(nanos))
+                .endObject());
+        run.endArray();
+        long gcCount = 0;
+        long gcMillis = 0;
+        run.name("garbageCollectors").beginArray();
+        for (int i = 0; i < collectors.size(); i++) {
+            long count = collectors.get(i).getCollectionCount() - gcCountsBefore[i];
+            long millis = collectors.get(i).getCollectionTime() - gcMillisBefore[i];
+            gcCount += count;
+            gcMillis += millis;
+            run.beginObject()
+                    .field("name", collectors.get(i).getName())
+                    .field("count", count)
+                    .field("millis", millis)
+                    .endObject();
+        }
+        run.endArray()
+                .field("gcCount", gcCount)
+                .field("gcMillis", gcMillis)
+                .endObject();
+
+        Files.writeString(Path.of(options.get("result")), run.toString(), StandardCharsets.UTF_8);
+        deleteRecursively(runDirectory);
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return 0;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got " + Arrays.toString(args));
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static int[] parseInts(String csv) {
+        return Arrays.stream(csv.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
@@ -0,0 +1,50 @@
+package dev.ikm.maven.benchmarks;
+
+import dev.ikm.tinkar.common.util.uuid.UuidT5Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type 5 UUIDs minted by the transformer: one per concept from its code, and one per semantic from the concept
+ * UUID concatenated with the semantic's text and type suffix.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidGenerationBenchmark {
+
+    private String loincNum;
+    private String longCommonName;
+    private UUID conceptUuid;
+
+    @Setup
+    public void setup() {
+        loincNum = "2345-7";
+        longCommonName = "Glucose [Mass/volume] in Serum or Plasma";
+        conceptUuid = UuidT5Generator.get(LoincRowFixtures.NAMESPACE, loincNum);
+    }
+
+    @Benchmark
+    public UUID conceptUuid() {
+        return UuidT5Generator.get(LoincRowFixtures.NAMESPACE, loincNum);
+    }
+
+    @Benchmark
+    public UUID descriptionSemanticUuid() {
+        return UuidT5Generator.get(LoincRowFixtures.NAMESPACE, conceptUuid + longCommonName + "FQN" + "DESC");
+    }
+}
@@ -0,0 +1,95 @@
+package dev.ikm.tinkar.loinc.integration;
+
+import dev.ikm.tinkar.common.util.uuid.UuidT5Generator;
+import dev.ikm.tinkar.terms.EntityProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Checks the datastore content of one source row. {@link LoincVerificationSuiteIT} streams each source file once and
+ * hands every row to all verifiers of that file; each verifier writes the rows it could not find to its own failure
+ * file. {@link #assertLine(String[])} is called from several threads at once and must only read shared state.
+ */
+public abstract class LoincAbstractRowVerifier implements Closeable {
+    Logger log = LoggerFactory.getLogger(getClass());
+    static final String namespaceString = System.getProperty("origin.namespace"); // property set in pom.xml
+
+    private final String name;
+    private final LoincSourceFiles.Source source;
+    private final String errorFile;
+    private BufferedWriter errors;
+    private int notFound;
+    protected LoincVerificationContext context;
+
+    protected LoincAbstractRowVerifier(String name, LoincSourceFiles.Source source, String errorFile) {
+        this.name = name;
+        this.source = source;
+        this.errorFile = errorFile;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public LoincSourceFiles.Source source() {
+        return source;
+    }
+
+    public String errorFile() {
+        return errorFile;
+    }
+
+    public int notFound() {
+        return notFound;
+    }
+
+    public void open(LoincVerificationContext context) throws IOException {
+        this.context = context;
+        new File(errorFile).getAbsoluteFile().getParentFile().mkdirs();
+        errors = new BufferedWriter(new FileWriter(errorFile));
+    }
+
+    /**
+     * Count a row that was not found and write its original line to the failure file. Called on one thread, in
+     * source order.
+     */
+    public void recordNotFound(String line) throws IOException {
+        notFound++;
+        errors.write(line);
+        errors.newLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (errors != null) {
+            errors.close();
+        }
+    }
+
+    protected UUID uuid(String id) {
+        return UuidT5Generator.get(UUID.fromString(namespaceString), id);
+    }
+
+    protected String removeQuotes(String column) {
+        return column.replaceAll("^\"|\"$", "").trim();
+    }
+
+    protected static class ConceptMapValue {
+        EntityProxy.Concept conceptDescType;
+        String term;
+
+        ConceptMapValue(EntityProxy.Concept conceptDescType, String term) {
+            this.conceptDescType = conceptDescType;
+            this.term = term;
+        }
+    }
+
+    protected abstract boolean assertLine(String[] columns);
+}
@@ -0,0 +1,103 @@
+package dev.ikm.tinkar.loinc.integration;
+
+import dev.ikm.maven.LoincUtility;
+import dev.ikm.tinkar.common.id.PublicIds;
+import dev.ikm.tinkar.common.util.uuid.UuidT5Generator;
+import dev.ikm.tinkar.coordinate.stamp.StateSet;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculator;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.PatternEntityVersion;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import dev.ikm.tinkar.entity.graph.DiTreeEntity;
+import dev.ikm.tinkar.entity.graph.EntityVertex;
+import dev.ikm.tinkar.terms.EntityProxy;
+import dev.ikm.tinkar.terms.TinkarTerm;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoincAxiomPartSemanticVerifier extends LoincAbstractRowVerifier {
+
+	private final Map<String, List<String>> parentCache;
+
+	public LoincAxiomPartSemanticVerifier(Map<String, List<String>> parentCache) {
+		super("Part.csv axioms", LoincSourceFiles.Source.PART, "target/failsafe-reports/PartCsv_axioms_not_found.txt");
+		this.parentCache = parentCache;
+	}
+
+    @Override
+    protected boolean assertLine(String[] columns) {
+    	String partNumber = removeQuotes(columns[0]);
+    	String partTypeName = removeQuotes(columns[1]);
+    		
+    	final StateSet active;
+    	if (columns[4].equals("ACTIVE") || columns[4].equals("TRIAL") || columns[4].equals("DISCOURAGED") || columns[4].equals("DEPRECATED")) {
+    		active = StateSet.ACTIVE;
+    	} else {
+    		active = StateSet.INACTIVE;
+    	}
+
+    	AtomicBoolean matched = new AtomicBoolean(true);
+    	AtomicInteger innerCount = new AtomicInteger(0);
+
+    	UUID conceptUuid = UuidT5Generator.get(UUID.fromString(namespaceString), partNumber);
+    	EntityProxy.Concept concept = EntityProxy.Concept.make(PublicIds.of(conceptUuid));
+		final List<String> parents = parentCache.get(partNumber);
+		final boolean hasParents = parents != null && !parents.isEmpty();
+		AtomicBoolean parentsFound = new AtomicBoolean(!hasParents);
+
+        StampCalculator stampCalc = context.latestOnDevelopment(active);
+        
+		PatternEntityVersion latestAxiomPattern = context.statedAxiomsPattern();
+
+		EntityService.get().forEachSemanticForComponentOfPattern(concept.nid(), TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN.nid(), semanticEntity -> {
+			
+			Latest<SemanticEntityVersion> latest = stampCalc.latest(semanticEntity);
+    		innerCount.incrementAndGet();
+    		
+    		if(latest.isPresent()) {		
+    			if (hasParents) {
+					if (checkParents(latestAxiomPattern, latest, parents)) {
+						parentsFound.set(true);
+					} else {
+						matched.set(false);
+					}
+				} else {
+					matched.set(checkParent(latestAxiomPattern, latest, LoincUtility.getParentForPartType(UUID.fromString(namespaceString), partTypeName)));
+				}
+    		} else {
+    			matched.set(false);
+    		}
+    	});
+		if (!parentsFound.get()) {
+			return false;
+		}
+
+    	return matched.get() && innerCount.get() == 1;
+    }
+
+	private boolean checkParents(PatternEntityVersion latestAxiomPattern, Latest<SemanticEntityVersion> latest, List<String> parents) {
+		for (String parent : parents) {
+			EntityProxy.Concept parentConcept = EntityProxy.Concept.make(PublicIds.of(uuid(parent)));
+			if (!checkParent(latestAxiomPattern, latest, parentConcept)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean checkParent(PatternEntityVersion latestAxiomPattern, Latest<SemanticEntityVersion> latest, EntityProxy.Concept parentConcept) {
+		DiTreeEntity fieldValue = latestAxiomPattern.getFieldWithMeaning(TinkarTerm.EL_PLUS_PLUS_STATED_TERMINOLOGICAL_AXIOMS, latest.get());
+
+		for (EntityVertex entityVertex : fieldValue.vertexMap()) {
+			if (entityVertex.properties().containsValue(parentConcept)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,74 @@
+package dev.ikm.tinkar.loinc.integration;
+
+import dev.ikm.maven.LoincUtility;
+import dev.ikm.tinkar.common.id.PublicIds;
+import dev.ikm.tinkar.coordinate.stamp.StateSet;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculator;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.PatternEntityVersion;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import dev.ikm.tinkar.terms.EntityProxy;
+import dev.ikm.tinkar.terms.TinkarTerm;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoincAxiomSemanticVerifier extends LoincAbstractRowVerifier {
+
+    public LoincAxiomSemanticVerifier() {
+        super("Loinc.csv axioms", LoincSourceFiles.Source.LOINC, "target/failsafe-reports/LoincCsv_axioms_not_found.txt");
+    }
+
+    @Override
+    protected boolean assertLine(String[] columns) {
+        String loincNum = columns[0]; // LOINC_NUM
+        UUID id = uuid(loincNum);
+
+        final StateSet state;
+        if (columns[11].equals("ACTIVE") || columns[11].equals("TRIAL") || columns[11].equals("DISCOURAGED")) {
+        	state = StateSet.ACTIVE;
+        } else {
+        	state = StateSet.INACTIVE;
+        }
+
+        String component = removeQuotes(columns[1]); // COMPONENT
+        String property = removeQuotes(columns[2]); // PROPERTY
+        String timeAspc = removeQuotes(columns[3]); // TIME_ASPCT
+        String system = removeQuotes(columns[4]); // SYSTEM
+        String scaleType = removeQuotes(columns[5]); // SCALE_TYP
+        String methodType = removeQuotes(columns[6]); // METHOD_TYP
+
+        StampCalculator stampCalc = context.latestOnDevelopment(state);
+        
+		PatternEntityVersion latestAxiomPattern = context.owlAxiomSyntaxPattern();
+        
+        EntityProxy.Concept concept = EntityProxy.Concept.make(PublicIds.of(id));
+
+        AtomicBoolean matched = new AtomicBoolean(true);
+        AtomicInteger innerCount = new AtomicInteger(0);
+        
+		EntityService.get().forEachSemanticForComponentOfPattern(concept.nid(), TinkarTerm.OWL_AXIOM_SYNTAX_PATTERN.nid(), semanticEntity -> {
+			
+			Latest<SemanticEntityVersion> latest = stampCalc.latest(semanticEntity);
+			
+			if (latest.isPresent()) {
+				String fieldValue = latestAxiomPattern.getFieldWithMeaning(TinkarTerm.AXIOM_SYNTAX, latest.get());
+				String owlAxiomStr = LoincUtility.buildOwlExpression(UUID.fromString(namespaceString), loincNum, component, property, timeAspc, system, scaleType, methodType);
+				
+				if(owlAxiomStr != null) {
+					innerCount.incrementAndGet();
+				}
+				
+				if (!fieldValue.equals(owlAxiomStr)) {
+					matched.set(false);
+				} 
+			} else {
+				matched.set(false);
+			}
+		});	    		
+
+        return matched.get() && innerCount.get() == 1;
+    }
+}
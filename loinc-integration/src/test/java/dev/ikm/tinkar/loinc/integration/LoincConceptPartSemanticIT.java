@@ -1,48 +0,0 @@
-package dev.ikm.tinkar.loinc.integration;
-
-import dev.ikm.tinkar.coordinate.Coordinates;
-import dev.ikm.tinkar.coordinate.stamp.StampCoordinateRecord;
-import dev.ikm.tinkar.coordinate.stamp.StateSet;
-import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
-import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculator;
-import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculatorWithCache;
-import dev.ikm.tinkar.entity.ConceptRecord;
-import dev.ikm.tinkar.entity.ConceptVersionRecord;
-import dev.ikm.tinkar.entity.EntityService;
-import org.junit.jupiter.api.Test;
-
-import java.io.IOException;
-import java.util.UUID;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-
-public class LoincConceptPartSemanticIT extends LoincAbstractIntegrationTest {
-
-    /**
-     * Test PartRowConcepts Part.csv Semantics.
-     *
-     * @result Reads content from file and validates Concept of Semantics by calling private method assertConcept().
-     */
-    @Test
-    public void testPartRowConceptSemantics() throws IOException {
-        String sourceFilePath = "../loinc-origin/target/origin-sources";
-        String errorFile = "target/failsafe-reports/PartCsv_not_found.txt";
-
-        String absolutePath = findFilePath(sourceFilePath, "Part.csv");
-        int notFound = processPartFile(absolutePath, errorFile);
-
-        assertEquals(0, notFound, "Unable to find " + notFound + " Part.csv semantics. Details written to " + errorFile);
-    }
-
-    @Override
-    protected boolean assertLine(String[] columns) {
-        UUID id = uuid(columns[0]);
-        StateSet state = (columns[4].equals("ACTIVE")||columns[4].equals("DEPRECATED")) ? StateSet.ACTIVE : StateSet.INACTIVE;
-
-        StampCalculator stampCalc = StampCalculatorWithCache.getCalculator(StampCoordinateRecord.make(state, Coordinates.Position.LatestOnMaster()));
-        ConceptRecord entity = EntityService.get().getEntityFast(id);
-        Latest<ConceptVersionRecord> latest = stampCalc.latest(entity);
-
-        return latest.isPresent();
-    }
-}
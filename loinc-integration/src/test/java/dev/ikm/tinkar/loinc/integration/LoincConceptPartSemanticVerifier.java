@@ -0,0 +1,29 @@
+package dev.ikm.tinkar.loinc.integration;
+
+import dev.ikm.tinkar.coordinate.stamp.StateSet;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculator;
+import dev.ikm.tinkar.entity.ConceptRecord;
+import dev.ikm.tinkar.entity.ConceptVersionRecord;
+import dev.ikm.tinkar.entity.EntityService;
+
+import java.util.UUID;
+
+public class LoincConceptPartSemanticVerifier extends LoincAbstractRowVerifier {
+
+    public LoincConceptPartSemanticVerifier() {
+        super("Part.csv concepts", LoincSourceFiles.Source.PART, "target/failsafe-reports/PartCsv_not_found.txt");
+    }
+
+    @Override
+    protected boolean assertLine(String[] columns) {
+        UUID id = uuid(columns[0]);
+        StateSet state = (columns[4].equals("ACTIVE")||columns[4].equals("DEPRECATED")) ? StateSet.ACTIVE : StateSet.INACTIVE;
+
+        StampCalculator stampCalc = context.latestOnMaster(state);
+        ConceptRecord entity = EntityService.get().getEntityFast(id);
+        Latest<ConceptVersionRecord> latest = stampCalc.latest(entity);
+
+        return latest.isPresent();
+    }
+}
@@ -0,0 +1,33 @@
+package dev.ikm.tinkar.loinc.integration;
+
+import dev.ikm.tinkar.coordinate.stamp.StateSet;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculator;
+import dev.ikm.tinkar.entity.ConceptRecord;
+import dev.ikm.tinkar.entity.ConceptVersionRecord;
+import dev.ikm.tinkar.entity.EntityService;
+
+import java.util.UUID;
+
+public class LoincConceptSemanticVerifier extends LoincAbstractRowVerifier {
+
+    public LoincConceptSemanticVerifier() {
+        super("Loinc.csv concepts", LoincSourceFiles.Source.LOINC, "target/failsafe-reports/LoincCsv_not_found.txt");
+    }
+
+    @Override
+    protected boolean assertLine(String[] columns) {
+        UUID id = uuid(columns[0]);
+        StateSet state = null;
+        if (columns[11].equals("ACTIVE") || columns[11].equals("TRIAL") || columns[11].equals("DISCOURAGED")) {
+            state = StateSet.ACTIVE;
+        } else {
+            state = StateSet.INACTIVE;
+        }
+        StampCalculator stampCalc = context.latestOnMaster(state);
+        ConceptRecord entity = EntityService.get().getEntityFast(id);
+        Latest<ConceptVersionRecord> latest = stampCalc.latest(entity);
+
+        return latest.isPresent();
+    }
+}
@@ -2,13 +2,9 @@ package dev.ikm.tinkar.loinc.integration;
 
 import dev.ikm.tinkar.common.id.PublicIds;
 import dev.ikm.tinkar.component.Component;
-import dev.ikm.tinkar.coordinate.Calculators;
-import dev.ikm.tinkar.coordinate.Coordinates;
-import dev.ikm.tinkar.coordinate.stamp.StampCoordinateRecord;
 import dev.ikm.tinkar.coordinate.stamp.StateSet;
 import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
 import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculator;
-import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculatorWithCache;
 import dev.ikm.tinkar.entity.EntityService;
 import dev.ikm.tinkar.entity.PatternEntityVersion;
 import dev.ikm.tinkar.entity.SemanticEntityVersion;
@@ -16,9 +12,6 @@ import dev.ikm.tinkar.terms.EntityProxy;
 import dev.ikm.tinkar.terms.EntityProxy.Concept;
 import dev.ikm.tinkar.terms.TinkarTerm;
 
-import org.junit.jupiter.api.Test;
-
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -28,25 +21,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 import static dev.ikm.tinkar.terms.TinkarTerm.DESCRIPTION_NOT_CASE_SENSITIVE;
 import static dev.ikm.tinkar.terms.TinkarTerm.FULLY_QUALIFIED_NAME_DESCRIPTION_TYPE;
 import static dev.ikm.tinkar.terms.TinkarTerm.REGULAR_NAME_DESCRIPTION_TYPE;
-import static org.junit.jupiter.api.Assertions.assertEquals;
 
-public class LoincDescriptionPartSemanticIT extends LoincAbstractIntegrationTest {
+public class LoincDescriptionPartSemanticVerifier extends LoincAbstractRowVerifier {
 	
-	/**
-	 * Test LoincDescriptionPart Part.csv Semantics.
-	 *
-	 * @result Reads content from file and validates Concept of Semantics by calling
-	 *         private method assertConcept().
-	 */
-	@Test
-	public void testLoincDescriptionPartSemantics() throws IOException {
-        String sourceFilePath = "../loinc-origin/target/origin-sources";
-        String errorFile = "target/failsafe-reports/PartCsv_descriptions_not_found.txt";
-
-        String absolutePath = findFilePath(sourceFilePath, "Part.csv");
-        int notFound = processPartFile(absolutePath, errorFile);
-
-        assertEquals(0, notFound, "Unable to find " + notFound + " Part.csv semantics. Details written to " + errorFile);
+	public LoincDescriptionPartSemanticVerifier() {
+		super("Part.csv descriptions", LoincSourceFiles.Source.PART, "target/failsafe-reports/PartCsv_descriptions_not_found.txt");
 	}
 	
     @Override
@@ -81,11 +60,9 @@ public class LoincDescriptionPartSemanticIT extends LoincAbstractIntegrationTest
 			termConceptMap.put(getConceptMapKey(concept, partDisplayName, "FQN"), getConceptMapValue(FULLY_QUALIFIED_NAME_DESCRIPTION_TYPE, partDisplayName));
 		}
 		
-		StampCalculator stampCalc = StampCalculatorWithCache
-				.getCalculator(StampCoordinateRecord.make(active, Coordinates.Position.LatestOnMaster()));
+		StampCalculator stampCalc = context.latestOnMaster(active);
 		
-		PatternEntityVersion latestDescriptionPattern = (PatternEntityVersion) Calculators.Stamp.DevelopmentLatest()
-				.latest(TinkarTerm.DESCRIPTION_PATTERN).get();
+		PatternEntityVersion latestDescriptionPattern = context.descriptionPattern();
         
 		EntityService.get().forEachSemanticForComponentOfPattern(concept.nid(), TinkarTerm.DESCRIPTION_PATTERN.nid(), semanticEntity -> {
 			innerCount.incrementAndGet();
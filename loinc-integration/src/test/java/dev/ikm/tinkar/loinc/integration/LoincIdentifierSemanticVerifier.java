@@ -0,0 +1,38 @@
+package dev.ikm.tinkar.loinc.integration;
+
+import dev.ikm.tinkar.common.util.uuid.UuidUtil;
+import dev.ikm.tinkar.coordinate.stamp.StateSet;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculator;
+import dev.ikm.tinkar.entity.ConceptRecord;
+import dev.ikm.tinkar.entity.ConceptVersionRecord;
+import dev.ikm.tinkar.entity.EntityService;
+
+import java.util.UUID;
+
+public class LoincIdentifierSemanticVerifier extends LoincAbstractRowVerifier {
+
+    public LoincIdentifierSemanticVerifier() {
+        super("Loinc.csv identifiers", LoincSourceFiles.Source.LOINC, "target/failsafe-reports/LoincCsv_identifiers_not_found.txt");
+    }
+
+    @Override
+    protected boolean assertLine(String[] columns) {
+        StateSet state = null;
+        if (columns[11].equals("ACTIVE") || columns[11].equals("TRIAL") || columns[11].equals("DISCOURAGED")) {
+            state = StateSet.ACTIVE;
+        } else {
+            state = StateSet.INACTIVE;
+        }
+
+        String identifier = columns[0];
+//        UUID uuid = UuidUtil.fromSNOMED(identifier);
+        UUID uuid = uuid(identifier);
+
+        StampCalculator stampCalc = context.latestOnDevelopment(state);
+        ConceptRecord entity = EntityService.get().getEntityFast(uuid);
+        Latest<ConceptVersionRecord> latest = stampCalc.latest(entity);
+
+        return latest.isPresent();
+    }
+}
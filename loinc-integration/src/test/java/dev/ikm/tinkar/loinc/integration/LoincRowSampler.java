@@ -0,0 +1,135 @@
+package dev.ikm.tinkar.loinc.integration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Deterministic stratified sample of the rows of one source file. A first pass adds every row; each stratum then
+ * keeps its share of the sample, at least one row, picking the rows whose seeded hash of the code is lowest, so the
+ * same seed always selects the same rows and a row stays selected when the sample grows. Rows matching
+ * {@code always} are selected on top of the sample.
+ */
+public class LoincRowSampler {
+
+    public static final String SAMPLE_PROPERTY = "loinc.verification.sample";
+    public static final String SEED_PROPERTY = "loinc.verification.seed";
+
+    private final double fraction;
+    private final long count;
+    private final long seed;
+    private final Function<String[], String> stratum;
+    private final Predicate<String[]> always;
+    private final Map<String, List<Long>> hashesByStratum = new HashMap<>();
+    private final Map<String, Long> thresholds = new HashMap<>();
+    private long rows;
+    private long alwaysRows;
+    private long sampleSize;
+
+    /**
+     * @param size percentage of the rows such as "5%", or a number of rows such as "2000"
+     */
+    public LoincRowSampler(String size, long seed, Function<String[], String> stratum, Predicate<String[]> always) {
+        String trimmed = size.trim();
+        try {
+            if (trimmed.endsWith("%")) {
+                this.fraction = Double.parseDouble(trimmed.substring(0, trimmed.length() - 1)) / 100;
+                this.count = -1;
+            } else {
+                this.fraction = -1;
+                this.count = Long.parseLong(trimmed);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sample size '" + size + "', expected e.g. 5% or 2000", e);
+        }
+        if (fraction > 1 || (fraction < 0 && count < 0)) {
+            throw new IllegalArgumentException("Invalid sample size '" + size + "'");
+        }
+        this.seed = seed;
+        this.stratum = stratum;
+        this.always = always;
+    }
+
+    /**
+     * @return a sampler configured by the loinc.verification.sample and loinc.verification.seed system properties,
+     * or null for full verification
+     */
+    public static LoincRowSampler fromSystemProperties(Function<String[], String> stratum, Predicate<String[]> always) {
+        String size = System.getProperty(SAMPLE_PROPERTY, "");
+        if (size.isBlank()) {
+            return null;
+        }
+        return new LoincRowSampler(size, Long.getLong(SEED_PROPERTY, 42), stratum, always);
+    }
+
+    /**
+     * First pass, called for every row of the file.
+     */
+    public void add(String[] columns) {
+        rows++;
+        if (always.test(columns)) {
+            alwaysRows++;
+        } else {
+            hashesByStratum.computeIfAbsent(stratum.apply(columns), key -> new ArrayList<>()).add(hash(columns));
+        }
+    }
+
+    /**
+     * Choose the sample after the first pass.
+     */
+    public void select() {
+        long sampled = rows - alwaysRows;
+        double share = fraction >= 0 ? fraction : sampled > 0 ? Math.min(1, Math.max(0, count - alwaysRows) / (double) sampled) : 0;
+        sampleSize = alwaysRows;
+        hashesByStratum.forEach((key, hashes) -> {
+            long[] sorted = hashes.stream().mapToLong(Long::longValue).sorted().toArray();
+            int quota = (int) Math.min(sorted.length, Math.max(1, Math.round(share * sorted.length)));
+            thresholds.put(key, sorted[quota - 1]);
+            sampleSize += quota;
+        });
+        hashesByStratum.clear();
+    }
+
+    public boolean includes(String[] columns) {
+        if (always.test(columns)) {
+            return true;
+        }
+        Long threshold = thresholds.get(stratum.apply(columns));
+        return threshold != null && hash(columns) <= threshold;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long sampleSize() {
+        return sampleSize;
+    }
+
+    public int strata() {
+        return thresholds.size();
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * SplitMix64 of the seed and the code in the first column.
+     */
+    private long hash(String[] columns) {
+        long z = seed * 0x9E3779B97F4A7C15L + columns[0].hashCode();
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return "sample of " + sampleSize + " of " + rows + " rows in " + thresholds.size() + " strata, seed " + seed
+                + " (" + alwaysRows + " always included)";
+    }
+}
@@ -1,21 +1,11 @@
 package dev.ikm.tinkar.loinc.integration;
 
-import dev.ikm.tinkar.common.service.CachingService;
-import dev.ikm.tinkar.common.service.PrimitiveData;
-import dev.ikm.tinkar.common.service.ServiceKeys;
-import dev.ikm.tinkar.common.service.ServiceProperties;
-import dev.ikm.tinkar.common.util.uuid.UuidT5Generator;
-import dev.ikm.tinkar.terms.EntityProxy;
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
+import dev.ikm.maven.LoincUtility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -25,28 +15,38 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Stream;
 
-public abstract class LoincAbstractIntegrationTest {
-    Logger log = LoggerFactory.getLogger(LoincAbstractIntegrationTest.class);
-    static String namespaceString;
-    boolean isPart;
+/**
+ * Locating and reading the LOINC source files the transformation was run on.
+ */
+public final class LoincSourceFiles {
+    private static final Logger log = LoggerFactory.getLogger(LoincSourceFiles.class);
 
-    @AfterAll
-    public static void shutdown() {
-        PrimitiveData.stop();
+    public static final String SOURCE_PATH = "../loinc-origin/target/origin-sources";
+
+    public enum Source {
+        LOINC,
+        PART
     }
 
-    @BeforeAll
-    public static void setup() {
-        CachingService.clearAll();
-        //Note. Dataset needed to be generated within repo, with command 'mvn clean install'
-        namespaceString = System.getProperty("origin.namespace"); // property set in pom.xml
-        File datastore = new File(System.getProperty("datastorePath")); // property set in pom.xml
-        ServiceProperties.set(ServiceKeys.DATA_STORE_ROOT, datastore);
-        PrimitiveData.selectControllerByName("Open SpinedArrayStore");
-        PrimitiveData.start();
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(String line, String[] columns) throws IOException;
+    }
+
+    // List of specific part types to filter for
+    private static final Set<String> TARGET_PART_TYPES = Set.of(
+            "COMPONENT",
+            "PROPERTY",
+            "TIME",
+            "SYSTEM",
+            "SCALE",
+            "METHOD",
+            "CLASS"
+    );
+
+    private LoincSourceFiles() {
     }
 
     /**
@@ -57,11 +57,10 @@ public abstract class LoincAbstractIntegrationTest {
      * @return absolutePath
      * @throws IOException
      */
-    protected String findFilePath(String baseDir, String fileKeyword) throws IOException {
+    public static String findFilePath(String baseDir, String fileKeyword) throws IOException {
 
         try (Stream<Path> dirStream = Files.walk(Paths.get(baseDir))) {
             Path targetDir = dirStream.filter(Files::isDirectory)
-//                    .filter(path -> path.toFile().getAbsoluteFile().toString().toLowerCase().contains(dirKeyword.toLowerCase()))
                     .findFirst()
                     .orElseThrow(() -> new RuntimeException("Target DIRECTORY not found"));
 
@@ -78,18 +77,15 @@ public abstract class LoincAbstractIntegrationTest {
     }
 
     /**
-     * Process sourceFilePath
+     * Stream Loinc.csv, handing every data row with its 40 columns to the consumer.
      *
      * @param sourceFilePath
-     * @param errorFile
-     * @return File status, either Found/NotFound
+     * @param consumer
      * @throws IOException
      */
-    protected int processLoincFile(String sourceFilePath, String errorFile) throws IOException {
-    	isPart = false;
-        int notFound = 0, tempIndex = 0;
-        try (BufferedReader br = new BufferedReader(new FileReader(sourceFilePath));
-             BufferedWriter bw = new BufferedWriter(new FileWriter(errorFile))) {
+    public static void forEachLoincRow(String sourceFilePath, RowConsumer consumer) throws IOException {
+        int tempIndex = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(sourceFilePath))) {
             String line;
             while ((line = br.readLine()) != null) {
                 if (line.startsWith("\"LOINC_NUM\"")) continue;
@@ -99,11 +95,7 @@ public abstract class LoincAbstractIntegrationTest {
                         columns[0] = columns[0].replace("\"", ""); //Removes quotation marks (") from first column
                         columns[39] = columns[39].replace("\"", ""); //Removes quotation marks (") from last column
 
-                        if (!assertLine(columns)) {
-                            notFound++;
-                            bw.write(line);
-                            bw.newLine();
-                        }
+                        consumer.accept(line, columns);
                         break;
                     case 42:
                         tempIndex = 15; //Index for column EXMPL_ANSWERS with values
@@ -112,17 +104,13 @@ public abstract class LoincAbstractIntegrationTest {
                         do {
                             tempIndex++;
                             columns[tempIndex] = columns[tempIndex+2];
-                        } while (tempIndex < 39); //Loop to reassign the String[] Array size to 40 for assertLine() method
+                        } while (tempIndex < 39); //Loop to reassign the String[] Array size to 40 for the verifiers
                         columns[40] = null;
                         columns[41] = null;
                         columns[0] = columns[0].replace("\"", ""); //Removes quotation marks (") from first column
                         columns[39] = columns[39].replace("\"", ""); //Removes quotation marks (") from last column
 
-                        if (!assertLine(columns)) {
-                            notFound++;
-                            bw.write(line);
-                            bw.newLine();
-                        }
+                        consumer.accept(line, columns);
                         break;
                     default:
                         log.warn("Invalid loinc.csv row (# of columns '"+ columns.length +"' not matching criteria): " + line);
@@ -130,22 +118,17 @@ public abstract class LoincAbstractIntegrationTest {
             }
         }
         log.info("We found file: " + sourceFilePath);
-        return notFound;
     }
 
     /**
-     * Process sourceFilePath
+     * Stream Part.csv, handing every row of a transformed part type to the consumer.
      *
      * @param sourceFilePath
-     * @param errorFile
-     * @return File status, either Found/NotFound
+     * @param consumer
      * @throws IOException
      */
-    protected int processPartFile(String sourceFilePath, String errorFile) throws IOException {
-    	isPart = true;
-        int notFound = 0, tempIndex = 0;
-        try (BufferedReader br = new BufferedReader(new FileReader(sourceFilePath));
-             BufferedWriter bw = new BufferedWriter(new FileWriter(errorFile))) {
+    public static void forEachPartRow(String sourceFilePath, RowConsumer consumer) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(sourceFilePath))) {
             String line;
             while ((line = br.readLine()) != null) {
                 if (line.startsWith("\"PartNumber\"")) continue;
@@ -156,19 +139,29 @@ public abstract class LoincAbstractIntegrationTest {
 
                 //Only process rows with the target PartTypeName Transformed. Otherwise, null Entity is returned.
                 if (TARGET_PART_TYPES.contains(columns[1])) {
-                    if (!assertLine(columns)) { 
-                        notFound++;
-                        bw.write(line);
-                        bw.newLine();
-                    }
+                    consumer.accept(line, columns);
                 }
             }
         }
         log.info("We found file: " + sourceFilePath);
-        return notFound;
     }
 
-    protected Map<String,List<String>> processComponentHierarchy(String sourceFilePath) throws IOException {
+    /**
+     * Add a Part.csv row to the part cache {@link LoincUtility#buildOwlExpression} resolves Loinc.csv parts with, as
+     * the transformation does.
+     *
+     * @param columns
+     */
+    public static void cachePart(String[] columns) {
+        String partNumber = columns[0].replaceAll("^\"|\"$", "").trim();
+        String partTypeName = columns[1].replaceAll("^\"|\"$", "").trim();
+        String partName = columns[2].replaceAll("^\"|\"$", "").trim();
+        if (!partName.isEmpty() && !partTypeName.isEmpty() && !partNumber.isEmpty()) {
+            LoincUtility.addPartToCache(partName.toLowerCase(), partTypeName, partNumber);
+        }
+    }
+
+    public static Map<String,List<String>> processComponentHierarchy(String sourceFilePath) throws IOException {
         Map<String,List<String>> parentCache = new HashMap<>();
         try (BufferedReader br = new BufferedReader(new FileReader(sourceFilePath))) {
             String line;
@@ -192,37 +185,4 @@ public abstract class LoincAbstractIntegrationTest {
         log.info("We found file: " + sourceFilePath);
         return parentCache;
     }
-
-    protected UUID uuid(String id) {
-//        return UuidUtil.fromSNOMED(id);
-//        return UuidT5Generator.get(UUID.fromString("3094dbd1-60cf-44a6-92e3-0bb32ca4d3de"), id);
-        return UuidT5Generator.get(UUID.fromString(namespaceString), id);
-    }
-
-    protected String removeQuotes(String column) {
-        return column.replaceAll("^\"|\"$", "").trim();
-    }
-
-    // List of specific part types to filter for
-    private static final Set<String> TARGET_PART_TYPES = Set.of(
-            "COMPONENT",
-            "PROPERTY",
-            "TIME",
-            "SYSTEM",
-            "SCALE",
-            "METHOD",
-            "CLASS"
-    );
-
-    protected static class ConceptMapValue {
-        EntityProxy.Concept conceptDescType;
-        String term;
-
-        ConceptMapValue(EntityProxy.Concept conceptDescType, String term) {
-            this.conceptDescType = conceptDescType;
-            this.term = term;
-        }
-    }
-
-    protected abstract boolean assertLine(String[] columns);
 }
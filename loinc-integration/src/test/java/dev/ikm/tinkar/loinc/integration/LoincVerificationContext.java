@@ -0,0 +1,80 @@
+package dev.ikm.tinkar.loinc.integration;
+
+import dev.ikm.tinkar.coordinate.Calculators;
+import dev.ikm.tinkar.coordinate.Coordinates;
+import dev.ikm.tinkar.coordinate.stamp.StampCoordinateRecord;
+import dev.ikm.tinkar.coordinate.stamp.StateSet;
+import dev.ikm.tinkar.coordinate.stamp.StampPositionRecord;
+import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculator;
+import dev.ikm.tinkar.coordinate.stamp.calculator.StampCalculatorWithCache;
+import dev.ikm.tinkar.entity.PatternEntityVersion;
+import dev.ikm.tinkar.terms.PatternFacade;
+import dev.ikm.tinkar.terms.TinkarTerm;
+
+/**
+ * Stamp calculators and latest pattern versions shared by all verifiers of a suite run. Everything is resolved once
+ * when the datastore is open and is safe to read from any thread. With {@code cached} false every call resolves
+ * again, as the verifiers used to do per row, to measure the difference.
+ */
+public class LoincVerificationContext {
+
+    private final boolean cached;
+    private final StampCalculator activeOnMaster;
+    private final StampCalculator inactiveOnMaster;
+    private final StampCalculator activeOnDevelopment;
+    private final StampCalculator inactiveOnDevelopment;
+    private final PatternEntityVersion descriptionPattern;
+    private final PatternEntityVersion owlAxiomSyntaxPattern;
+    private final PatternEntityVersion statedAxiomsPattern;
+
+    public LoincVerificationContext(boolean cached) {
+        this.cached = cached;
+        this.activeOnMaster = calculator(StateSet.ACTIVE, Coordinates.Position.LatestOnMaster());
+        this.inactiveOnMaster = calculator(StateSet.INACTIVE, Coordinates.Position.LatestOnMaster());
+        this.activeOnDevelopment = calculator(StateSet.ACTIVE, Coordinates.Position.LatestOnDevelopment());
+        this.inactiveOnDevelopment = calculator(StateSet.INACTIVE, Coordinates.Position.LatestOnDevelopment());
+        this.descriptionPattern = latest(TinkarTerm.DESCRIPTION_PATTERN);
+        this.owlAxiomSyntaxPattern = latest(TinkarTerm.OWL_AXIOM_SYNTAX_PATTERN);
+        this.statedAxiomsPattern = latest(TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN);
+    }
+
+    /**
+     * @param state StateSet.ACTIVE or StateSet.INACTIVE
+     */
+    public StampCalculator latestOnMaster(StateSet state) {
+        if (!cached) {
+            return calculator(state, Coordinates.Position.LatestOnMaster());
+        }
+        return state == StateSet.ACTIVE ? activeOnMaster : inactiveOnMaster;
+    }
+
+    /**
+     * @param state StateSet.ACTIVE or StateSet.INACTIVE
+     */
+    public StampCalculator latestOnDevelopment(StateSet state) {
+        if (!cached) {
+            return calculator(state, Coordinates.Position.LatestOnDevelopment());
+        }
+        return state == StateSet.ACTIVE ? activeOnDevelopment : inactiveOnDevelopment;
+    }
+
+    public PatternEntityVersion descriptionPattern() {
+        return cached ? descriptionPattern : latest(TinkarTerm.DESCRIPTION_PATTERN);
+    }
+
+    public PatternEntityVersion owlAxiomSyntaxPattern() {
+        return cached ? owlAxiomSyntaxPattern : latest(TinkarTerm.OWL_AXIOM_SYNTAX_PATTERN);
+    }
+
+    public PatternEntityVersion statedAxiomsPattern() {
+        return cached ? statedAxiomsPattern : latest(TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN);
+    }
+
+    private static StampCalculator calculator(StateSet state, StampPositionRecord position) {
+        return StampCalculatorWithCache.getCalculator(StampCoordinateRecord.make(state, position));
+    }
+
+    private static PatternEntityVersion latest(PatternFacade pattern) {
+        return (PatternEntityVersion) Calculators.Stamp.DevelopmentLatest().latest(pattern).get();
+    }
+}
@@ -0,0 +1,197 @@
+package dev.ikm.tinkar.loinc.integration;
+
+import dev.ikm.maven.LoincUtility;
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.ServiceKeys;
+import dev.ikm.tinkar.common.service.ServiceProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Opens the datastore once and streams Part.csv and Loinc.csv once each, handing every row to all verifiers of that
+ * file. Rows are read in batches and each batch is verified in parallel; failures are then counted and written in
+ * source order on the test thread. Each verifier is reported as its own test.
+ * <p>
+ * With {@code -Dloinc.verification.sample=5%} (or a row count) only a {@link LoincRowSampler} sample of each file is
+ * verified, stratified by STATUS and CLASSTYPE for Loinc.csv and by part type and status for Part.csv, always
+ * including codes with several parents in the component hierarchy and Loinc.csv rows with an empty axis.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class LoincVerificationSuiteIT {
+    Logger log = LoggerFactory.getLogger(LoincVerificationSuiteIT.class);
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private List<LoincAbstractRowVerifier> verifiers;
+    private long rowsVerified;
+    private final Map<LoincSourceFiles.Source, String> coverage = new EnumMap<>(LoincSourceFiles.Source.class);
+
+    @BeforeAll
+    public void verifySources() throws IOException {
+        CachingService.clearAll();
+        //Note. Dataset needed to be generated within repo, with command 'mvn clean install'
+        File datastore = new File(System.getProperty("datastorePath")); // property set in pom.xml
+        ServiceProperties.set(ServiceKeys.DATA_STORE_ROOT, datastore);
+        PrimitiveData.selectControllerByName("Open SpinedArrayStore");
+        PrimitiveData.start();
+
+        String partPath = LoincSourceFiles.findFilePath(LoincSourceFiles.SOURCE_PATH, "Part.csv");
+        String loincPath = LoincSourceFiles.findFilePath(LoincSourceFiles.SOURCE_PATH, "Loinc.csv");
+        String componentPath = LoincSourceFiles.findFilePath(LoincSourceFiles.SOURCE_PATH, "ComponentHierarchyBySystem.csv");
+
+        Map<String, List<String>> parentCache = LoincSourceFiles.processComponentHierarchy(componentPath);
+        Set<String> multiParentCodes = parentCache.entrySet().stream()
+                .filter(entry -> entry.getValue().size() > 1)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+
+        verifiers = List.of(
+                new LoincConceptPartSemanticVerifier(),
+                new LoincDescriptionPartSemanticVerifier(),
+                new LoincAxiomPartSemanticVerifier(parentCache),
+                new LoincConceptSemanticVerifier(),
+                new LoincIdentifierSemanticVerifier(),
+                new LoincDescriptionSemanticVerifier(),
+                new LoincAxiomSemanticVerifier());
+        // -Dloinc.verification.uncached=true resolves calculators and patterns per row, for comparison
+        LoincVerificationContext context = new LoincVerificationContext(!Boolean.getBoolean("loinc.verification.uncached"));
+        for (LoincAbstractRowVerifier verifier : verifiers) {
+            verifier.open(context);
+        }
+        try {
+            // Part.csv first, its rows fill the part cache the Loinc.csv axiom verifier reads
+            LoincUtility.clearCaches();
+            long start = System.nanoTime();
+            verifyFile(LoincSourceFiles.Source.PART, consumer -> LoincSourceFiles.forEachPartRow(partPath, (line, columns) -> {
+                LoincSourceFiles.cachePart(columns);
+                consumer.accept(line, columns);
+            }), LoincRowSampler.fromSystemProperties(
+                    columns -> columns[1] + "|" + columns[4], // PartTypeName, Status
+                    columns -> multiParentCodes.contains(columns[0]))); // PartNumber is already the LP code
+            verifyFile(LoincSourceFiles.Source.LOINC, consumer -> LoincSourceFiles.forEachLoincRow(loincPath, consumer),
+                    LoincRowSampler.fromSystemProperties(
+                            columns -> columns[11] + "|" + columns[13], // STATUS, CLASSTYPE
+                            columns -> hasMultiParentComponent(columns, multiParentCodes) || hasEmptyAxis(columns)));
+            long elapsedNanos = System.nanoTime() - start;
+            log.info("Verified " + rowsVerified + " rows with " + verifiers.size() + " verifiers in "
+                    + elapsedNanos / 1_000_000 + " ms, " + (rowsVerified > 0 ? elapsedNanos / 1_000 / rowsVerified : 0)
+                    + " us per row");
+        } finally {
+            for (LoincAbstractRowVerifier verifier : verifiers) {
+                verifier.close();
+            }
+        }
+    }
+
+    @AfterAll
+    public void shutdown() {
+        PrimitiveData.stop();
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> verifiers() {
+        return verifiers.stream().map(verifier -> dynamicTest(verifier.name() + ", " + coverage.get(verifier.source()), () ->
+                assertEquals(0, verifier.notFound(), "Unable to find " + verifier.notFound() + " " + verifier.name()
+                        + ". Details written to " + verifier.errorFile())));
+    }
+
+    /**
+     * @param sampler the rows to verify, null for all rows
+     */
+    private void verifyFile(LoincSourceFiles.Source source, RowSource rows, LoincRowSampler sampler) throws IOException {
+        List<LoincAbstractRowVerifier> fileVerifiers = verifiers.stream()
+                .filter(verifier -> verifier.source() == source)
+                .toList();
+        if (sampler != null) {
+            rows.forEachRow((line, columns) -> sampler.add(columns));
+            sampler.select();
+        }
+        long rowsBefore = rowsVerified;
+        List<String> lines = new ArrayList<>(BATCH_SIZE);
+        List<String[]> batch = new ArrayList<>(BATCH_SIZE);
+        rows.forEachRow((line, columns) -> {
+            if (sampler != null && !sampler.includes(columns)) {
+                return;
+            }
+            lines.add(line);
+            batch.add(columns);
+            if (batch.size() == BATCH_SIZE) {
+                verifyBatch(fileVerifiers, lines, batch);
+            }
+        });
+        verifyBatch(fileVerifiers, lines, batch);
+        coverage.put(source, sampler != null ? sampler.toString() : "all " + (rowsVerified - rowsBefore) + " rows");
+        log.info(source + " verified: " + coverage.get(source));
+    }
+
+    /**
+     * A Loinc.csv row without COMPONENT, PROPERTY, TIME_ASPCT, SYSTEM or SCALE_TYP. METHOD_TYP is left out, most
+     * terms have none.
+     */
+    /**
+     * Whether the COMPONENT of a Loinc.csv row has more than one parent in the component hierarchy. The column holds
+     * the part name, resolved to its LP code through the part cache the Part.csv pass filled.
+     */
+    private static boolean hasMultiParentComponent(String[] columns, Set<String> multiParentCodes) {
+        String component = columns[1].replaceAll("^\"|\"$", "").trim();
+        String partNumber = LoincUtility.getPartNumberFromCache(component.toLowerCase(), "COMPONENT");
+        return partNumber != null && multiParentCodes.contains(partNumber);
+    }
+
+    private static boolean hasEmptyAxis(String[] columns) {
+        for (int i = 1; i <= 5; i++) {
+            if (columns[i].replaceAll("^\"|\"$", "").trim().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void verifyBatch(List<LoincAbstractRowVerifier> fileVerifiers, List<String> lines, List<String[]> batch)
+            throws IOException {
+        boolean[][] found = batch.parallelStream()
+                .map(columns -> {
+                    boolean[] rowFound = new boolean[fileVerifiers.size()];
+                    for (int i = 0; i < rowFound.length; i++) {
+                        rowFound[i] = fileVerifiers.get(i).assertLine(columns);
+                    }
+                    return rowFound;
+                })
+                .toArray(boolean[][]::new);
+        for (int row = 0; row < found.length; row++) {
+            for (int i = 0; i < fileVerifiers.size(); i++) {
+                if (!found[row][i]) {
+                    fileVerifiers.get(i).recordNotFound(lines.get(row));
+                }
+            }
+        }
+        rowsVerified += batch.size();
+        lines.clear();
+        batch.clear();
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        void forEachRow(LoincSourceFiles.RowConsumer consumer) throws IOException;
+    }
+}
@@ -0,0 +1,324 @@
+package dev.ikm.maven.synthetic;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a structurally faithful, synthetic LOINC release so the pipeline can be exercised without the licensed
+ * data. The zip has the layout of the loinc-origin artifact (the release under {@code src/}) and contains:
+ * <ul>
+ *     <li>Part.csv with every part type the transformer filters for, plus types it must skip</li>
+ *     <li>Loinc.csv with all 40 columns, every value quoted, and EXMPL_ANSWERS and RELATEDNAMES2 values holding
+ *     commas and doubled quotes</li>
+ *     <li>ComponentHierarchyBySystem.csv with grouping codes that only exist in the hierarchy and components
+ *     listed under more than one parent</li>
+ * </ul>
+ * The same scale and seed always produce the same files.
+ */
+public class SyntheticLoincReleaseGenerator {
+
+    public static final int MIN_SCALE = 10_000;
+    public static final int MAX_SCALE = 5_000_000;
+
+    static final String RELEASE_DIRECTORY = "src/Loinc_synthetic/";
+
+    private static final String[] LOINC_COLUMNS = {
+            "LOINC_NUM", "COMPONENT", "PROPERTY", "TIME_ASPCT", "SYSTEM", "SCALE_TYP", "METHOD_TYP", "CLASS",
+            "VersionLastChanged", "CHNG_TYPE", "DefinitionDescription", "STATUS", "CONSUMER_NAME", "CLASSTYPE",
+            "FORMULA", "EXMPL_ANSWERS", "SURVEY_QUEST_TEXT", "SURVEY_QUEST_SRC", "UNITSREQUIRED", "RELATEDNAMES2",
+            "SHORTNAME", "ORDER_OBS", "HL7_FIELD_SUBFIELD_ID", "EXTERNAL_COPYRIGHT_NOTICE", "EXAMPLE_UNITS",
+            "LONG_COMMON_NAME", "EXAMPLE_UCUM_UNITS", "STATUS_REASON", "STATUS_TEXT", "CHANGE_REASON_PUBLIC",
+            "COMMON_TEST_RANK", "COMMON_ORDER_RANK", "HL7_ATTACHMENT_STRUCTURE", "EXTERNAL_COPYRIGHT_LINK",
+            "PanelType", "AskAtOrderEntry", "AssociatedObservations", "VersionFirstReleased",
+            "ValidHL7AttachmentRequest", "DisplayName"};
+
+    private static final String[] SCALES = {"Qn", "Ord", "Nom", "Nar", "Doc", "OrdQn", "Set", "Multi"};
+    private static final String[] UNITS = {"mg/dL", "mmol/L", "%", "U/L", "10*3/uL", "g/dL", "ng/mL", "s", "mm[Hg]"};
+    private static final String[] ORDER_OBS = {"Order", "Observation", "Both", "Subset", ""};
+
+    private final int scale;
+    private final long seed;
+
+    private final Map<String, List<String[]>> partsByType = new LinkedHashMap<>();
+    private int nextPartNumber = 10_000;
+
+    public SyntheticLoincReleaseGenerator(int scale, long seed) {
+        if (scale < MIN_SCALE || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between " + MIN_SCALE + " and " + MAX_SCALE + " terms");
+        }
+        this.scale = scale;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int scale = MIN_SCALE;
+        long seed = 42;
+        File output = new File("loinc-synthetic.zip");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--scale" -> scale = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--output" -> output = new File(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]
+                        + ", expected --scale <terms> --seed <long> --output <zip>");
+            }
+        }
+        new SyntheticLoincReleaseGenerator(scale, seed).write(output);
+        System.out.println("Wrote " + scale + " synthetic LOINC terms to " + output.getAbsolutePath());
+    }
+
+    /**
+     * Generate the release and write it to the given zip.
+     */
+    public void write(File zipFile) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        createParts(random.split());
+
+        File parent = zipFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(zipFile.toPath()))) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(zos, StandardCharsets.UTF_8), 1 << 16);
+
+            zos.putNextEntry(new ZipEntry(RELEASE_DIRECTORY + "AccessoryFiles/PartFile/Part.csv"));
+            writePartCsv(writer);
+            writer.flush();
+            zos.closeEntry();
+
+            zos.putNextEntry(new ZipEntry(RELEASE_DIRECTORY + "AccessoryFiles/ComponentHierarchyBySystem/ComponentHierarchyBySystem.csv"));
+            writeComponentHierarchyCsv(writer, random.split());
+            writer.flush();
+            zos.closeEntry();
+
+            zos.putNextEntry(new ZipEntry(RELEASE_DIRECTORY + "LoincTable/Loinc.csv"));
+            writeLoincCsv(writer, random.split());
+            writer.flush();
+            zos.closeEntry();
+        }
+    }
+
+    /**
+     * Part pools sized the way they grow in the real release: components with the number of terms, the other
+     * axes much slower.
+     */
+    private void createParts(SplittableRandom random) {
+        addParts("COMPONENT", Math.max(200, scale / 4), "Analyte", random);
+        addParts("PROPERTY", 120, "Prop", random);
+        addParts("TIME", 40, "Time", random);
+        addParts("SYSTEM", Math.max(300, scale / 200), "Specimen", random);
+        List<String[]> scales = new ArrayList<>();
+        for (String scaleType : SCALES) {
+            scales.add(new String[]{nextPartNumber(), "SCALE", scaleType, scaleType, "ACTIVE"});
+        }
+        partsByType.put("SCALE", scales);
+        addParts("METHOD", Math.max(100, scale / 400), "Method", random);
+        addParts("CLASS", Math.max(50, scale / 1000), "CLASS", random);
+        // Types the transformer filters out
+        addParts("SUPER SYSTEM", 20, "Super system", random);
+        addParts("ADJUSTMENT", 30, "Adjustment", random);
+        addParts("Document.Kind", 40, "Document kind", random);
+    }
+
+    private void addParts(String partType, int count, String prefix, SplittableRandom random) {
+        List<String[]> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = prefix + " " + i + (random.nextInt(5) == 0 ? "^" + WORDS[random.nextInt(WORDS.length)] : "");
+            String status = random.nextInt(50) == 0 ? "DEPRECATED" : "ACTIVE";
+            parts.add(new String[]{nextPartNumber(), partType, name, name + " (" + partType.toLowerCase() + ")", status});
+        }
+        partsByType.put(partType, parts);
+    }
+
+    private void writePartCsv(Writer writer) throws IOException {
+        writeRow(writer, "PartNumber", "PartTypeName", "PartName", "PartDisplayName", "Status");
+        for (List<String[]> parts : partsByType.values()) {
+            for (String[] part : parts) {
+                writeRow(writer, part);
+            }
+        }
+    }
+
+    /**
+     * The first data row is the hierarchy root, followed by grouping codes that do not appear in Part.csv and then
+     * every component under one group, and under a second group for one in twenty.
+     */
+    private void writeComponentHierarchyCsv(Writer writer, SplittableRandom random) throws IOException {
+        writeRow(writer, "PATH_TO_ROOT", "SEQUENCE", "IMMEDIATE_PARENT", "CODE", "CODE_TEXT");
+        String root = nextPartNumber();
+        writeRow(writer, "", "1", "", root, "{component}");
+
+        int groupCount = Math.max(20, scale / 200);
+        List<String> groups = new ArrayList<>(groupCount);
+        List<String> groupPaths = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            String parent = root;
+            String path = root;
+            if (i > 0 && random.nextInt(3) > 0) {
+                int parentIndex = random.nextInt(i);
+                parent = groups.get(parentIndex);
+                path = groupPaths.get(parentIndex) + "." + parent;
+            }
+            String group = nextPartNumber();
+            writeRow(writer, path, Integer.toString(i + 1), parent, group, "Group " + i + " " + WORDS[random.nextInt(WORDS.length)]);
+            groups.add(group);
+            groupPaths.add(path);
+        }
+
+        int sequence = 1;
+        for (String[] component : partsByType.get("COMPONENT")) {
+            int parentCount = random.nextInt(20) == 0 ? 2 : 1;
+            int first = random.nextInt(groupCount);
+            for (int p = 0; p < parentCount; p++) {
+                int groupIndex = p == 0 ? first : (first + 1 + random.nextInt(groupCount - 1)) % groupCount;
+                String parent = groups.get(groupIndex);
+                writeRow(writer, groupPaths.get(groupIndex) + "." + parent, Integer.toString(sequence++), parent,
+                        component[0], component[2]);
+            }
+        }
+    }
+
+    private void writeLoincCsv(Writer writer, SplittableRandom random) throws IOException {
+        writeRow(writer, LOINC_COLUMNS);
+        List<String[]> components = partsByType.get("COMPONENT");
+        List<String[]> properties = partsByType.get("PROPERTY");
+        List<String[]> times = partsByType.get("TIME");
+        List<String[]> systems = partsByType.get("SYSTEM");
+        List<String[]> scales = partsByType.get("SCALE");
+        List<String[]> methods = partsByType.get("METHOD");
+        List<String[]> classes = partsByType.get("CLASS");
+
+        String[] columns = new String[LOINC_COLUMNS.length];
+        for (int i = 0; i < scale; i++) {
+            Arrays.fill(columns, "");
+            String component = pick(components, random);
+            String property = pick(properties, random);
+            String time = pick(times, random);
+            String system = pick(systems, random);
+            String scaleType = pick(scales, random);
+            String method = random.nextBoolean() ? pick(methods, random) : "";
+            String longCommonName = component + " [" + property + "] in " + system
+                    + (method.isEmpty() ? "" : " by " + method);
+
+            columns[0] = loincNumber(10_000 + i);
+            columns[1] = component;
+            columns[2] = property;
+            columns[3] = time;
+            columns[4] = system;
+            columns[5] = scaleType;
+            columns[6] = method;
+            columns[7] = pick(classes, random);
+            columns[8] = "2.81";
+            columns[9] = "MIN";
+            columns[10] = random.nextInt(4) == 0 ? "Synthetic definition of " + longCommonName + ", for testing only." : "";
+            columns[11] = status(random);
+            columns[12] = random.nextInt(3) == 0 ? component + " " + system : "";
+            columns[13] = Integer.toString(1 + random.nextInt(4));
+            // The quirk that makes a naive split return 42 columns
+            columns[15] = random.nextInt(10) == 0
+                    ? "Answer \"\"" + WORDS[random.nextInt(WORDS.length)] + "\"\", \"\"" + WORDS[random.nextInt(WORDS.length)] + "\"\", Other"
+                    : "";
+            columns[19] = relatedNames(component, system, random);
+            columns[20] = shortName(component, system);
+            columns[21] = ORDER_OBS[random.nextInt(ORDER_OBS.length)];
+            if (random.nextInt(3) == 0) {
+                columns[24] = UNITS[random.nextInt(UNITS.length)];
+                columns[26] = columns[24];
+            }
+            columns[25] = longCommonName;
+            columns[30] = random.nextInt(5) == 0 ? Integer.toString(1 + random.nextInt(3000)) : "0";
+            columns[31] = "0";
+            columns[37] = "1.0";
+            columns[39] = longCommonName;
+            writeRow(writer, columns);
+        }
+    }
+
+    private static String status(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 85) {
+            return "ACTIVE";
+        } else if (roll < 90) {
+            return "TRIAL";
+        } else if (roll < 95) {
+            return "DISCOURAGED";
+        }
+        return "DEPRECATED";
+    }
+
+    private static String relatedNames(String component, String system, SplittableRandom random) {
+        StringBuilder builder = new StringBuilder(component).append("; ").append(system);
+        int extra = random.nextInt(12);
+        for (int i = 0; i < extra; i++) {
+            builder.append("; ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        if (random.nextInt(20) == 0) {
+            builder.append("; \"\"quoted\"\", with comma");
+        }
+        return builder.toString();
+    }
+
+    private static String shortName(String component, String system) {
+        String shortComponent = component.length() > 12 ? component.substring(0, 12) : component;
+        return shortComponent + " " + system.split(" ")[0];
+    }
+
+    private static String pick(List<String[]> parts, SplittableRandom random) {
+        return parts.get(random.nextInt(parts.size()))[2];
+    }
+
+    private String nextPartNumber() {
+        return "LP" + loincNumber(nextPartNumber++);
+    }
+
+    /**
+     * LOINC style code with the mod 10 check digit.
+     */
+    static String loincNumber(int number) {
+        String digits = Integer.toString(number);
+        int sum = 0;
+        boolean doubleDigit = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return digits + "-" + ((10 - sum % 10) % 10);
+    }
+
+    private static void writeRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write('"');
+            writer.write(values[i]);
+            writer.write('"');
+        }
+        writer.write('\n');
+    }
+
+    private static final String[] WORDS = {
+            "Level", "Mass", "Conc", "Random", "Serum", "Plasma", "Urine", "Blood", "Point in time", "Quant",
+            "Qual", "Screen", "Panel", "Presence", "Titer", "Ratio", "Count", "Rate", "Volume", "Activity",
+            "Yellow", "Amber", "Positive", "Negative", "Trace", "Reactive", "Detected", "Not detected"};
+}
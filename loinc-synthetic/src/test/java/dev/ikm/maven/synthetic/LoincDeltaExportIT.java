@@ -0,0 +1,111 @@
+package dev.ikm.maven.synthetic;
+
+import dev.ikm.maven.DeltaChangeSetWriter;
+import dev.ikm.maven.LoincTransformer;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.entity.load.LoadEntitiesFromProtobufFile;
+import dev.ikm.tinkar.schema.TinkarMsg;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports the delta of a synthetic release against its own snapshot, against the snapshot of a build with another
+ * stamp time and against a snapshot missing some semantics, and checks that importing the last delta over that
+ * snapshot gives back the content of the datastore.
+ */
+public class LoincDeltaExportIT {
+    private static final long ENTRY_TIME = Instant.parse(SyntheticRelease.STAMP_TIME).toEpochMilli();
+    private static final int DROPPED_EVERY = 7;
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    public void previousExportWithDeltaGivesTheDatastore() throws Exception {
+        SyntheticRelease release = new SyntheticRelease(workDirectory);
+        File snapshot = release.file("current-pb.zip");
+        new LoincTransformer(release.settings("current").snapshotPath(snapshot)).run();
+        File rebuiltSnapshot = release.file("rebuilt-pb.zip");
+        new LoincTransformer(release.settings("rebuilt")
+                .stampTime(Instant.parse(SyntheticRelease.STAMP_TIME).plusSeconds(86_400).toEpochMilli())
+                .snapshotPath(rebuiltSnapshot))
+                .run();
+        File previous = release.file("previous-pb.zip");
+        int dropped = withoutSemantics(snapshot, previous);
+
+        DeltaChangeSetWriter.Delta self = delta(release, snapshot, release.file("self-delta-pb.zip"));
+        assertEquals(self.entities(), self.unchanged(), "Delta against the datastore's own snapshot: " + self);
+        assertEquals(0, self.removed());
+
+        DeltaChangeSetWriter.Delta rebuilt = delta(release, rebuiltSnapshot, release.file("rebuilt-delta-pb.zip"));
+        assertEquals(rebuilt.entities(), rebuilt.unchanged(), "Stamp time taken for a change: " + rebuilt);
+
+        File deltaFile = release.file("delta-pb.zip");
+        DeltaChangeSetWriter.Delta delta = delta(release, previous, deltaFile);
+        assertEquals(dropped, delta.added(), "Delta: " + delta);
+        assertEquals(0, delta.changed(), "Delta: " + delta);
+        assertEquals(0, delta.removed(), "Delta: " + delta);
+
+        File imported = release.datastore("imported");
+        SyntheticRelease.startDatastore(imported);
+        try {
+            new LoadEntitiesFromProtobufFile(previous).call();
+            new LoadEntitiesFromProtobufFile(deltaFile).call();
+        } finally {
+            PrimitiveData.stop();
+        }
+        assertEquals(SyntheticRelease.fingerprint(release.datastore("current")), SyntheticRelease.fingerprint(imported),
+                "Previous export with the delta differs from the datastore");
+    }
+
+    private static DeltaChangeSetWriter.Delta delta(SyntheticRelease release, File previousExport, File deltaFile)
+            throws IOException {
+        SyntheticRelease.startDatastore(release.datastore("current"));
+        try {
+            return new DeltaChangeSetWriter(previousExport, deltaFile, ENTRY_TIME).write();
+        } finally {
+            PrimitiveData.stop();
+        }
+    }
+
+    /**
+     * Copy the change set without every {@value #DROPPED_EVERY}th semantic.
+     *
+     * @return the number of semantics left out
+     */
+    private static int withoutSemantics(File changeSet, File copy) throws IOException {
+        int semantics = 0;
+        int dropped = 0;
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(changeSet.toPath()));
+             ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(copy.toPath()))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (!entry.getName().endsWith(".pb")) {
+                    continue;
+                }
+                zos.putNextEntry(new ZipEntry(entry.getName()));
+                TinkarMsg message;
+                while ((message = TinkarMsg.parseDelimitedFrom(zis)) != null) {
+                    if (message.hasSemanticChronology() && semantics++ % DROPPED_EVERY == 0) {
+                        dropped++;
+                    } else {
+                        message.writeDelimitedTo(zos);
+                    }
+                }
+                zos.closeEntry();
+            }
+        }
+        return dropped;
+    }
+}
@@ -0,0 +1,58 @@
+package dev.ikm.maven.synthetic;
+
+import dev.ikm.maven.LoincTransformer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Transforms the same synthetic release single threaded and with four threads in deterministic mode, and checks both
+ * datastores hold exactly the same content and both snapshot exports are byte for byte the same.
+ */
+public class LoincDeterministicOutputIT {
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    public void sameContentForAnyThreadCount() throws IOException {
+        SyntheticRelease release = new SyntheticRelease(workDirectory);
+
+        String singleThreaded = transformAndFingerprint(release, 1);
+        String multiThreaded = transformAndFingerprint(release, 4);
+
+        assertEquals(singleThreaded, multiThreaded, "Datastore content depends on the thread count");
+        assertEquals(sha256(snapshot(release, 1)), sha256(snapshot(release, 4)),
+                "Snapshot export bytes depend on the thread count");
+    }
+
+    private static String transformAndFingerprint(SyntheticRelease release, int threadCount) throws IOException {
+        String run = Integer.toString(threadCount);
+        new LoincTransformer(release.settings(run)
+                .threadCount(threadCount)
+                .snapshotPath(snapshot(release, threadCount)))
+                .run();
+        return SyntheticRelease.fingerprint(release.datastore(run));
+    }
+
+    private static File snapshot(SyntheticRelease release, int threadCount) {
+        return release.file("snapshot-" + threadCount + "-pb.zip");
+    }
+
+    private static String sha256(File file) throws IOException {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file.toPath())));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package dev.ikm.maven.synthetic;
+
+import dev.ikm.maven.ErrorAggregator;
+import dev.ikm.maven.LoincDryRunValidator;
+import dev.ikm.maven.LoincTransformer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dry runs the synthetic release, which a real run transforms without errors, and checks the dry run accepts it
+ * through the same parse and resolve stages without ever creating the datastore.
+ */
+public class LoincDryRunIT {
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    public void dryRunAcceptsWhatTransforms() throws Exception {
+        SyntheticRelease release = new SyntheticRelease(workDirectory);
+        new LoincTransformer(release.settings("dry").dryRun(true)).run();
+
+        assertFalse(release.datastore("dry").exists(), "Dry run created the datastore");
+        assertFalse(new File(release.output("dry"), ErrorAggregator.QUARANTINE_FILE).exists(),
+                "Dry run rejected rows of the synthetic release");
+        String report = Files.readString(new File(release.output("dry"), LoincDryRunValidator.REPORT_FILE).toPath());
+        assertTrue(report.contains("# Unresolved parts (0)"), () -> "Dry run found unresolved parts: " + report);
+        assertFalse(report.contains("owlExpressions=0"), () -> "Dry run built no OWL expressions: " + report);
+    }
+}
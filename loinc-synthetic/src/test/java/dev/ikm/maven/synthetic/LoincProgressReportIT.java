@@ -0,0 +1,54 @@
+package dev.ikm.maven.synthetic;
+
+import dev.ikm.maven.LoincStageListener;
+import dev.ikm.maven.LoincTransformer;
+import dev.ikm.maven.TransformationMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the Loinc compose stage of a synthetic run counts the rows it reads, which the progress log and MBean use as
+ * the total for the percentage and ETA, and accounts for all of them as out, skipped or failed.
+ */
+public class LoincProgressReportIT {
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    public void loincComposeReportsRowsIn() throws Exception {
+        SyntheticRelease release = new SyntheticRelease(workDirectory);
+        new LoincTransformer(release.settings("progress").progressIntervalSeconds(1)).run();
+
+        String report = Files.readString(new File(release.output("progress"), TransformationMetrics.REPORT_FILE).toPath());
+        String stage = stage(report, LoincStageListener.LOINC_COMPOSE);
+        long rowsIn = field(stage, "rowsIn");
+        assertTrue(rowsIn > 0, () -> "Loinc compose reports no rows in: " + stage);
+        assertEquals(rowsIn, field(stage, "rowsOut") + field(stage, "rowsSkipped") + field(stage, "rowsFailed"),
+                () -> "Loinc compose does not end at 100%: " + stage);
+    }
+
+    /**
+     * The counters of one stage, from its name up to its composed counts.
+     */
+    private static String stage(String report, String name) {
+        int start = report.indexOf("{\"name\":\"" + name + "\"");
+        assertTrue(start >= 0, () -> "No " + name + " stage in " + report);
+        return report.substring(start, report.indexOf("\"composed\"", start));
+    }
+
+    private static long field(String json, String name) {
+        Matcher matcher = Pattern.compile("\"" + name + "\":(\\d+)").matcher(json);
+        assertTrue(matcher.find(), () -> "No " + name + " in " + json);
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,81 @@
+package dev.ikm.maven.synthetic;
+
+import dev.ikm.maven.LoincShardMerger;
+import dev.ikm.maven.LoincTransformer;
+import dev.ikm.maven.LoincTransformerMain;
+import dev.ikm.maven.LoincTransformerSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Transforms a synthetic release in three shards, each in its own JVM as separate machines would, merges the shard
+ * change sets and checks the merged datastore holds the same content as an unsharded run. Every shard and the
+ * unsharded run start from the same starter data, as in the pipeline, so only the first shard adds to the shared
+ * concepts and the merger finds the starter data in every shard without conflicts.
+ */
+public class LoincShardedTransformationIT {
+
+    private static final int SHARD_COUNT = 3;
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    public void mergedShardsMatchUnshardedRun() throws Exception {
+        SyntheticRelease release = new SyntheticRelease(workDirectory);
+
+        List<Process> processes = new ArrayList<>();
+        List<File> shardFiles = new ArrayList<>();
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            File shardFile = release.file("shard-" + shard + "-pb.zip");
+            shardFiles.add(shardFile);
+            release.loadStarterData(release.datastore("shard-" + shard));
+            processes.add(forkShard(release, shard, shardFile));
+        }
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            assertEquals(0, processes.get(shard).waitFor(), "Shard " + shard + " failed");
+        }
+
+        LoincShardMerger merger = new LoincShardMerger(shardFiles);
+        LoincShardMerger.Check check = merger.check();
+        assertFalse(check.hasConflicts(), () -> "Shards disagree: " + check.conflicts());
+        assertTrue(check.duplicates() > 0, "Starter data is not in every shard");
+        File merged = release.datastore("merged");
+        merger.merge(merged, LoincTransformerSettings.DEFAULT_CONTROLLER_NAME);
+
+        release.loadStarterData(release.datastore("unsharded"));
+        new LoincTransformer(release.settings("unsharded")).run();
+
+        assertEquals(SyntheticRelease.fingerprint(release.datastore("unsharded")), SyntheticRelease.fingerprint(merged),
+                "Merged shards differ from an unsharded run");
+    }
+
+    /**
+     * Run one shard through the command line entry point in a child JVM with the test classpath.
+     */
+    private static Process forkShard(SyntheticRelease release, int shard, File shardFile) throws Exception {
+        String run = "shard-" + shard;
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), LoincTransformerMain.class.getName(),
+                "--namespace", SyntheticRelease.NAMESPACE.toString(),
+                "--datastore", release.datastore(run).toString(),
+                "--input", release.zip().getAbsolutePath(),
+                "--output", release.output(run).toString(),
+                "--snapshot", shardFile.getAbsolutePath(),
+                "--deterministic",
+                "--stamp-time", SyntheticRelease.STAMP_TIME,
+                "--shard-count", Integer.toString(SHARD_COUNT),
+                "--shard-index", Integer.toString(shard));
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+}
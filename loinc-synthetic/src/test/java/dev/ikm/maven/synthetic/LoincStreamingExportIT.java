@@ -0,0 +1,46 @@
+package dev.ikm.maven.synthetic;
+
+import dev.ikm.maven.LoincTransformer;
+import dev.ikm.maven.LoincTransformerSettings;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.entity.load.LoadEntitiesFromProtobufFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Streams a deterministic run on the ephemeral store to a change set, loads it into an empty datastore and checks
+ * the content matches a regular run into a datastore.
+ */
+public class LoincStreamingExportIT {
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    public void streamedChangeSetMatchesDatastore() throws Exception {
+        SyntheticRelease release = new SyntheticRelease(workDirectory);
+
+        File changeSet = release.file("loinc-streamed-pb.zip");
+        new LoincTransformer(release.settings("streamed")
+                .controllerName(LoincTransformerSettings.EPHEMERAL_CONTROLLER_NAME)
+                .streamExportPath(changeSet))
+                .run();
+        File loaded = release.datastore("loaded");
+        SyntheticRelease.startDatastore(loaded);
+        try {
+            new LoadEntitiesFromProtobufFile(changeSet).call();
+        } finally {
+            PrimitiveData.stop();
+        }
+
+        new LoincTransformer(release.settings("transformed")).run();
+
+        assertEquals(SyntheticRelease.fingerprint(release.datastore("transformed")), SyntheticRelease.fingerprint(loaded),
+                "Streamed change set differs from the datastore");
+    }
+}
@@ -0,0 +1,44 @@
+package dev.ikm.maven.synthetic;
+
+import dev.ikm.maven.LoincStarterDataMojo;
+import dev.ikm.maven.LoincTransformerSettings;
+import dev.ikm.maven.StarterDataSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the starter data goal on the ephemeral store and checks it leaves no marker behind, so a later build on disk
+ * with the same datastore path does not skip loading the starter data.
+ */
+public class StarterDataEphemeralIT {
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    public void ephemeralRunLeavesNoMarker() throws Exception {
+        File datastore = workDirectory.resolve("datastore").toFile();
+        File snapshotDirectory = workDirectory.resolve("snapshots").toFile();
+
+        LoincStarterDataMojo mojo = new LoincStarterDataMojo();
+        SyntheticRelease.setParameter(mojo, "namespaceString", SyntheticRelease.NAMESPACE.toString());
+        SyntheticRelease.setParameter(mojo, "datastorePath", datastore.getAbsolutePath());
+        SyntheticRelease.setParameter(mojo, "controllerName", LoincTransformerSettings.EPHEMERAL_CONTROLLER_NAME);
+        SyntheticRelease.setParameter(mojo, "snapshotDirectory", snapshotDirectory);
+        mojo.execute();
+
+        // Run outside Maven the goal has no plugin dependencies or starter data coordinates to hash
+        StarterDataSnapshot snapshot = new StarterDataSnapshot(SyntheticRelease.NAMESPACE, List.of());
+        assertTrue(snapshot.file(snapshotDirectory).isFile(), "Ephemeral run wrote no starter data snapshot");
+        assertFalse(snapshot.isLoadedInto(datastore), "Ephemeral run marked " + datastore + " as loaded");
+        assertFalse(new File(datastore, StarterDataSnapshot.MARKER_FILE).exists(),
+                "Ephemeral run wrote " + StarterDataSnapshot.MARKER_FILE);
+    }
+}
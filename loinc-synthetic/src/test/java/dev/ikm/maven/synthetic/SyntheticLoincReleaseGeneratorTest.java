@@ -0,0 +1,187 @@
+package dev.ikm.maven.synthetic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the layout of the release {@link SyntheticLoincReleaseGenerator} writes: the three files in the
+ * loinc-origin layout, the 40 quoted columns of Loinc.csv, the part types of Part.csv and the components with two
+ * parents in ComponentHierarchyBySystem.csv, and that a seed always gives the same bytes.
+ */
+public class SyntheticLoincReleaseGeneratorTest {
+    private static final String PART_CSV = SyntheticLoincReleaseGenerator.RELEASE_DIRECTORY
+            + "AccessoryFiles/PartFile/Part.csv";
+    private static final String HIERARCHY_CSV = SyntheticLoincReleaseGenerator.RELEASE_DIRECTORY
+            + "AccessoryFiles/ComponentHierarchyBySystem/ComponentHierarchyBySystem.csv";
+    private static final String LOINC_CSV = SyntheticLoincReleaseGenerator.RELEASE_DIRECTORY + "LoincTable/Loinc.csv";
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    public void writesTheReleaseFiles() throws IOException {
+        File zip = generate("release", 42);
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            assertEquals(List.of(PART_CSV, HIERARCHY_CSV, LOINC_CSV),
+                    Collections.list(zipFile.entries()).stream().map(ZipEntry::getName).toList());
+        }
+    }
+
+    @Test
+    public void loincCsvHasFortyQuotedColumns() throws IOException {
+        List<String> lines = lines(generate("release", 42), LOINC_CSV);
+        List<String> header = parseRow(lines.get(0));
+        assertEquals(40, header.size());
+        assertEquals("LOINC_NUM", header.get(0));
+        assertEquals("EXMPL_ANSWERS", header.get(15));
+        assertEquals("RELATEDNAMES2", header.get(19));
+        assertEquals("DisplayName", header.get(39));
+        assertEquals(SyntheticLoincReleaseGenerator.MIN_SCALE, lines.size() - 1);
+
+        boolean quotedAnswers = false;
+        boolean quotedRelatedNames = false;
+        Set<String> loincNumbers = new HashSet<>();
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> columns = parseRow(line);
+            assertEquals(40, columns.size(), line);
+            assertTrue(loincNumbers.add(columns.get(0)), "Duplicate LOINC_NUM " + columns.get(0));
+            quotedAnswers |= columns.get(15).contains("\",");
+            quotedRelatedNames |= columns.get(19).contains("\"quoted\", with comma");
+        }
+        assertTrue(quotedAnswers, "No EXMPL_ANSWERS with doubled quotes and commas");
+        assertTrue(quotedRelatedNames, "No RELATEDNAMES2 with doubled quotes and commas");
+    }
+
+    @Test
+    public void partCsvHasEveryPartType() throws IOException {
+        List<String> lines = lines(generate("release", 42), PART_CSV);
+        assertEquals(List.of("PartNumber", "PartTypeName", "PartName", "PartDisplayName", "Status"),
+                parseRow(lines.get(0)));
+        Set<String> types = new HashSet<>();
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> columns = parseRow(line);
+            assertEquals(5, columns.size(), line);
+            assertTrue(columns.get(0).startsWith("LP"), line);
+            types.add(columns.get(1));
+        }
+        assertEquals(Set.of("COMPONENT", "PROPERTY", "TIME", "SYSTEM", "SCALE", "METHOD", "CLASS",
+                "SUPER SYSTEM", "ADJUSTMENT", "Document.Kind"), types);
+    }
+
+    @Test
+    public void hierarchyHasGroupsAndComponentsWithTwoParents() throws IOException {
+        File zip = generate("release", 42);
+        Set<String> components = new HashSet<>();
+        Set<String> partNumbers = new HashSet<>();
+        List<String> partLines = lines(zip, PART_CSV);
+        for (String line : partLines.subList(1, partLines.size())) {
+            List<String> columns = parseRow(line);
+            partNumbers.add(columns.get(0));
+            if (columns.get(1).equals("COMPONENT")) {
+                components.add(columns.get(0));
+            }
+        }
+
+        List<String> lines = lines(zip, HIERARCHY_CSV);
+        assertEquals(List.of("PATH_TO_ROOT", "SEQUENCE", "IMMEDIATE_PARENT", "CODE", "CODE_TEXT"),
+                parseRow(lines.get(0)));
+        Map<String, Set<String>> parents = new HashMap<>();
+        Set<String> groups = new HashSet<>();
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> columns = parseRow(line);
+            assertEquals(5, columns.size(), line);
+            parents.computeIfAbsent(columns.get(3), code -> new HashSet<>()).add(columns.get(2));
+            if (!components.contains(columns.get(3))) {
+                groups.add(columns.get(3));
+            }
+        }
+        Set<String> hierarchyComponents = new HashSet<>(parents.keySet());
+        hierarchyComponents.removeAll(groups);
+        assertEquals(components, hierarchyComponents, "Not every component is in the hierarchy");
+        assertTrue(groups.size() > 1, "No grouping codes");
+        for (String group : groups) {
+            assertFalse(partNumbers.contains(group), "Grouping code " + group + " is in Part.csv");
+        }
+        assertTrue(components.stream().anyMatch(component -> parents.get(component).size() == 2),
+                "No component with two parents");
+    }
+
+    @Test
+    public void sameSeedGivesTheSameBytes() throws IOException {
+        File first = generate("first", 42);
+        File second = generate("second", 42);
+        File otherSeed = generate("other", 43);
+
+        assertEquals(-1, Files.mismatch(first.toPath(), second.toPath()), "Same seed gave different bytes");
+        assertTrue(Files.mismatch(first.toPath(), otherSeed.toPath()) >= 0, "Seed is not used");
+    }
+
+    @Test
+    public void rejectsScaleOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticLoincReleaseGenerator(SyntheticLoincReleaseGenerator.MIN_SCALE - 1, 42));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SyntheticLoincReleaseGenerator(SyntheticLoincReleaseGenerator.MAX_SCALE + 1, 42));
+    }
+
+    private File generate(String name, long seed) throws IOException {
+        File zip = workDirectory.resolve(name + ".zip").toFile();
+        new SyntheticLoincReleaseGenerator(SyntheticLoincReleaseGenerator.MIN_SCALE, seed).write(zip);
+        return zip;
+    }
+
+    private static List<String> lines(File zip, String entryName) throws IOException {
+        try (ZipFile zipFile = new ZipFile(zip);
+             InputStream in = zipFile.getInputStream(zipFile.getEntry(entryName))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    /**
+     * Split a row of quoted values, with quotes inside a value doubled.
+     */
+    private static List<String> parseRow(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,103 @@
+package dev.ikm.maven.synthetic;
+
+import dev.ikm.maven.DatastoreFingerprint;
+import dev.ikm.maven.LoincStarterDataMojo;
+import dev.ikm.maven.LoincTransformerSettings;
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.ServiceKeys;
+import dev.ikm.tinkar.common.service.ServiceProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A minimum scale synthetic release in a test's work directory, with the deterministic settings, the starter data and
+ * the datastore fingerprint the synthetic release ITs compare runs with.
+ */
+final class SyntheticRelease {
+
+    static final UUID NAMESPACE = UUID.fromString("7b880c4c-8e54-5625-863c-c8504fa78243");
+    static final String STAMP_TIME = "2025-01-01T00:00:00Z";
+
+    private final Path workDirectory;
+    private final File zip;
+
+    SyntheticRelease(Path workDirectory) throws IOException {
+        this.workDirectory = workDirectory;
+        this.zip = workDirectory.resolve("loinc-synthetic.zip").toFile();
+        new SyntheticLoincReleaseGenerator(SyntheticLoincReleaseGenerator.MIN_SCALE, 42).write(zip);
+    }
+
+    File zip() {
+        return zip;
+    }
+
+    File file(String name) {
+        return workDirectory.resolve(name).toFile();
+    }
+
+    File datastore(String run) {
+        return file("datastore-" + run);
+    }
+
+    File output(String run) {
+        return file("output-" + run);
+    }
+
+    /**
+     * Deterministic settings of a run with its own datastore and output directory.
+     */
+    LoincTransformerSettings settings(String run) {
+        return new LoincTransformerSettings()
+                .namespace(NAMESPACE)
+                .datastorePath(datastore(run))
+                .inputZipPath(zip.getAbsolutePath())
+                .dataOutputPath(output(run))
+                .deterministic(true)
+                .stampTime(Instant.parse(STAMP_TIME).toEpochMilli());
+    }
+
+    /**
+     * Load the LOINC starter data into a datastore on disk with the starter data goal. The first call composes it
+     * into a snapshot in the work directory, later calls load that snapshot, so every datastore gets the same
+     * starter data.
+     */
+    void loadStarterData(File datastore) throws Exception {
+        LoincStarterDataMojo mojo = new LoincStarterDataMojo();
+        setParameter(mojo, "namespaceString", NAMESPACE.toString());
+        setParameter(mojo, "datastorePath", datastore.getAbsolutePath());
+        setParameter(mojo, "controllerName", LoincTransformerSettings.DEFAULT_CONTROLLER_NAME);
+        setParameter(mojo, "snapshotDirectory", file("starterdata-snapshots"));
+        mojo.execute();
+    }
+
+    /**
+     * The goal's parameters are private fields Maven injects, set them the same way.
+     */
+    static void setParameter(Object mojo, String name, Object value) throws ReflectiveOperationException {
+        Field field = mojo.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+
+    static void startDatastore(File datastore) {
+        CachingService.clearAll();
+        ServiceProperties.set(ServiceKeys.DATA_STORE_ROOT, datastore);
+        PrimitiveData.selectControllerByName(LoincTransformerSettings.DEFAULT_CONTROLLER_NAME);
+        PrimitiveData.start();
+    }
+
+    static String fingerprint(File datastore) {
+        startDatastore(datastore);
+        try {
+            return DatastoreFingerprint.compute();
+        } finally {
+            PrimitiveData.stop();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package dev.ikm.maven;
+
+import com.google.protobuf.ByteString;
+import dev.ikm.tinkar.schema.ConceptChronology;
+import dev.ikm.tinkar.schema.Field;
+import dev.ikm.tinkar.schema.FieldDefinition;
+import dev.ikm.tinkar.schema.PatternChronology;
+import dev.ikm.tinkar.schema.PatternVersion;
+import dev.ikm.tinkar.schema.PublicId;
+import dev.ikm.tinkar.schema.SemanticChronology;
+import dev.ikm.tinkar.schema.SemanticVersion;
+import dev.ikm.tinkar.schema.StampChronology;
+import dev.ikm.tinkar.schema.StampVersion;
+import dev.ikm.tinkar.schema.TinkarMsg;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Digests of Tinkar change set messages that are the same in two releases when the content is: entities are keyed by
+ * their public id, and every version gets a 64-bit FNV-1a digest of its fields and of the status, author, module and
+ * path of its stamp, leaving out the stamp time and identity that change with every build. Works on the protobuf
+ * form, so an exported change set and a running datastore are digested the same way.
+ */
+final class ChangeSetDigests {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * How an entity of the datastore differs from the previous export.
+     */
+    enum Change {
+        ADDED, CHANGED, UNCHANGED
+    }
+
+    private ChangeSetDigests() {
+    }
+
+    /**
+     * Call the consumer with every message of every .pb entry of a change set zip.
+     */
+    static void forEachMessage(File changeSet, Consumer<TinkarMsg> consumer) throws IOException {
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(changeSet.toPath()))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (!entry.getName().endsWith(".pb")) {
+                    continue;
+                }
+                TinkarMsg message;
+                while ((message = TinkarMsg.parseDelimitedFrom(zis)) != null) {
+                    consumer.accept(message);
+                }
+            }
+        }
+    }
+
+    /**
+     * The version digests of every pattern, concept and semantic of a change set by public id. The change set is
+     * read twice, first its stamps, then everything else.
+     */
+    static Map<ByteString, long[]> readDigests(File changeSet) throws IOException {
+        Map<ByteString, Long> stampDigests = new HashMap<>();
+        forEachMessage(changeSet, message -> {
+            if (message.hasStampChronology()) {
+                StampChronology stamp = message.getStampChronology();
+                stampDigests.put(stamp.getPublicId().toByteString(), stampDigest(stamp));
+            }
+        });
+        Map<ByteString, long[]> digests = new HashMap<>();
+        forEachMessage(changeSet, message -> {
+            if (!message.hasStampChronology()) {
+                // An entity written more than once keeps the versions of every copy
+                digests.merge(publicId(message), versionDigests(message, stampDigests), (a, b) -> {
+                    long[] merged = Arrays.copyOf(a, a.length + b.length);
+                    System.arraycopy(b, 0, merged, a.length, b.length);
+                    Arrays.sort(merged);
+                    return merged;
+                });
+            }
+        });
+        return digests;
+    }
+
+    /**
+     * @param previousDigests sorted version digests of the entity in the previous export, null if it is not there
+     * @param digests         version digests of the entity now
+     */
+    static Change classify(long[] previousDigests, long[] digests) {
+        if (previousDigests == null) {
+            return Change.ADDED;
+        }
+        for (long digest : digests) {
+            if (Arrays.binarySearch(previousDigests, digest) < 0) {
+                return Change.CHANGED;
+            }
+        }
+        return Change.UNCHANGED;
+    }
+
+    /**
+     * The public id of the concept, semantic, pattern or stamp chronology a message carries.
+     */
+    static ByteString publicId(TinkarMsg message) {
+        return switch (message.getValueCase()) {
+            case CONCEPT_CHRONOLOGY -> message.getConceptChronology().getPublicId().toByteString();
+            case SEMANTIC_CHRONOLOGY -> message.getSemanticChronology().getPublicId().toByteString();
+            case PATTERN_CHRONOLOGY -> message.getPatternChronology().getPublicId().toByteString();
+            case STAMP_CHRONOLOGY -> message.getStampChronology().getPublicId().toByteString();
+            default -> throw new IllegalArgumentException("No chronology in message: " + message.getValueCase());
+        };
+    }
+
+    /**
+     * Digest of a stamp's status, author, module and path over all its versions.
+     */
+    static long stampDigest(StampChronology stamp) {
+        long[] digests = stamp.hasSecondStampVersion()
+                ? new long[]{stampVersionDigest(stamp.getFirstStampVersion()),
+                        stampVersionDigest(stamp.getSecondStampVersion())}
+                : new long[]{stampVersionDigest(stamp.getFirstStampVersion())};
+        Arrays.sort(digests);
+        long digest = FNV_OFFSET;
+        for (long versionDigest : digests) {
+            digest = hash(digest, versionDigest);
+        }
+        return digest;
+    }
+
+    /**
+     * Sorted digests of the versions of a concept, semantic or pattern. The referenced component and pattern of a
+     * semantic go into every version digest. Stamps missing from the map are digested by their public id.
+     */
+    static long[] versionDigests(TinkarMsg message, Map<ByteString, Long> stampDigests) {
+        long[] digests = switch (message.getValueCase()) {
+            case CONCEPT_CHRONOLOGY -> conceptDigests(message.getConceptChronology(), stampDigests);
+            case SEMANTIC_CHRONOLOGY -> semanticDigests(message.getSemanticChronology(), stampDigests);
+            case PATTERN_CHRONOLOGY -> patternDigests(message.getPatternChronology(), stampDigests);
+            default -> throw new IllegalArgumentException("No versioned entity in message: " + message.getValueCase());
+        };
+        Arrays.sort(digests);
+        return digests;
+    }
+
+    private static long[] conceptDigests(ConceptChronology concept, Map<ByteString, Long> stampDigests) {
+        long[] digests = new long[concept.getConceptVersionsCount()];
+        for (int i = 0; i < digests.length; i++) {
+            digests[i] = stamp(FNV_OFFSET, concept.getConceptVersions(i).getStampChronologyPublicId(), stampDigests);
+        }
+        return digests;
+    }
+
+    private static long[] semanticDigests(SemanticChronology semantic, Map<ByteString, Long> stampDigests) {
+        long header = hash(FNV_OFFSET, semantic.getReferencedComponentPublicId().toByteString());
+        header = hash(header, semantic.getPatternForSemanticPublicId().toByteString());
+        long[] digests = new long[semantic.getSemanticVersionsCount()];
+        for (int i = 0; i < digests.length; i++) {
+            SemanticVersion version = semantic.getSemanticVersions(i);
+            long digest = hash(stamp(header, version.getStampChronologyPublicId(), stampDigests),
+                    version.getFieldsCount());
+            for (Field field : version.getFieldsList()) {
+                digest = hash(digest, field.toByteString());
+            }
+            digests[i] = digest;
+        }
+        return digests;
+    }
+
+    private static long[] patternDigests(PatternChronology pattern, Map<ByteString, Long> stampDigests) {
+        long[] digests = new long[pattern.getPatternVersionsCount()];
+        for (int i = 0; i < digests.length; i++) {
+            PatternVersion version = pattern.getPatternVersions(i);
+            long digest = stamp(FNV_OFFSET, version.getStampChronologyPublicId(), stampDigests);
+            digest = hash(digest, version.getReferencePurposePublicId().toByteString());
+            digest = hash(digest, version.getReferenceMeaningPublicId().toByteString());
+            digest = hash(digest, version.getFieldDefinitionsCount());
+            for (FieldDefinition definition : version.getFieldDefinitionsList()) {
+                digest = hash(digest, definition.toByteString());
+            }
+            digests[i] = digest;
+        }
+        return digests;
+    }
+
+    private static long stampVersionDigest(StampVersion version) {
+        long digest = hash(FNV_OFFSET, version.getStatusPublicId().toByteString());
+        digest = hash(digest, version.getAuthorPublicId().toByteString());
+        digest = hash(digest, version.getModulePublicId().toByteString());
+        return hash(digest, version.getPathPublicId().toByteString());
+    }
+
+    private static long stamp(long digest, PublicId stampId, Map<ByteString, Long> stampDigests) {
+        ByteString id = stampId.toByteString();
+        Long stampDigest = stampDigests.get(id);
+        return hash(digest, stampDigest != null ? stampDigest : hash(FNV_OFFSET, id));
+    }
+
+    private static long hash(long digest, ByteString bytes) {
+        for (int i = 0; i < bytes.size(); i++) {
+            digest = (digest ^ (bytes.byteAt(i) & 0xff)) * FNV_PRIME;
+        }
+        return digest;
+    }
+
+    private static long hash(long digest, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            digest = (digest ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return digest;
+    }
+}
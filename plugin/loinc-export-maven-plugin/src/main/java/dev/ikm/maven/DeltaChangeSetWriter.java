@@ -0,0 +1,212 @@
+package dev.ikm.maven;
+
+import com.google.protobuf.ByteString;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.EntityVersion;
+import dev.ikm.tinkar.entity.transform.EntityToTinkarSchemaTransformer;
+import dev.ikm.tinkar.schema.StampChronology;
+import dev.ikm.tinkar.schema.TinkarMsg;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the change set of what the running datastore adds to a previous export: every pattern, concept and semantic
+ * that is new or has a version whose {@link ChangeSetDigests digest} the previous export does not have, with the
+ * stamps of their versions. The previous export is read once into a map from public id to version digests, then all
+ * entities of the datastore are digested in parallel and compared. A changed entity is written whole, importers keep
+ * the versions they already have. Entities of the previous export that are gone are counted in the manifest, a change
+ * set cannot remove them. Laid out like {@code SortedChangeSetWriter}: patterns, concepts, semantics and then stamps,
+ * each sorted by public id, with a fixed entry time.
+ */
+public class DeltaChangeSetWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(DeltaChangeSetWriter.class.getSimpleName());
+
+    private final File previousExport;
+    private final File deltaFile;
+    private final long entryTime;
+
+    private record Changed(UUID order, byte[] message, List<Integer> stampNids) {
+    }
+
+    /**
+     * Counts of one delta: entities in the datastore, of which unchanged, added and changed since the previous
+     * export, entities of the previous export that are gone, and the stamps written.
+     */
+    public record Delta(long entities, long unchanged, long added, long changed, long removed, long stamps) {
+    }
+
+    public DeltaChangeSetWriter(File previousExport, File deltaFile, long entryTime) {
+        this.previousExport = previousExport;
+        this.deltaFile = deltaFile;
+        this.entryTime = entryTime;
+    }
+
+    public Delta write() throws IOException {
+        long start = System.nanoTime();
+        Map<ByteString, long[]> previous = ChangeSetDigests.readDigests(previousExport);
+        LOG.info("Read " + previous.size() + " entities of " + previousExport + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        List<Integer> patternNids = new ArrayList<>();
+        List<Integer> conceptNids = new ArrayList<>();
+        List<Integer> semanticNids = new ArrayList<>();
+        List<Integer> stampNids = new ArrayList<>();
+        PrimitiveData.get().forEachPatternNid(patternNids::add);
+        PrimitiveData.get().forEachConceptNid(conceptNids::add);
+        PrimitiveData.get().forEachSemanticNid(semanticNids::add);
+        PrimitiveData.get().forEachStampNid(stampNids::add);
+        EntityToTinkarSchemaTransformer transformer = EntityToTinkarSchemaTransformer.getInstance();
+
+        Map<ByteString, Long> stampDigests = new ConcurrentHashMap<>();
+        stampNids.parallelStream().forEach(nid -> {
+            StampChronology stamp = transformer.transform(EntityService.get().getStampFast(nid)).getStampChronology();
+            stampDigests.put(stamp.getPublicId().toByteString(), ChangeSetDigests.stampDigest(stamp));
+        });
+
+        Set<ByteString> kept = ConcurrentHashMap.newKeySet();
+        AtomicInteger added = new AtomicInteger();
+        List<Changed> patterns = changed(patternNids, previous, stampDigests, kept, added);
+        List<Changed> concepts = changed(conceptNids, previous, stampDigests, kept, added);
+        List<Changed> semantics = changed(semanticNids, previous, stampDigests, kept, added);
+        List<Changed> changed = new ArrayList<>(patterns);
+        changed.addAll(concepts);
+        changed.addAll(semantics);
+
+        List<Changed> stamps = changed.stream()
+                .flatMap(entity -> entity.stampNids().stream())
+                .distinct()
+                .toList()
+                .parallelStream()
+                .map(nid -> {
+                    Entity<?> stamp = EntityService.get().getStampFast(nid);
+                    return new Changed(stamp.publicId().asUuidArray()[0], delimited(transformer.transform(stamp)), List.of());
+                })
+                .toList();
+
+        writeChangeSet(patterns, concepts, semantics, stamps, previous.size() - kept.size(), added.get());
+        int entities = patternNids.size() + conceptNids.size() + semanticNids.size();
+        Delta delta = new Delta(entities, entities - changed.size(), added.get(), changed.size() - added.get(),
+                previous.size() - kept.size(), stamps.size());
+        LOG.info("Delta against " + previousExport.getName() + ": " + delta.added() + " added, " + delta.changed()
+                + " changed, " + delta.unchanged() + " unchanged, " + delta.removed() + " removed, written to "
+                + deltaFile + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return delta;
+    }
+
+    /**
+     * The entities of the nids that are new or have a version the previous export does not have.
+     */
+    private static List<Changed> changed(List<Integer> nids, Map<ByteString, long[]> previous,
+                                         Map<ByteString, Long> stampDigests, Set<ByteString> kept, AtomicInteger added) {
+        EntityToTinkarSchemaTransformer transformer = EntityToTinkarSchemaTransformer.getInstance();
+        return nids.parallelStream()
+                .map(nid -> {
+                    Entity<?> entity = EntityService.get().getEntityFast(nid);
+                    TinkarMsg message = transformer.transform(entity);
+                    ByteString publicId = ChangeSetDigests.publicId(message);
+                    long[] previousDigests = previous.get(publicId);
+                    if (previousDigests != null) {
+                        kept.add(publicId);
+                    }
+                    ChangeSetDigests.Change change = ChangeSetDigests.classify(previousDigests,
+                            ChangeSetDigests.versionDigests(message, stampDigests));
+                    if (change == ChangeSetDigests.Change.UNCHANGED) {
+                        return null;
+                    } else if (change == ChangeSetDigests.Change.ADDED) {
+                        added.incrementAndGet();
+                    }
+                    List<Integer> versionStamps = new ArrayList<>();
+                    for (EntityVersion version : entity.versions()) {
+                        versionStamps.add(version.stamp().nid());
+                    }
+                    return new Changed(entity.publicId().asUuidArray()[0], delimited(message), versionStamps);
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void writeChangeSet(List<Changed> patterns, List<Changed> concepts, List<Changed> semantics,
+                                List<Changed> stamps, long removed, long added) throws IOException {
+        int changed = patterns.size() + concepts.size() + semantics.size();
+        deltaFile.getAbsoluteFile().getParentFile().mkdirs();
+        File tempFile = new File(deltaFile.getAbsoluteFile().getParentFile(), deltaFile.getName() + ".tmp");
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+            zos.putNextEntry(entry(deltaFile.getName().replace(".zip", ".pb")));
+            for (List<Changed> messages : List.of(patterns, concepts, semantics, stamps)) {
+                for (Changed message : sorted(messages)) {
+                    zos.write(message.message());
+                }
+            }
+            zos.closeEntry();
+
+            Manifest manifest = new Manifest();
+            Attributes attributes = manifest.getMainAttributes();
+            attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            attributes.putValue("Total-Count", Integer.toString(changed + stamps.size()));
+            attributes.putValue("Concept-Count", Integer.toString(concepts.size()));
+            attributes.putValue("Semantic-Count", Integer.toString(semantics.size()));
+            attributes.putValue("Pattern-Count", Integer.toString(patterns.size()));
+            attributes.putValue("Stamp-Count", Integer.toString(stamps.size()));
+            attributes.putValue("Added-Count", Long.toString(added));
+            attributes.putValue("Changed-Count", Long.toString(changed - added));
+            attributes.putValue("Removed-Count", Long.toString(removed));
+            attributes.putValue("Previous-Export", previousExport.getName());
+            zos.putNextEntry(entry("META-INF/MANIFEST.MF"));
+            manifest.write(zos);
+            zos.closeEntry();
+        }
+        Files.move(tempFile.toPath(), deltaFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static List<Changed> sorted(List<Changed> messages) {
+        List<Changed> sorted = new ArrayList<>(messages);
+        sorted.sort(Comparator.comparing(Changed::order));
+        return sorted;
+    }
+
+    /**
+     * The message with its length prefix, as the change set readers expect it.
+     */
+    private static byte[] delimited(TinkarMsg message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(message.getSerializedSize() + 5);
+        try {
+            message.writeDelimitedTo(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Entry with the fixed time as UTC, {@link ZipEntry#setTime(long)} would convert it in the build machine's zone.
+     */
+    private ZipEntry entry(String name) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTimeLocal(LocalDateTime.ofEpochSecond(Math.floorDiv(entryTime, 1000), 0, ZoneOffset.UTC));
+        return entry;
+    }
+}
@@ -0,0 +1,142 @@
+package dev.ikm.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packages a datastore directory as a reproducible zip with {@link ParallelZipWriter}, compressing on all cores
+ * instead of the single deflate thread of maven-assembly-plugin.
+ */
+@Mojo(name = "zip-datastore", defaultPhase = LifecyclePhase.PACKAGE)
+public class LoincDatastoreZipMojo extends AbstractMojo {
+
+    private static final String DEFAULT_ENTRY_TIME = "1980-01-01T00:00:00Z";
+
+    @Parameter(property = "datastorePath", required = true)
+    private File datastorePath;
+
+    @Parameter(property = "outputFile", required = true)
+    private File outputFile;
+
+    /**
+     * Directory the datastore files are placed under inside the zip, e.g. the datastore name.
+     */
+    @Parameter(property = "entryPrefix")
+    private String entryPrefix;
+
+    /**
+     * Glob patterns of files to leave out, relative to datastorePath.
+     */
+    @Parameter(property = "excludes")
+    private List<String> excludes = new ArrayList<>();
+
+    /**
+     * Deflate level from 1 (fastest) to 9 (smallest).
+     */
+    @Parameter(property = "loinc.zip.level", defaultValue = "6")
+    private int compressionLevel;
+
+    /**
+     * Store the files without compressing them, for local builds where the CPU time is not worth the smaller zip.
+     */
+    @Parameter(property = "loinc.zip.storeOnly", defaultValue = "false")
+    private boolean storeOnly;
+
+    /**
+     * Compression threads, 0 uses every available processor.
+     */
+    @Parameter(property = "loinc.zip.threads", defaultValue = "0")
+    private int threadCount;
+
+    /**
+     * Bytes per independently compressed block; larger blocks compress slightly better and parallelize less.
+     */
+    @Parameter(property = "loinc.zip.blockSize", defaultValue = "1048576")
+    private int blockSize;
+
+    /**
+     * Time of every zip entry as an ISO-8601 instant or epoch seconds, the project's reproducible build timestamp
+     * when it has one.
+     */
+    @Parameter(defaultValue = "${project.build.outputTimestamp}")
+    private String outputTimestamp;
+
+    /**
+     * Set by run-loinc-transformation when the datastore and the goals after it are up to date; the zip is then
+     * kept if it exists.
+     */
+    @Parameter(property = "loinc.upToDate", defaultValue = "false")
+    private boolean upToDate;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (upToDate && outputFile.isFile()) {
+            getLog().info("Datastore " + datastorePath + " is up to date, keeping " + outputFile);
+            return;
+        }
+        if (!datastorePath.isDirectory()) {
+            throw new MojoFailureException("Datastore " + datastorePath + " does not exist");
+        }
+        long entryTime;
+        try {
+            entryTime = entryTime(outputTimestamp);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new MojoFailureException("Invalid outputTimestamp " + outputTimestamp, e);
+        }
+        int threads = threadCount > 0 ? threadCount : Runtime.getRuntime().availableProcessors();
+        List<PathMatcher> excluded = excludes.stream()
+                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+                .toList();
+
+        long start = System.nanoTime();
+        ParallelZipWriter writer;
+        try {
+            writer = new ParallelZipWriter(outputFile, storeOnly ? ParallelZipWriter.STORE : compressionLevel,
+                    blockSize, threads, entryTime);
+        } catch (IllegalArgumentException e) {
+            throw new MojoFailureException(e.getMessage(), e);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to create " + outputFile, e);
+        }
+        try {
+            writer.addDirectory(datastorePath.toPath(), entryPrefix,
+                    relative -> excluded.stream().noneMatch(matcher -> matcher.matches(relative)));
+            writer.close();
+        } catch (IOException e) {
+            writer.abort();
+            throw new MojoExecutionException("Unable to zip " + datastorePath + " into " + outputFile, e);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        getLog().info("Zipped " + writer.entryCount() + " files, " + writer.bytesIn() + " bytes into " + outputFile
+                + " (" + writer.bytesOut() + " bytes, " + (storeOnly ? "stored" : "level " + compressionLevel + " on "
+                + threads + " threads") + ") in " + millis + " ms");
+    }
+
+    /**
+     * Maven accepts the outputTimestamp as an ISO instant or as seconds since the epoch, a single character turns it
+     * off.
+     */
+    static long entryTime(String timestamp) {
+        if (timestamp == null || timestamp.isBlank() || timestamp.length() < 2) {
+            return Instant.parse(DEFAULT_ENTRY_TIME).toEpochMilli();
+        }
+        if (timestamp.chars().allMatch(Character::isDigit)) {
+            return Long.parseLong(timestamp) * 1000;
+        }
+        return Instant.parse(timestamp).toEpochMilli();
+    }
+}
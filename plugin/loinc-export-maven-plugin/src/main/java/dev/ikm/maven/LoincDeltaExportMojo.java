@@ -0,0 +1,83 @@
+package dev.ikm.maven;
+
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.ServiceKeys;
+import dev.ikm.tinkar.common.service.ServiceProperties;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Exports what a datastore changes relative to the change set of a previous release, see
+ * {@link DeltaChangeSetWriter}.
+ */
+@Mojo(name = "export-delta", defaultPhase = LifecyclePhase.PACKAGE)
+public class LoincDeltaExportMojo extends AbstractMojo {
+
+    @Parameter(property = "datastorePath", required = true)
+    private File datastorePath;
+
+    @Parameter(property = "controllerName", defaultValue = "Open SpinedArrayStore")
+    private String controllerName;
+
+    /**
+     * The -pb.zip change set of the previous release; nothing is exported without it.
+     */
+    @Parameter(property = "loinc.previousExport")
+    private File previousExport;
+
+    @Parameter(property = "outputFile", required = true)
+    private File outputFile;
+
+    /**
+     * Time of the zip entries as an ISO-8601 instant or epoch seconds, the project's reproducible build timestamp
+     * when it has one.
+     */
+    @Parameter(defaultValue = "${project.build.outputTimestamp}")
+    private String outputTimestamp;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (previousExport == null || !previousExport.isFile()) {
+            getLog().info("No previous export " + (previousExport == null ? "set" : previousExport + " found")
+                    + ", skipping the delta export");
+            return;
+        }
+        if (!datastorePath.isDirectory()) {
+            throw new MojoFailureException("Datastore " + datastorePath + " does not exist");
+        }
+        long entryTime;
+        try {
+            entryTime = LoincDatastoreZipMojo.entryTime(outputTimestamp);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new MojoFailureException("Invalid outputTimestamp " + outputTimestamp, e);
+        }
+
+        CachingService.clearAll();
+        ServiceProperties.set(ServiceKeys.DATA_STORE_ROOT, datastorePath);
+        PrimitiveData.selectControllerByName(controllerName);
+        PrimitiveData.start();
+        try {
+            DeltaChangeSetWriter.Delta delta = new DeltaChangeSetWriter(previousExport, outputFile, entryTime).write();
+            getLog().info("Exported " + (delta.added() + delta.changed()) + " of " + delta.entities()
+                    + " entities and " + delta.stamps() + " stamps changed since " + previousExport.getName()
+                    + " to " + outputFile);
+            if (delta.removed() > 0) {
+                getLog().warn(delta.removed() + " entities of " + previousExport.getName()
+                        + " are no longer in the datastore, the delta cannot remove them");
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to export the delta against " + previousExport, e);
+        } finally {
+            PrimitiveData.stop();
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package dev.ikm.maven;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Zip writer that deflates every file in independent blocks on several threads, the way pigz does: each block is a
+ * raw deflate stream primed with the last 32 KiB of the previous block and ended with a sync flush, only the last
+ * block of a file is finished, so the concatenated blocks are one valid deflate stream. The output depends on the
+ * block size and level but not on the thread count. Entries carry a fixed time and are written in the order they are
+ * added, {@link #addDirectory(Path, String, Predicate)} adds them sorted by path. With level 0 files are stored.
+ * Zip64 records are written for files, archives and entry counts beyond the classic zip limits.
+ */
+public class ParallelZipWriter implements AutoCloseable {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    public static final int STORE = 0;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+    private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+    private static final int FLAG_UTF8 = 0x800;
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+
+    private final File zipFile;
+    private final File tempFile;
+    private final int level;
+    private final int blockSize;
+    private final int threadCount;
+    private final int dosTime;
+    private final long zip64Threshold;
+    private final CountingOutputStream out;
+    private final ExecutorService executor;
+    private final List<Entry> entries = new ArrayList<>();
+    private long bytesIn;
+    private boolean closed;
+
+    private static final class Entry {
+        private final byte[] name;
+        private final int method;
+        private final int flags;
+        private final boolean zip64;
+        private final long offset;
+        private long crc;
+        private long compressedSize;
+        private long size;
+
+        private Entry(byte[] name, int method, int flags, boolean zip64, long offset) {
+            this.name = name;
+            this.method = method;
+            this.flags = flags;
+            this.zip64 = zip64;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * @param level     deflate level 1 to 9, or {@link #STORE}
+     * @param entryTime modification time of every entry in epoch milliseconds, written as UTC
+     */
+    public ParallelZipWriter(File zipFile, int level, int blockSize, int threadCount, long entryTime) throws IOException {
+        this(zipFile, level, blockSize, threadCount, entryTime, ZIP64_MARKER);
+    }
+
+    /**
+     * @param zip64Threshold sizes and offsets from which zip64 records are written, lower than the classic zip
+     *                       limit only to test them without writing 4 GiB
+     */
+    ParallelZipWriter(File zipFile, int level, int blockSize, int threadCount, long entryTime, long zip64Threshold)
+            throws IOException {
+        if (level < STORE || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level " + level + " is outside 0..9");
+        }
+        if (blockSize < DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Block size " + blockSize + " is below " + DICTIONARY_SIZE);
+        }
+        this.zipFile = zipFile;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.threadCount = Math.max(1, threadCount);
+        this.dosTime = dosTime(entryTime);
+        this.zip64Threshold = zip64Threshold;
+        File parent = zipFile.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+        this.tempFile = new File(parent, zipFile.getName() + ".tmp");
+        this.out = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()), 1 << 16));
+        this.executor = level == STORE ? null : Executors.newFixedThreadPool(this.threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "zip-deflate");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Add the regular files under a directory sorted by their relative path, named {@code prefix/relative/path}.
+     */
+    public void addDirectory(Path directory, String prefix, Predicate<Path> include) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(Files::isRegularFile)
+                    .map(directory::relativize)
+                    .filter(include)
+                    .sorted()
+                    .toList();
+        }
+        for (Path relative : files) {
+            StringBuilder name = new StringBuilder();
+            if (prefix != null && !prefix.isEmpty()) {
+                name.append(prefix).append('/');
+            }
+            for (int i = 0; i < relative.getNameCount(); i++) {
+                name.append(i == 0 ? "" : "/").append(relative.getName(i));
+            }
+            addFile(directory.resolve(relative), name.toString());
+        }
+    }
+
+    public void addFile(Path file, String name) throws IOException {
+        long fileSize = Files.size(file);
+        bytesIn += fileSize;
+        if (level == STORE) {
+            addStored(file, name, fileSize);
+        } else {
+            addDeflated(file, name, fileSize);
+        }
+    }
+
+    public int entryCount() {
+        return entries.size();
+    }
+
+    public long bytesIn() {
+        return bytesIn;
+    }
+
+    public long bytesOut() {
+        return out.count;
+    }
+
+    /**
+     * Stored entries need their CRC in the local header, so the file is read twice.
+     */
+    private void addStored(Path file, String name, long fileSize) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        Entry entry = new Entry(name.getBytes(StandardCharsets.UTF_8), METHOD_STORED, FLAG_UTF8,
+                fileSize >= zip64Threshold, out.count);
+        entry.crc = crc.getValue();
+        entry.size = fileSize;
+        entry.compressedSize = fileSize;
+        writeLocalHeader(entry);
+        try (InputStream in = Files.newInputStream(file)) {
+            in.transferTo(out);
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * Read the file block by block, keep up to two blocks per thread in flight and write the compressed blocks in
+     * order, followed by a data descriptor with the CRC and sizes.
+     */
+    private void addDeflated(Path file, String name, long fileSize) throws IOException {
+        Entry entry = new Entry(name.getBytes(StandardCharsets.UTF_8), METHOD_DEFLATED, FLAG_UTF8 | FLAG_DATA_DESCRIPTOR,
+                fileSize >= zip64Threshold, out.count);
+        writeLocalHeader(entry);
+        long start = out.count;
+
+        CRC32 crc = new CRC32();
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+        byte[] dictionary = null;
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] block = in.readNBytes(blockSize);
+            while (true) {
+                byte[] next = block.length == blockSize ? in.readNBytes(blockSize) : new byte[0];
+                boolean last = next.length == 0;
+                crc.update(block);
+                byte[] blockDictionary = dictionary;
+                byte[] input = block;
+                inFlight.add(executor.submit(() -> deflate(input, blockDictionary, last)));
+                if (inFlight.size() >= 2 * threadCount) {
+                    out.write(await(inFlight.removeFirst()));
+                }
+                if (last) {
+                    break;
+                }
+                dictionary = block.length > DICTIONARY_SIZE
+                        ? Arrays.copyOfRange(block, block.length - DICTIONARY_SIZE, block.length) : block;
+                block = next;
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            out.write(await(inFlight.removeFirst()));
+        }
+
+        entry.crc = crc.getValue();
+        entry.size = fileSize;
+        entry.compressedSize = out.count - start;
+        if (!entry.zip64 && entry.compressedSize >= zip64Threshold) {
+            throw new IOException(name + " grew beyond 4 GiB when deflated, store it instead");
+        }
+        writeInt(0x08074b50);
+        writeInt(entry.crc);
+        if (entry.zip64) {
+            writeLong(entry.compressedSize);
+            writeLong(entry.size);
+        } else {
+            writeInt(entry.compressedSize);
+            writeInt(entry.size);
+        }
+        entries.add(entry);
+    }
+
+    private byte[] deflate(byte[] block, byte[] dictionary, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(block);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(block.length / 2 + 64);
+            byte[] buffer = new byte[1 << 16];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                // A sync flush ends the block on a byte boundary without marking it final
+                int length;
+                do {
+                    length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    compressed.write(buffer, 0, length);
+                } while (length == buffer.length);
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to compress block", e.getCause());
+        }
+    }
+
+    private void writeLocalHeader(Entry entry) throws IOException {
+        boolean descriptor = (entry.flags & FLAG_DATA_DESCRIPTOR) != 0;
+        writeInt(0x04034b50);
+        writeShort(entry.zip64 ? 45 : 20);
+        writeShort(entry.flags);
+        writeShort(entry.method);
+        writeInt(dosTime);
+        writeInt(descriptor ? 0 : entry.crc);
+        writeInt(entry.zip64 ? ZIP64_MARKER : descriptor ? 0 : entry.compressedSize);
+        writeInt(entry.zip64 ? ZIP64_MARKER : descriptor ? 0 : entry.size);
+        writeShort(entry.name.length);
+        writeShort(entry.zip64 ? 20 : 0);
+        out.write(entry.name);
+        if (entry.zip64) {
+            writeShort(0x0001);
+            writeShort(16);
+            writeLong(descriptor ? 0 : entry.size);
+            writeLong(descriptor ? 0 : entry.compressedSize);
+        }
+    }
+
+    /**
+     * Write the central directory and move the zip into place.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        long directoryOffset = out.count;
+        for (Entry entry : entries) {
+            boolean sizeZip64 = entry.size >= zip64Threshold || entry.compressedSize >= zip64Threshold;
+            boolean offsetZip64 = entry.offset >= zip64Threshold;
+            int extraLength = (sizeZip64 ? 16 : 0) + (offsetZip64 ? 8 : 0);
+            writeInt(0x02014b50);
+            writeShort(entry.zip64 || sizeZip64 || offsetZip64 ? 45 : 20);
+            writeShort(entry.zip64 ? 45 : 20);
+            writeShort(entry.flags);
+            writeShort(entry.method);
+            writeInt(dosTime);
+            writeInt(entry.crc);
+            writeInt(sizeZip64 ? ZIP64_MARKER : entry.compressedSize);
+            writeInt(sizeZip64 ? ZIP64_MARKER : entry.size);
+            writeShort(entry.name.length);
+            writeShort(extraLength == 0 ? 0 : extraLength + 4);
+            writeShort(0);
+            writeShort(0);
+            writeShort(0);
+            writeInt(0);
+            writeInt(offsetZip64 ? ZIP64_MARKER : entry.offset);
+            out.write(entry.name);
+            if (extraLength > 0) {
+                writeShort(0x0001);
+                writeShort(extraLength);
+                if (sizeZip64) {
+                    writeLong(entry.size);
+                    writeLong(entry.compressedSize);
+                }
+                if (offsetZip64) {
+                    writeLong(entry.offset);
+                }
+            }
+        }
+        long directorySize = out.count - directoryOffset;
+        boolean zip64 = entries.size() >= 0xFFFF || directoryOffset >= zip64Threshold
+                || directorySize >= zip64Threshold;
+        if (zip64) {
+            long zip64RecordOffset = out.count;
+            writeInt(0x06064b50);
+            writeLong(44);
+            writeShort(45);
+            writeShort(45);
+            writeInt(0);
+            writeInt(0);
+            writeLong(entries.size());
+            writeLong(entries.size());
+            writeLong(directorySize);
+            writeLong(directoryOffset);
+            writeInt(0x07064b50);
+            writeInt(0);
+            writeLong(zip64RecordOffset);
+            writeInt(1);
+        }
+        writeInt(0x06054b50);
+        writeShort(0);
+        writeShort(0);
+        writeShort(zip64 ? 0xFFFF : entries.size());
+        writeShort(zip64 ? 0xFFFF : entries.size());
+        writeInt(zip64 ? ZIP64_MARKER : directorySize);
+        writeInt(zip64 ? ZIP64_MARKER : directoryOffset);
+        writeShort(0);
+        out.close();
+        Files.move(tempFile.toPath(), zipFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Drop the partial zip of a failed export.
+     */
+    public void abort() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        try {
+            out.close();
+            Files.deleteIfExists(tempFile.toPath());
+        } catch (IOException e) {
+            // Nothing left to clean up
+        }
+    }
+
+    private void writeShort(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+    }
+
+    private void writeInt(long value) throws IOException {
+        writeShort((int) (value & 0xffff));
+        writeShort((int) ((value >>> 16) & 0xffff));
+    }
+
+    private void writeLong(long value) throws IOException {
+        writeInt(value & 0xffffffffL);
+        writeInt(value >>> 32);
+    }
+
+    /**
+     * MS-DOS date and time of an instant in UTC, clamped to the 1980 start of the format.
+     */
+    static int dosTime(long epochMillis) {
+        LocalDateTime time = LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000), 0, ZoneOffset.UTC);
+        if (time.getYear() < 1980) {
+            time = LocalDateTime.of(1980, 1, 1, 0, 0);
+        }
+        int date = (time.getYear() - 1980) << 9 | time.getMonthValue() << 5 | time.getDayOfMonth();
+        int clock = time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() / 2;
+        return date << 16 | clock;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private long count;
+
+        private CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
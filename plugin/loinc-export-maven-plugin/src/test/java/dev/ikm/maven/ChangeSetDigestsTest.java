@@ -0,0 +1,247 @@
+package dev.ikm.maven;
+
+import com.google.protobuf.ByteString;
+import dev.ikm.tinkar.schema.ConceptChronology;
+import dev.ikm.tinkar.schema.ConceptVersion;
+import dev.ikm.tinkar.schema.Field;
+import dev.ikm.tinkar.schema.PublicId;
+import dev.ikm.tinkar.schema.SemanticChronology;
+import dev.ikm.tinkar.schema.SemanticVersion;
+import dev.ikm.tinkar.schema.StampChronology;
+import dev.ikm.tinkar.schema.StampVersion;
+import dev.ikm.tinkar.schema.TinkarMsg;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static dev.ikm.maven.ChangeSetDigests.Change.ADDED;
+import static dev.ikm.maven.ChangeSetDigests.Change.CHANGED;
+import static dev.ikm.maven.ChangeSetDigests.Change.UNCHANGED;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks how {@link ChangeSetDigests} classifies the entities of a rebuilt release against a previous export, and
+ * that the previous export with the entities that are not unchanged gives back the current content.
+ */
+public class ChangeSetDigestsTest {
+    private static final int ACTIVE = 1;
+    private static final int INACTIVE = 2;
+    private static final int AUTHOR = 3;
+    private static final int MODULE = 4;
+    private static final int PATH = 5;
+    private static final int PATTERN = 6;
+
+    private static final int PREVIOUS_STAMP = 100;
+    private static final int CURRENT_STAMP = 200;
+    private static final int RETIRED_STAMP = 201;
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    public void rebuiltStampsLeaveEntitiesUnchanged() {
+        Map<ByteString, Long> previousStamps = stampDigests(stamp(PREVIOUS_STAMP, ACTIVE, 1_000));
+        Map<ByteString, Long> currentStamps = stampDigests(stamp(CURRENT_STAMP, ACTIVE, 2_000));
+
+        assertEquals(UNCHANGED, classify(concept(10, PREVIOUS_STAMP), previousStamps,
+                concept(10, CURRENT_STAMP), currentStamps));
+        assertEquals(UNCHANGED, classify(semantic(20, 10, PREVIOUS_STAMP, "Glucose"), previousStamps,
+                semantic(20, 10, CURRENT_STAMP, "Glucose"), currentStamps));
+    }
+
+    @Test
+    public void changedContentOrStampIsChanged() {
+        Map<ByteString, Long> previousStamps = stampDigests(stamp(PREVIOUS_STAMP, ACTIVE, 1_000));
+        Map<ByteString, Long> currentStamps = stampDigests(stamp(CURRENT_STAMP, ACTIVE, 2_000),
+                stamp(RETIRED_STAMP, INACTIVE, 2_000));
+
+        assertEquals(CHANGED, classify(semantic(20, 10, PREVIOUS_STAMP, "Glucose"), previousStamps,
+                semantic(20, 10, CURRENT_STAMP, "Glucose [Mass/volume]"), currentStamps));
+        assertEquals(CHANGED, classify(semantic(20, 10, PREVIOUS_STAMP, "Glucose"), previousStamps,
+                semantic(20, 11, CURRENT_STAMP, "Glucose"), currentStamps), "Referenced component not digested");
+        assertEquals(CHANGED, classify(concept(10, PREVIOUS_STAMP), previousStamps,
+                concept(10, RETIRED_STAMP), currentStamps), "Stamp status not digested");
+        assertEquals(CHANGED, classify(concept(10, PREVIOUS_STAMP), previousStamps,
+                concept(10, CURRENT_STAMP, RETIRED_STAMP), currentStamps), "New version not found");
+    }
+
+    @Test
+    public void missingFromThePreviousExportIsAdded() {
+        assertEquals(ADDED, ChangeSetDigests.classify(null,
+                ChangeSetDigests.versionDigests(concept(10, CURRENT_STAMP), Map.of())));
+    }
+
+    @Test
+    public void readsTheDigestsOfAChangeSet() throws IOException {
+        TinkarMsg stamp = stamp(PREVIOUS_STAMP, ACTIVE, 1_000);
+        TinkarMsg concept = concept(10, PREVIOUS_STAMP);
+        TinkarMsg semantic = semantic(20, 10, PREVIOUS_STAMP, "Glucose");
+        Map<ByteString, long[]> digests = ChangeSetDigests.readDigests(changeSet("previous",
+                List.of(semantic, stamp, concept)));
+
+        Map<ByteString, Long> stampDigests = stampDigests(stamp);
+        assertEquals(Set.of(id(10).toByteString(), id(20).toByteString()), digests.keySet());
+        assertArrayEquals(ChangeSetDigests.versionDigests(concept, stampDigests), digests.get(id(10).toByteString()));
+        assertArrayEquals(ChangeSetDigests.versionDigests(semantic, stampDigests), digests.get(id(20).toByteString()));
+    }
+
+    @Test
+    public void previousExportWithDeltaGivesTheCurrentContent() throws IOException {
+        List<TinkarMsg> previous = List.of(
+                stamp(PREVIOUS_STAMP, ACTIVE, 1_000),
+                concept(10, PREVIOUS_STAMP),
+                concept(11, PREVIOUS_STAMP),
+                concept(12, PREVIOUS_STAMP),
+                semantic(20, 10, PREVIOUS_STAMP, "Glucose"),
+                semantic(21, 11, PREVIOUS_STAMP, "Sodium"));
+        List<TinkarMsg> stamps = List.of(stamp(CURRENT_STAMP, ACTIVE, 2_000), stamp(RETIRED_STAMP, INACTIVE, 2_000));
+        List<TinkarMsg> current = List.of(
+                concept(10, CURRENT_STAMP),
+                concept(11, CURRENT_STAMP, RETIRED_STAMP),
+                concept(13, CURRENT_STAMP),
+                semantic(20, 10, CURRENT_STAMP, "Glucose"),
+                semantic(21, 11, CURRENT_STAMP, "Sodium [Moles/volume]"),
+                semantic(22, 13, CURRENT_STAMP, "Potassium"));
+
+        File previousFile = changeSet("previous", previous);
+        Map<ByteString, long[]> previousDigests = ChangeSetDigests.readDigests(previousFile);
+        Map<ByteString, Long> stampDigests = stampDigests(stamps.toArray(TinkarMsg[]::new));
+        Map<ChangeSetDigests.Change, Set<Integer>> classified = new HashMap<>();
+        Set<ByteString> kept = new HashSet<>();
+        List<TinkarMsg> delta = new ArrayList<>(stamps);
+        for (TinkarMsg message : current) {
+            ByteString publicId = ChangeSetDigests.publicId(message);
+            if (previousDigests.containsKey(publicId)) {
+                kept.add(publicId);
+            }
+            ChangeSetDigests.Change change = ChangeSetDigests.classify(previousDigests.get(publicId),
+                    ChangeSetDigests.versionDigests(message, stampDigests));
+            classified.computeIfAbsent(change, key -> new HashSet<>()).add(number(message));
+            if (change != UNCHANGED) {
+                delta.add(message);
+            }
+        }
+        assertEquals(Map.of(UNCHANGED, Set.of(10, 20), CHANGED, Set.of(11, 21), ADDED, Set.of(13, 22)), classified);
+        assertEquals(1, previousDigests.size() - kept.size(), "Removed concept 12 not found");
+
+        // Reading both change sets as one is what importing the delta over the previous export does
+        Map<ByteString, long[]> imported = ChangeSetDigests.readDigests(
+                concatenated(previousFile, changeSet("delta", delta)));
+        for (TinkarMsg message : current) {
+            long[] importedDigests = imported.get(ChangeSetDigests.publicId(message));
+            for (long digest : ChangeSetDigests.versionDigests(message, stampDigests)) {
+                assertTrue(Arrays.binarySearch(importedDigests, digest) >= 0,
+                        "Version of entity " + number(message) + " missing after importing the delta");
+            }
+        }
+    }
+
+    private static ChangeSetDigests.Change classify(TinkarMsg previous, Map<ByteString, Long> previousStamps,
+                                                    TinkarMsg current, Map<ByteString, Long> currentStamps) {
+        return ChangeSetDigests.classify(ChangeSetDigests.versionDigests(previous, previousStamps),
+                ChangeSetDigests.versionDigests(current, currentStamps));
+    }
+
+    private static Map<ByteString, Long> stampDigests(TinkarMsg... stamps) {
+        Map<ByteString, Long> digests = new HashMap<>();
+        for (TinkarMsg stamp : stamps) {
+            digests.put(ChangeSetDigests.publicId(stamp), ChangeSetDigests.stampDigest(stamp.getStampChronology()));
+        }
+        return digests;
+    }
+
+    private File changeSet(String name, List<TinkarMsg> messages) throws IOException {
+        File file = workDirectory.resolve(name + "-pb.zip").toFile();
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+            zos.putNextEntry(new ZipEntry(name + "-pb.pb"));
+            for (TinkarMsg message : messages) {
+                message.writeDelimitedTo(zos);
+            }
+            zos.closeEntry();
+        }
+        return file;
+    }
+
+    /**
+     * One zip with the .pb entries of both change sets.
+     */
+    private File concatenated(File first, File second) throws IOException {
+        File file = workDirectory.resolve("imported-pb.zip").toFile();
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+            for (File changeSet : List.of(first, second)) {
+                zos.putNextEntry(new ZipEntry(changeSet.getName().replace(".zip", ".pb")));
+                ChangeSetDigests.forEachMessage(changeSet, message -> {
+                    try {
+                        message.writeDelimitedTo(zos);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                zos.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    private static TinkarMsg stamp(int number, int status, long time) {
+        StampVersion version = StampVersion.newBuilder()
+                .setStatusPublicId(id(status))
+                .setAuthorPublicId(id(AUTHOR))
+                .setModulePublicId(id(MODULE))
+                .setPathPublicId(id(PATH))
+                .setTime(time)
+                .build();
+        return TinkarMsg.newBuilder()
+                .setStampChronology(StampChronology.newBuilder()
+                        .setPublicId(id(number))
+                        .setFirstStampVersion(version))
+                .build();
+    }
+
+    private static TinkarMsg concept(int number, int... stamps) {
+        ConceptChronology.Builder concept = ConceptChronology.newBuilder().setPublicId(id(number));
+        for (int stamp : stamps) {
+            concept.addConceptVersions(ConceptVersion.newBuilder().setStampChronologyPublicId(id(stamp)));
+        }
+        return TinkarMsg.newBuilder().setConceptChronology(concept).build();
+    }
+
+    private static TinkarMsg semantic(int number, int referencedComponent, int stamp, String text) {
+        return TinkarMsg.newBuilder()
+                .setSemanticChronology(SemanticChronology.newBuilder()
+                        .setPublicId(id(number))
+                        .setReferencedComponentPublicId(id(referencedComponent))
+                        .setPatternForSemanticPublicId(id(PATTERN))
+                        .addSemanticVersions(SemanticVersion.newBuilder()
+                                .setStampChronologyPublicId(id(stamp))
+                                .addFields(Field.newBuilder().setStringValue(text))))
+                .build();
+    }
+
+    private static PublicId id(int number) {
+        ByteBuffer uuid = ByteBuffer.allocate(16).putLong(0).putLong(number);
+        return PublicId.newBuilder().addUuids(ByteString.copyFrom(uuid.array())).build();
+    }
+
+    private static int number(TinkarMsg message) {
+        PublicId publicId = message.hasConceptChronology() ? message.getConceptChronology().getPublicId()
+                : message.getSemanticChronology().getPublicId();
+        return (int) ByteBuffer.wrap(publicId.getUuids(0).toByteArray()).getLong(8);
+    }
+}
@@ -0,0 +1,189 @@
+package dev.ikm.maven;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes a small directory with {@link ParallelZipWriter} and reads it back with {@link ZipFile}: the content,
+ * entry order and time, the same bytes for any thread count, stored entries, and zip64 records through a lowered
+ * threshold.
+ */
+public class ParallelZipWriterTest {
+    private static final int BLOCK_SIZE = 32 * 1024;
+    /**
+     * Above the small file and below the compressed size of the others, so a zip has both kinds of entries.
+     */
+    private static final long ZIP64_THRESHOLD = 1024;
+    private static final long ENTRY_TIME = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    public void readsBackThroughZipFile() throws IOException {
+        Map<String, byte[]> files = writeFiles();
+        File zip = zip("deflated", 6, 4, Long.MAX_VALUE);
+
+        assertContent(files, zip);
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            for (ZipEntry entry : Collections.list(zipFile.entries())) {
+                assertEquals(ZipEntry.DEFLATED, entry.getMethod(), entry.getName());
+            }
+        }
+    }
+
+    @Test
+    public void sameBytesForAnyThreadCount() throws IOException {
+        writeFiles();
+        File single = zip("single", 6, 1, Long.MAX_VALUE);
+        File parallel = zip("parallel", 6, 8, Long.MAX_VALUE);
+
+        assertEquals(-1, Files.mismatch(single.toPath(), parallel.toPath()), "Zip bytes depend on the thread count");
+    }
+
+    @Test
+    public void storesWithoutCompressing() throws IOException {
+        Map<String, byte[]> files = writeFiles();
+        File zip = zip("stored", ParallelZipWriter.STORE, 4, Long.MAX_VALUE);
+
+        assertContent(files, zip);
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            for (ZipEntry entry : Collections.list(zipFile.entries())) {
+                assertEquals(ZipEntry.STORED, entry.getMethod(), entry.getName());
+                assertEquals(entry.getSize(), entry.getCompressedSize(), entry.getName());
+            }
+        }
+    }
+
+    @Test
+    public void everyEntryHasTheFixedTime() throws IOException {
+        writeFiles();
+        LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochMilli(ENTRY_TIME), ZoneOffset.UTC);
+        for (File zip : List.of(zip("deflated", 6, 2, Long.MAX_VALUE), zip("stored", ParallelZipWriter.STORE, 2,
+                Long.MAX_VALUE))) {
+            try (ZipFile zipFile = new ZipFile(zip)) {
+                for (ZipEntry entry : Collections.list(zipFile.entries())) {
+                    assertEquals(expected, entry.getTimeLocal(), entry.getName());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void writesZip64RecordsFromTheThreshold() throws IOException {
+        Map<String, byte[]> files = writeFiles();
+        for (int level : new int[]{6, ParallelZipWriter.STORE}) {
+            File zip = zip("zip64-" + level, level, 4, ZIP64_THRESHOLD);
+
+            assertContent(files, zip);
+            byte[] bytes = Files.readAllBytes(zip.toPath());
+            assertTrue(contains(bytes, new byte[]{0x50, 0x4b, 0x06, 0x06}), "No zip64 end of central directory");
+            assertTrue(contains(bytes, new byte[]{0x50, 0x4b, 0x06, 0x07}), "No zip64 end of central directory locator");
+        }
+    }
+
+    @Test
+    public void rejectsInvalidSettings() {
+        File zip = workDirectory.resolve("invalid.zip").toFile();
+        assertThrows(IllegalArgumentException.class, () -> new ParallelZipWriter(zip, 10, BLOCK_SIZE, 1, ENTRY_TIME));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelZipWriter(zip, 6, BLOCK_SIZE - 1, 1, ENTRY_TIME));
+    }
+
+    /**
+     * Files of exactly one block and of several blocks plus a few bytes, an empty file and a nested small file.
+     *
+     * @return the content by entry name, in the sorted order they are zipped
+     */
+    private Map<String, byte[]> writeFiles() throws IOException {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        files.put("datastore/block.bin", content(BLOCK_SIZE, 1));
+        files.put("datastore/blocks.bin", content(5 * BLOCK_SIZE + 17, 2));
+        files.put("datastore/empty.bin", new byte[0]);
+        files.put("datastore/nested/small.txt", content(100, 3));
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            Path path = workDirectory.resolve("input").resolve(file.getKey().substring("datastore/".length()));
+            Files.createDirectories(path.getParent());
+            Files.write(path, file.getValue());
+        }
+        return files;
+    }
+
+    private File zip(String name, int level, int threadCount, long zip64Threshold) throws IOException {
+        File zip = workDirectory.resolve(name + ".zip").toFile();
+        try (ParallelZipWriter writer = new ParallelZipWriter(zip, level, BLOCK_SIZE, threadCount, ENTRY_TIME,
+                zip64Threshold)) {
+            writer.addDirectory(workDirectory.resolve("input"), "datastore", path -> true);
+            assertEquals(4, writer.entryCount());
+        }
+        return zip;
+    }
+
+    /**
+     * Check the zip has the files in the same order and with the same content.
+     */
+    private static void assertContent(Map<String, byte[]> files, File zip) throws IOException {
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            List<? extends ZipEntry> entries = Collections.list(zipFile.entries());
+            assertEquals(List.copyOf(files.keySet()), entries.stream().map(ZipEntry::getName).toList());
+            for (ZipEntry entry : entries) {
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    byte[] bytes = in.readAllBytes();
+                    assertEquals(bytes.length, entry.getSize(), entry.getName());
+                    assertArrayEquals(files.get(entry.getName()), bytes, entry.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Text of a few random words, compressible like the datastore files.
+     */
+    private static byte[] content(int size, long seed) {
+        Random random = new Random(seed);
+        String[] words = {"loinc ", "part ", "component ", "system ", "scale ", "method ", "LP", "0123456789\n"};
+        StringBuilder text = new StringBuilder(size + 16);
+        while (text.length() < size) {
+            text.append(words[random.nextInt(words.length)]);
+            if (random.nextInt(4) == 0) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        text.setLength(size);
+        return text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static boolean contains(byte[] bytes, byte[] signature) {
+        for (int i = 0; i + signature.length <= bytes.length; i++) {
+            int j = 0;
+            while (j < signature.length && bytes[i + j] == signature[j]) {
+                j++;
+            }
+            if (j == signature.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package dev.ikm.maven.it;
+
+import dev.ikm.maven.DatastoreFingerprint;
+import dev.ikm.maven.LoincTransformerSettings;
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.ServiceKeys;
+import dev.ikm.tinkar.common.service.ServiceProperties;
+
+import java.io.File;
+
+/**
+ * Fails when the datastore built by the per-module goals and the one built by run-loinc-pipeline differ. Stamp times
+ * are left out, the two builds ran at different times.
+ */
+public class PipelineMatchesModules {
+
+    public static void main(String[] args) {
+        String modules = fingerprint(new File(args[0]));
+        String pipeline = fingerprint(new File(args[1]));
+        if (!modules.equals(pipeline)) {
+            throw new IllegalStateException("run-loinc-pipeline built different content than the multi-module build: "
+                    + pipeline + " instead of " + modules);
+        }
+        System.out.println("run-loinc-pipeline matches the multi-module build: " + modules);
+    }
+
+    private static String fingerprint(File datastore) {
+        CachingService.clearAll();
+        ServiceProperties.set(ServiceKeys.DATA_STORE_ROOT, datastore);
+        PrimitiveData.selectControllerByName(LoincTransformerSettings.DEFAULT_CONTROLLER_NAME);
+        PrimitiveData.start();
+        try {
+            return DatastoreFingerprint.computeWithoutTimes();
+        } finally {
+            PrimitiveData.stop();
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package dev.ikm.maven;
+
+import dev.ikm.tinkar.common.id.PublicIds;
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.ServiceKeys;
+import dev.ikm.tinkar.common.service.ServiceProperties;
+import dev.ikm.tinkar.coordinate.Calculators;
+import dev.ikm.tinkar.entity.export.ExportEntitiesToProtobufFile;
+import dev.ikm.tinkar.entity.load.LoadEntitiesFromProtobufFile;
+import dev.ikm.tinkar.entity.transaction.Transaction;
+import dev.ikm.tinkar.ext.lang.owl.OwlToLogicAxiomTransformerAndWriter;
+import dev.ikm.tinkar.reasoner.service.ReasonerService;
+import dev.ikm.tinkar.terms.EntityProxy;
+import dev.ikm.tinkar.terms.TinkarTerm;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs starter data, the LOINC transformation, the OWL transform, the reasoner and the export in a single JVM
+ * against one open datastore. The multi-module build starts and stops {@link PrimitiveData} once per module,
+ * reloading the whole store and its caches every time; this goal opens it once and keeps it warm.
+ */
+@Mojo(name = "run-loinc-pipeline")
+public class LoincPipelineMojo extends AbstractMojo {
+    private static final Logger LOG = LoggerFactory.getLogger(LoincPipelineMojo.class.getSimpleName());
+
+    @Parameter(property = "origin.namespace", required = true)
+    String namespaceString;
+
+    @Parameter(property = "datastorePath", defaultValue = "${dataStoreLocation}/${dataStore}")
+    private String datastorePath;
+
+    @Parameter(property = "inputDirectoryPath", defaultValue = "${dataStoreLocation}/input-data/loinc-origin.zip")
+    private String inputDirectoryPath;
+
+    @Parameter(property = "dataOutputPath", defaultValue = "${project.build.directory}")
+    private String dataOutputPath;
+
+    /**
+     * Protobuf change sets loaded before the LOINC starter data, normally the Tinkar starter data.
+     */
+    @Parameter(property = "starterDataFiles")
+    private List<File> starterDataFiles = new ArrayList<>();
+
+    /**
+     * Shared directory for prebuilt starter data snapshots, see {@link StarterDataSnapshot}.
+     */
+    @Parameter(property = "starterdata.snapshotDirectory", defaultValue = "${user.home}/.m2/loinc-starterdata-snapshots")
+    private File snapshotDirectory;
+
+    @Parameter(property = "starterdata.forceCompose", defaultValue = "false")
+    private boolean forceCompose;
+
+    /**
+     * This plugin, whose resolved Tinkar dependencies are part of the starter data snapshot hash.
+     */
+    @Parameter(defaultValue = "${plugin}", readonly = true)
+    private PluginDescriptor plugin;
+
+    @Parameter(property = "controllerName", defaultValue = "Open SpinedArrayStore")
+    private String controllerName;
+
+    @Parameter(property = "threadCount", defaultValue = "4")
+    private int threadCount;
+
+    /**
+     * Live heap the transformation stays under, e.g. 2g, see {@link HeapBudgetGovernor}.
+     */
+    @Parameter(property = "heapBudget")
+    private String heapBudget;
+
+    /**
+     * Fail instead of committing when the transformation has more row and compose errors than this, -1 for no limit.
+     */
+    @Parameter(property = "failThreshold", defaultValue = "-1")
+    private long failThreshold;
+
+    /**
+     * Compose in source order with a fixed stamp time, like run-loinc-transformation.
+     */
+    @Parameter(property = "deterministic", defaultValue = "false")
+    private boolean deterministic;
+
+    /**
+     * Stamp time of a deterministic run as an ISO-8601 instant.
+     */
+    @Parameter(property = "stampTime")
+    private String stampTime;
+
+    /**
+     * Split the transformation into this many shards, see run-loinc-transformation.
+     */
+    @Parameter(property = "shardCount", defaultValue = "1")
+    private int shardCount;
+
+    @Parameter(property = "shardIndex", defaultValue = "0")
+    private int shardIndex;
+
+    /**
+     * Reasoner implementation (ElkOwlReasoner, ElkSnomedReasoner, HybridReasoner).
+     */
+    @Parameter(property = "reasonerType", defaultValue = "ElkSnomedReasoner")
+    private String reasonerType;
+
+    /**
+     * Author of the stamps the OWL transform writes, a concept UUID; TinkarTerm USER like the run-owl-transformer goal
+     * of the multi-module build when not set.
+     */
+    @Parameter(property = "owlTransformAuthor")
+    private String owlTransformAuthor;
+
+    /**
+     * Module of the OWL transform stamps; TinkarTerm SOLOR_OVERLAY_MODULE when not set.
+     */
+    @Parameter(property = "owlTransformModule")
+    private String owlTransformModule;
+
+    /**
+     * Path of the OWL transform stamps; TinkarTerm DEVELOPMENT_PATH when not set.
+     */
+    @Parameter(property = "owlTransformPath")
+    private String owlTransformPath;
+
+    /**
+     * Reasoned protobuf export, skipped when not set.
+     */
+    @Parameter(property = "exportFile")
+    private File exportFile;
+
+    /**
+     * Reopen the finished datastore once to measure what each extra module pays for reloading it.
+     */
+    @Parameter(property = "measureReloadCost", defaultValue = "false")
+    private boolean measureReloadCost;
+
+    /**
+     * Run the pipeline even if the datastore was already built from the same inputs, see {@link InputFingerprint}.
+     */
+    @Parameter(property = "loinc.force", defaultValue = "false")
+    private boolean force;
+
+    /**
+     * Where the fingerprints are kept, outside the build directory so a clean keeps them.
+     */
+    @Parameter(property = "loinc.fingerprintDirectory", defaultValue = "${user.home}/.m2/loinc-fingerprints")
+    private File fingerprintDirectory;
+
+    private final List<StepTiming> timings = new ArrayList<>();
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        LOG.info("########## Loinc Pipeline Starting...");
+        UUID namespace = UUID.fromString(namespaceString);
+        File datastore = new File(datastorePath);
+
+        LoincTransformerSettings settings = new LoincTransformerSettings()
+                .namespace(namespace)
+                .dataOutputPath(new File(dataOutputPath))
+                .threadCount(threadCount)
+                .failThreshold(failThreshold)
+                .deterministic(deterministic)
+                .shardCount(shardCount)
+                .shardIndex(shardIndex);
+        try {
+            settings.heapBudgetBytes(HeapBudgetGovernor.parseSize(heapBudget));
+            if (stampTime != null) {
+                settings.stampTime(Instant.parse(stampTime).toEpochMilli());
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new MojoFailureException(e.getMessage(), e);
+        }
+        LoincUtility.clearCaches();
+        LoincTransformer transformer = new LoincTransformer(settings);
+
+        // An ephemeral store starts empty every time
+        boolean ephemeral = LoincTransformerSettings.EPHEMERAL_CONTROLLER_NAME.equals(controllerName);
+        File fingerprints = InputFingerprint.directory(fingerprintDirectory, datastore);
+        InputFingerprint fingerprint = null;
+        if (!ephemeral) {
+            try {
+                fingerprint = fingerprint(namespace, datastore);
+                if (!force && fingerprint.matches(fingerprints) && (exportFile == null || exportFile.isFile())) {
+                    LOG.info("Inputs unchanged since the last pipeline run on " + datastore
+                            + ", skipping (set loinc.force to run again)");
+                    return;
+                }
+                fingerprint.invalidate(fingerprints);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to fingerprint the pipeline inputs", e);
+            }
+        }
+
+        long openNanos;
+        long closeNanos;
+        long reloadNanos;
+        try {
+            openNanos = time(() -> initializeDatastore(datastore));
+            try {
+                // load-data loads every starter data file in one module run
+                for (int i = 0; i < starterDataFiles.size(); i++) {
+                    File starterDataFile = starterDataFiles.get(i);
+                    runStep("load " + starterDataFile.getName(), i == 0,
+                            () -> new LoadEntitiesFromProtobufFile(starterDataFile).call());
+                }
+                StarterDataSnapshot snapshot = starterDataSnapshot(namespace);
+                if (forceCompose || ephemeral || !snapshot.isLoadedInto(datastore)) {
+                    runStep("loinc-starterdata", true, () -> {
+                        snapshot.loadOrCompose(snapshotDirectory, forceCompose);
+                        if (!ephemeral) {
+                            snapshot.markLoadedInto(datastore);
+                        }
+                    });
+                }
+                runStep("loinc-transformation", true, () -> {
+                    transformer.unzipRawData(inputDirectoryPath);
+                    transformer.transform();
+                });
+                runStep("owl-transform", true, this::runOwlTransform);
+                runStep("reasoner", true, this::runReasoner);
+                if (exportFile != null) {
+                    runStep("export", true, () -> {
+                        exportFile.getAbsoluteFile().getParentFile().mkdirs();
+                        new ExportEntitiesToProtobufFile(exportFile).call();
+                    });
+                }
+            } finally {
+                closeNanos = time(PrimitiveData::stop);
+            }
+            reloadNanos = openNanos + closeNanos;
+            if (measureReloadCost) {
+                reloadNanos = time(() -> initializeDatastore(datastore)) + time(PrimitiveData::stop);
+            }
+            if (fingerprint != null) {
+                fingerprint.record(fingerprints);
+            }
+        } catch (Exception e) {
+            throw new MojoExecutionException("Loinc pipeline failed", e);
+        }
+        logReport(openNanos, closeNanos, reloadNanos);
+        LOG.info("########## Loinc Pipeline Completed.");
+    }
+
+    /**
+     * The LOINC starter data snapshot for the Tinkar libraries of this plugin and the starter data files loaded
+     * before it, named after their coordinates.
+     */
+    private StarterDataSnapshot starterDataSnapshot(UUID namespace) {
+        List<String> dependencies = LoincStarterDataMojo.tinkarDependencies(plugin);
+        starterDataFiles.forEach(starterDataFile -> dependencies.add(starterDataFile.getName()));
+        return new StarterDataSnapshot(namespace, dependencies);
+    }
+
+    /**
+     * Everything the finished datastore and export depend on; thread count and reload measurement do not change
+     * the content.
+     */
+    private InputFingerprint fingerprint(UUID namespace, File datastore) throws IOException {
+        InputFingerprint fingerprint = new InputFingerprint("loinc-pipeline")
+                .addDatastore(datastore)
+                .add("namespace", namespace)
+                .add("starterDataSnapshot", starterDataSnapshot(namespace).hash())
+                .addFile("release", new File(inputDirectoryPath))
+                .add("controllerName", controllerName)
+                .add("reasonerType", reasonerType)
+                .add("owlTransformAuthor", owlTransformAuthor)
+                .add("owlTransformModule", owlTransformModule)
+                .add("owlTransformPath", owlTransformPath)
+                .add("deterministic", deterministic)
+                .add("stampTime", stampTime)
+                .add("shard", shardIndex + "/" + shardCount)
+                .add("exportFile", exportFile);
+        for (File starterDataFile : starterDataFiles) {
+            fingerprint.addFile("starterDataFile", starterDataFile);
+        }
+        return fingerprint
+                .addCode(LoincPipelineMojo.class)
+                .addCode(LoincTransformer.class);
+    }
+
+    /**
+     * The OWL transform of the run-owl-transformer goal; PipelineMatchesModules in src/it checks the result matches
+     * the multi-module build.
+     */
+    private void runOwlTransform() throws Exception {
+        Transaction owlTransformationTransaction = new Transaction();
+        new OwlToLogicAxiomTransformerAndWriter(owlTransformationTransaction,
+                TinkarTerm.OWL_AXIOM_SYNTAX_PATTERN, TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN,
+                conceptNid(owlTransformAuthor, TinkarTerm.USER),
+                conceptNid(owlTransformModule, TinkarTerm.SOLOR_OVERLAY_MODULE),
+                conceptNid(owlTransformPath, TinkarTerm.DEVELOPMENT_PATH)).call();
+    }
+
+    private static int conceptNid(String uuid, EntityProxy.Concept defaultConcept) {
+        if (uuid == null || uuid.isBlank()) {
+            return defaultConcept.nid();
+        }
+        return EntityProxy.Concept.make(PublicIds.of(UUID.fromString(uuid))).nid();
+    }
+
+    private void runReasoner() throws Exception {
+        ReasonerService reasoner = ServiceLoader.load(ReasonerService.class).stream()
+                .map(ServiceLoader.Provider::get)
+                .filter(service -> service.getClass().getSimpleName().startsWith(reasonerType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No reasoner found for type " + reasonerType));
+        reasoner.init(Calculators.View.Default(), TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN,
+                TinkarTerm.EL_PLUS_PLUS_INFERRED_AXIOMS_PATTERN);
+        reasoner.setProgressUpdater(null);
+        reasoner.extractData();
+        reasoner.loadData();
+        reasoner.computeInferences();
+        reasoner.buildNecessaryNormalForm();
+        reasoner.writeInferredResults();
+    }
+
+    private void initializeDatastore(File datastore) {
+        CachingService.clearAll();
+        ServiceProperties.set(ServiceKeys.DATA_STORE_ROOT, datastore);
+        PrimitiveData.selectControllerByName(controllerName);
+        PrimitiveData.start();
+    }
+
+    /**
+     * @param moduleOpensDatastore whether the multi-module build opens and closes the datastore for this step
+     */
+    private void runStep(String name, boolean moduleOpensDatastore, Step step) throws Exception {
+        LOG.info("---------- " + name);
+        timings.add(new StepTiming(name, time(step), moduleOpensDatastore));
+    }
+
+    private static long time(Step step) throws Exception {
+        long start = System.nanoTime();
+        step.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * The multi-module build opens and closes the datastore once per goal, and loads all starter data files in one
+     * goal; every open after the first is what this goal saves.
+     */
+    private void logReport(long openNanos, long closeNanos, long reloadNanos) {
+        long totalNanos = openNanos + closeNanos;
+        LOG.info(String.format("%-40s %12s", "Step", "Time (ms)"));
+        LOG.info(String.format("%-40s %12d", "open datastore", toMillis(openNanos)));
+        for (StepTiming timing : timings) {
+            LOG.info(String.format("%-40s %12d", timing.name(), toMillis(timing.nanos())));
+            totalNanos += timing.nanos();
+        }
+        LOG.info(String.format("%-40s %12d", "close datastore", toMillis(closeNanos)));
+        LOG.info(String.format("%-40s %12d", "total", toMillis(totalNanos)));
+
+        int reloads = Math.max(0, (int) timings.stream().filter(StepTiming::moduleOpensDatastore).count() - 1);
+        LOG.info("Datastore open/close cycle: " + toMillis(reloadNanos) + " ms"
+                + (measureReloadCost ? " (measured on the finished store)" : " (measured on the initial store)"));
+        LOG.info("Estimated time saved versus the multi-module build: " + toMillis(reloads * reloadNanos)
+                + " ms (" + reloads + " avoided open/close cycles)");
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    private record StepTiming(String name, long nanos, boolean moduleOpensDatastore) {
+    }
+}
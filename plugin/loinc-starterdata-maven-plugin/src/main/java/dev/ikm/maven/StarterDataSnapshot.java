@@ -0,0 +1,182 @@
+package dev.ikm.maven;
+
+import dev.ikm.tinkar.entity.ConceptEntity;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.PatternEntity;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.entity.StampEntity;
+import dev.ikm.tinkar.entity.load.LoadEntitiesFromProtobufFile;
+import dev.ikm.tinkar.entity.transform.EntityToTinkarSchemaTransformer;
+import dev.ikm.tinkar.terms.EntityFacade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Versioned, content-hashed change set of the LOINC starter data. The hash covers the snapshot format version,
+ * the namespace, the compiled {@link LoincStarterData} class and the resolved coordinates of the Tinkar libraries
+ * and starter data it is composed with, so any change to the composed content produces a new snapshot. A marker
+ * file in the datastore records which snapshot it already contains.
+ */
+public class StarterDataSnapshot {
+    private static final Logger LOG = LoggerFactory.getLogger(StarterDataSnapshot.class);
+
+    public static final String SNAPSHOT_VERSION = "1";
+    public static final String MARKER_FILE = "loinc-starterdata.sha256";
+
+    private final UUID namespace;
+    private final String hash;
+
+    /**
+     * @param dependencies resolved coordinates of the libraries and the base starter data, in any order
+     */
+    public StarterDataSnapshot(UUID namespace, Collection<String> dependencies) {
+        this.namespace = namespace;
+        this.hash = computeHash(namespace, dependencies);
+    }
+
+    public String hash() {
+        return hash;
+    }
+
+    public File file(File snapshotDirectory) {
+        return new File(snapshotDirectory, "loinc-starterdata-" + SNAPSHOT_VERSION + "-" + hash.substring(0, 16) + "-pb.zip");
+    }
+
+    /**
+     * @return true if the datastore was marked with this snapshot's hash by an earlier build
+     */
+    public boolean isLoadedInto(File datastore) {
+        File marker = new File(datastore, MARKER_FILE);
+        try {
+            return marker.isFile() && Files.readString(marker.toPath()).trim().equals(hash);
+        } catch (IOException e) {
+            LOG.warn("Unable to read starter data marker {}", marker, e);
+            return false;
+        }
+    }
+
+    /**
+     * Import the snapshot into the running datastore, composing and writing it first when it does not exist yet
+     * or when forced. Mark the datastore afterwards with {@link #markLoadedInto(File)} unless it is ephemeral.
+     */
+    public void loadOrCompose(File snapshotDirectory, boolean forceCompose) throws Exception {
+        File snapshotFile = file(snapshotDirectory);
+        if (!forceCompose && snapshotFile.isFile()) {
+            LOG.info("Importing starter data snapshot {}", snapshotFile);
+            new LoadEntitiesFromProtobufFile(snapshotFile).call();
+        } else {
+            LOG.info("Composing starter data, snapshot will be written to {}", snapshotFile);
+            LoincStarterData starterData = new LoincStarterData(namespace);
+            starterData.compose();
+            write(snapshotFile, starterData.composedComponents());
+        }
+    }
+
+    /**
+     * Record this snapshot's hash in the datastore directory so later builds can skip loading it again.
+     */
+    public void markLoadedInto(File datastore) throws IOException {
+        datastore.mkdirs();
+        Files.writeString(new File(datastore, MARKER_FILE).toPath(), hash);
+    }
+
+    /**
+     * Write the given components, their semantics (recursively) and all referenced stamps as a protobuf change set.
+     */
+    private void write(File snapshotFile, List<EntityFacade> components) throws IOException {
+        Set<Integer> entityNids = new LinkedHashSet<>();
+        components.forEach(component -> collect(component.nid(), entityNids));
+        Set<Integer> stampNids = new LinkedHashSet<>();
+        entityNids.forEach(nid -> EntityService.get().getEntityFast(nid).versions()
+                .forEach(version -> stampNids.add(version.stampNid())));
+
+        snapshotFile.getParentFile().mkdirs();
+        File tempFile = new File(snapshotFile.getParentFile(), snapshotFile.getName() + ".tmp");
+        EntityToTinkarSchemaTransformer transformer = EntityToTinkarSchemaTransformer.getInstance();
+        int concepts = 0, semantics = 0, patterns = 0;
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+            zos.putNextEntry(new ZipEntry(snapshotFile.getName().replace(".zip", ".pb")));
+            for (int nid : entityNids) {
+                Entity<?> entity = EntityService.get().getEntityFast(nid);
+                if (entity instanceof ConceptEntity<?>) {
+                    concepts++;
+                } else if (entity instanceof SemanticEntity<?>) {
+                    semantics++;
+                } else if (entity instanceof PatternEntity<?>) {
+                    patterns++;
+                }
+                transformer.transform(entity).writeDelimitedTo(zos);
+            }
+            for (int stampNid : stampNids) {
+                StampEntity<?> stamp = EntityService.get().getStampFast(stampNid);
+                transformer.transform(stamp).writeDelimitedTo(zos);
+            }
+            zos.closeEntry();
+
+            Manifest manifest = new Manifest();
+            Attributes attributes = manifest.getMainAttributes();
+            attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            attributes.putValue("Snapshot-Hash", hash);
+            attributes.putValue("Total-Count", Integer.toString(entityNids.size() + stampNids.size()));
+            attributes.putValue("Concept-Count", Integer.toString(concepts));
+            attributes.putValue("Semantic-Count", Integer.toString(semantics));
+            attributes.putValue("Pattern-Count", Integer.toString(patterns));
+            attributes.putValue("Stamp-Count", Integer.toString(stampNids.size()));
+            zos.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            manifest.write(zos);
+            zos.closeEntry();
+        }
+        Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        LOG.info("Wrote {} entities and {} stamps to {}", entityNids.size(), stampNids.size(), snapshotFile);
+    }
+
+    private void collect(int nid, Set<Integer> entityNids) {
+        if (entityNids.add(nid)) {
+            EntityService.get().forEachSemanticForComponent(nid, semantic -> collect(semantic.nid(), entityNids));
+        }
+    }
+
+    private static String computeHash(UUID namespace, Collection<String> dependencies) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(SNAPSHOT_VERSION.getBytes(StandardCharsets.UTF_8));
+            digest.update(namespace.toString().getBytes(StandardCharsets.UTF_8));
+            for (String dependency : new TreeSet<>(dependencies)) {
+                digest.update((dependency + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            try (InputStream classBytes = LoincStarterData.class.getResourceAsStream("LoincStarterData.class")) {
+                if (classBytes != null) {
+                    try (OutputStream digestStream = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+                        classBytes.transferTo(digestStream);
+                    }
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("Unable to hash starter data", e);
+        }
+    }
+}
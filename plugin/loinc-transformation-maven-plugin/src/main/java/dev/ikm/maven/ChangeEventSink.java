@@ -0,0 +1,225 @@
+package dev.ikm.maven;
+
+import dev.ikm.tinkar.terms.EntityFacade;
+import dev.ikm.tinkar.terms.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Newline-delimited JSON event per concept and semantic the transformer composes, for indexers that follow LOINC
+ * changes without scanning the datastore. Events are formatted on the composing thread and handed to a writer thread
+ * through a bounded queue, so composing only blocks when the writer falls behind. Written to one file, or with
+ * {@code splitByType} to one file per {@link ComposedType} next to it, e.g. {@code loinc-events-description.ndjson}.
+ * Every file ends with a {@code run} event stating whether the run committed, so every file exists after a run even
+ * when no event of its type was composed.
+ *
+ * <pre>
+ * {"event":"semantic","type":"DESCRIPTION","uuid":"...","pattern":"...","referencedComponent":"...","code":"1234-5","status":"ACTIVE","text":"..."}
+ * </pre>
+ */
+public class ChangeEventSink implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeEventSink.class.getSimpleName());
+
+    private static final int QUEUE_CAPACITY = 16_384;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final Line END = new Line(null, null);
+
+    private final File eventFile;
+    private final boolean splitByType;
+    private final BlockingQueue<Line> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Map<ComposedType, Writer> writers = new EnumMap<>(ComposedType.class);
+    private final AtomicLong events = new AtomicLong();
+    private final Thread writerThread;
+    private volatile IOException failure;
+    private boolean closed;
+
+    private record Line(ComposedType type, String json) {
+    }
+
+    public ChangeEventSink(File eventFile, boolean splitByType) {
+        this.eventFile = eventFile;
+        this.splitByType = splitByType;
+        eventFile.getAbsoluteFile().getParentFile().mkdirs();
+        this.writerThread = new Thread(this::drain, "loinc-change-events");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void concept(EntityFacade concept, String code, State status, String text) {
+        offer(ComposedType.CONCEPT, new JsonWriter().beginObject()
+                .field("event", "concept")
+                .field("type", ComposedType.CONCEPT.name())
+                .field("uuid", uuid(concept))
+                .field("code", code)
+                .field("status", status == null ? null : status.name())
+                .field("text", text)
+                .endObject());
+    }
+
+    public void semantic(ComposedType type, EntityFacade semantic, EntityFacade pattern, EntityFacade referencedComponent,
+                         String code, State status, String text) {
+        offer(type, new JsonWriter().beginObject()
+                .field("event", "semantic")
+                .field("type", type.name())
+                .field("uuid", uuid(semantic))
+                .field("pattern", uuid(pattern))
+                .field("referencedComponent", uuid(referencedComponent))
+                .field("code", code)
+                .field("status", status == null ? null : status.name())
+                .field("text", text)
+                .endObject());
+    }
+
+    public long eventCount() {
+        return events.get();
+    }
+
+    /**
+     * Write the closing run event to every file and wait for the writer to finish.
+     */
+    public void close(boolean committed) throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        String runEvent = new JsonWriter().beginObject()
+                .field("event", "run")
+                .field("outcome", committed ? "committed" : "failed")
+                .field("events", events.get())
+                .endObject().toString();
+        put(new Line(null, runEvent));
+        put(END);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing change events to " + eventFile, e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        LOG.info("Wrote " + events.get() + " change events to " + eventFile + (splitByType ? " by type" : ""));
+    }
+
+    @Override
+    public void close() throws IOException {
+        close(true);
+    }
+
+    private void offer(ComposedType type, JsonWriter json) {
+        if (failure != null) {
+            return;
+        }
+        events.incrementAndGet();
+        put(new Line(type, json.toString()));
+    }
+
+    private void put(Line line) {
+        try {
+            queue.put(line);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoincTransformationException("Interrupted while queueing change events", e);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Line line = queue.take();
+                if (line == END) {
+                    break;
+                }
+                if (failure != null) {
+                    continue;
+                }
+                try {
+                    if (line.type() == null) {
+                        for (ComposedType type : ComposedType.values()) {
+                            writer(type);
+                        }
+                        for (Writer writer : writers.values()) {
+                            writer.write(line.json());
+                            writer.write('\n');
+                        }
+                    } else {
+                        Writer writer = writer(line.type());
+                        writer.write(line.json());
+                        writer.write('\n');
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Writer writer : writers.values()) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The writer of a type, all types share the writer of {@link ComposedType#CONCEPT} unless split.
+     */
+    private Writer writer(ComposedType type) throws IOException {
+        ComposedType key = splitByType ? type : ComposedType.CONCEPT;
+        Writer writer = writers.get(key);
+        if (writer == null) {
+            writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file(eventFile, splitByType, key).toPath()),
+                    StandardCharsets.UTF_8), BUFFER_SIZE);
+            writers.put(key, writer);
+        }
+        return writer;
+    }
+
+    /**
+     * The files a run writes its events to.
+     */
+    public static List<File> eventFiles(File eventFile, boolean splitByType) {
+        if (!splitByType) {
+            return List.of(eventFile);
+        }
+        return Arrays.stream(ComposedType.values())
+                .map(type -> file(eventFile, true, type))
+                .toList();
+    }
+
+    private static File file(File eventFile, boolean splitByType, ComposedType type) {
+        if (!splitByType) {
+            return eventFile;
+        }
+        String name = eventFile.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : ".ndjson";
+        return new File(eventFile.getAbsoluteFile().getParentFile(),
+                base + "-" + type.name().toLowerCase().replace('_', '-') + extension);
+    }
+
+    private static String uuid(EntityFacade facade) {
+        return facade == null ? null : facade.publicId().asUuidArray()[0].toString();
+    }
+}
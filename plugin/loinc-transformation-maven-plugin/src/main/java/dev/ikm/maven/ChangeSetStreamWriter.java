@@ -0,0 +1,213 @@
+package dev.ikm.maven;
+
+import dev.ikm.tinkar.entity.ConceptEntity;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.PatternEntity;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.entity.transform.EntityToTinkarSchemaTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Protobuf change set of what the transformation composes, written from the entities the run touched instead of
+ * exported from the whole datastore afterwards. The transformer reports every concept and semantic it composes with
+ * {@link #composed(int)}; after the final commit {@link #flush()} writes each recorded entity once, with the
+ * semantics of the recorded concepts (descriptions and identifiers a concept assembler adds inline), followed by the
+ * stamps of their versions. Entities are serialized in parallel and written in nid order, patterns, concepts,
+ * semantics and then stamps. Content the run did not compose to, such as starter data, is left out.
+ */
+public class ChangeSetStreamWriter implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeSetStreamWriter.class.getSimpleName());
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final File changeSetFile;
+    private final File tempFile;
+    private final long entryTime;
+    private final ZipOutputStream zos;
+    // Bits indexed from the first nid Integer.MIN_VALUE + 1
+    private final BitSet composed = new BitSet();
+    private final BitSet written = new BitSet();
+    private final BitSet writtenStamps = new BitSet();
+    private long patternCount;
+    private long conceptCount;
+    private long semanticCount;
+    private long stampCount;
+    private boolean closed;
+
+    /**
+     * @param entryTime modification time of the zip entries, or -1 for the current time
+     */
+    public ChangeSetStreamWriter(File changeSetFile, long entryTime) throws IOException {
+        this.changeSetFile = changeSetFile;
+        this.entryTime = entryTime;
+        changeSetFile.getAbsoluteFile().getParentFile().mkdirs();
+        this.tempFile = new File(changeSetFile.getAbsoluteFile().getParentFile(), changeSetFile.getName() + ".tmp");
+        this.zos = new ZipOutputStream(Files.newOutputStream(tempFile.toPath()));
+        zos.putNextEntry(entry(changeSetFile.getName().replace(".zip", ".pb")));
+        LOG.info("Streaming change set to " + changeSetFile);
+    }
+
+    /**
+     * Record a concept or semantic the run composed, called from the composing threads.
+     */
+    public void composed(int nid) {
+        int index = index(nid);
+        synchronized (composed) {
+            composed.set(index);
+        }
+    }
+
+    /**
+     * Append the entities recorded since the last flush that have not been written yet. Call it after the sessions
+     * that composed them are committed.
+     */
+    public void flush() throws IOException {
+        long start = System.nanoTime();
+        BitSet entities = new BitSet();
+        synchronized (composed) {
+            for (int index = composed.nextSetBit(0); index >= 0; index = composed.nextSetBit(index + 1)) {
+                collect(nid(index), entities);
+            }
+            composed.clear();
+        }
+        entities.andNot(written);
+        written.or(entities);
+
+        List<Integer> patternNids = new ArrayList<>();
+        List<Integer> conceptNids = new ArrayList<>();
+        List<Integer> semanticNids = new ArrayList<>();
+        BitSet stamps = new BitSet();
+        for (int index = entities.nextSetBit(0); index >= 0; index = entities.nextSetBit(index + 1)) {
+            Entity<?> entity = EntityService.get().getEntityFast(nid(index));
+            if (entity instanceof PatternEntity<?>) {
+                patternNids.add(entity.nid());
+            } else if (entity instanceof ConceptEntity<?>) {
+                conceptNids.add(entity.nid());
+            } else if (entity instanceof SemanticEntity<?>) {
+                semanticNids.add(entity.nid());
+            }
+            entity.versions().forEach(version -> stamps.set(index(version.stampNid())));
+        }
+        stamps.andNot(writtenStamps);
+        writtenStamps.or(stamps);
+        List<Integer> stampNids = new ArrayList<>(stamps.cardinality());
+        for (int index = stamps.nextSetBit(0); index >= 0; index = stamps.nextSetBit(index + 1)) {
+            stampNids.add(nid(index));
+        }
+
+        patternCount += write(patternNids, false);
+        conceptCount += write(conceptNids, false);
+        semanticCount += write(semanticNids, false);
+        stampCount += write(stampNids, true);
+        zos.flush();
+        LOG.info("Streamed " + (patternCount + conceptCount + semanticCount + stampCount) + " entities to "
+                + changeSetFile + " (flush took " + (System.nanoTime() - start) / 1_000_000 + " ms)");
+    }
+
+    /**
+     * Finish the change set with its manifest and move it into place.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        zos.closeEntry();
+        Manifest manifest = new Manifest();
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attributes.putValue("Total-Count", Long.toString(patternCount + conceptCount + semanticCount + stampCount));
+        attributes.putValue("Concept-Count", Long.toString(conceptCount));
+        attributes.putValue("Semantic-Count", Long.toString(semanticCount));
+        attributes.putValue("Pattern-Count", Long.toString(patternCount));
+        attributes.putValue("Stamp-Count", Long.toString(stampCount));
+        zos.putNextEntry(entry("META-INF/MANIFEST.MF"));
+        manifest.write(zos);
+        zos.closeEntry();
+        zos.close();
+        Files.move(tempFile.toPath(), changeSetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Drop the partial change set of a failed run.
+     */
+    public void abort() {
+        closed = true;
+        try {
+            zos.close();
+            Files.deleteIfExists(tempFile.toPath());
+        } catch (IOException e) {
+            LOG.warn("Unable to delete partial change set " + tempFile, e);
+        }
+    }
+
+    /**
+     * The entity and, recursively, the semantics that reference it.
+     */
+    private static void collect(int nid, BitSet entities) {
+        int index = index(nid);
+        if (!entities.get(index)) {
+            entities.set(index);
+            EntityService.get().forEachSemanticForComponent(nid, semantic -> collect(semantic.nid(), entities));
+        }
+    }
+
+    private long write(List<Integer> nids, boolean stamps) throws IOException {
+        EntityToTinkarSchemaTransformer transformer = EntityToTinkarSchemaTransformer.getInstance();
+        for (int from = 0; from < nids.size(); from += BATCH_SIZE) {
+            List<byte[]> messages = nids.subList(from, Math.min(from + BATCH_SIZE, nids.size())).parallelStream()
+                    .map(nid -> {
+                        Entity<?> entity = stamps ? EntityService.get().getStampFast(nid) : EntityService.get().getEntityFast(nid);
+                        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+                        try {
+                            transformer.transform(entity).writeDelimitedTo(bytes);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return bytes.toByteArray();
+                    })
+                    .toList();
+            for (byte[] message : messages) {
+                zos.write(message);
+            }
+        }
+        return nids.size();
+    }
+
+    private static int index(int nid) {
+        int index = nid - (Integer.MIN_VALUE + 1);
+        if (index < 0) {
+            throw new IllegalStateException("Unexpected nid " + nid);
+        }
+        return index;
+    }
+
+    private static int nid(int index) {
+        return index + Integer.MIN_VALUE + 1;
+    }
+
+    private ZipEntry entry(String name) {
+        ZipEntry entry = new ZipEntry(name);
+        if (entryTime >= 0) {
+            entry.setTime(entryTime);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,47 @@
+package dev.ikm.maven;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for one chunk of rows composed by a worker thread. The lock wait is the total time the
+ * chunk spent waiting for the shared composer lock, the remainder of the duration is parsing and composing.
+ */
+@Name("dev.ikm.loinc.ChunkComposition")
+@Label("LOINC Chunk Composition")
+@Category({"LOINC", "Transformation"})
+@Description("Rows of one chunk composed by a worker thread")
+@StackTrace(false)
+final class ChunkCompositionEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("First Row")
+    int startRow;
+
+    @Label("End Row")
+    @Description("Exclusive end of the row range")
+    int endRow;
+
+    @Label("Rows Composed")
+    int rowsComposed;
+
+    @Label("Rows Failed")
+    int rowsFailed;
+
+    @Label("Lock Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWait;
+
+    ChunkCompositionEvent(String stage, int startRow, int endRow) {
+        this.stage = stage;
+        this.startRow = startRow;
+        this.endRow = endRow;
+    }
+}
@@ -0,0 +1,25 @@
+package dev.ikm.maven;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder span of {@code Composer.commitAllSessions()} at the end of a transformation run.
+ */
+@Name("dev.ikm.loinc.Commit")
+@Label("LOINC Commit")
+@Category({"LOINC", "Transformation"})
+@Description("Commit of all composer sessions")
+@StackTrace(false)
+final class CommitEvent extends Event {
+
+    @Label("Entities Composed")
+    long entitiesComposed;
+
+    @Label("Semantics Composed")
+    long semanticsComposed;
+}
@@ -0,0 +1,30 @@
+package dev.ikm.maven;
+
+/**
+ * Kinds of components the transformer composes, counted by {@link TransformationMetrics}.
+ */
+public enum ComposedType {
+    CONCEPT(true),
+    DESCRIPTION(false),
+    IDENTIFIER(false),
+    STATED_NAVIGATION(false),
+    STATED_AXIOM(false),
+    OWL_AXIOM(false),
+    STATUS(false),
+    LOINC_CLASS(false),
+    EXAMPLE_UNITS(false),
+    TEST_MEMBERSHIP(false);
+
+    private final boolean entity;
+
+    ComposedType(boolean entity) {
+        this.entity = entity;
+    }
+
+    /**
+     * @return true for concepts, false for semantics
+     */
+    public boolean isEntity() {
+        return entity;
+    }
+}
@@ -0,0 +1,50 @@
+package dev.ikm.maven;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for a worker thread waiting on the composer lock. Only waits above the threshold are
+ * recorded; the total wait of every chunk is in {@link ChunkCompositionEvent}.
+ */
+@Name("dev.ikm.loinc.ComposerLockWait")
+@Label("LOINC Composer Lock Wait")
+@Category({"LOINC", "Transformation"})
+@Description("Time a worker thread waited for the shared composer")
+@Threshold("1 ms")
+@StackTrace(false)
+final class ComposerLockWaitEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    private long startNanos;
+
+    /**
+     * Start timing a lock acquisition, call {@link #acquired()} first thing inside the synchronized block.
+     */
+    static ComposerLockWaitEvent waiting(String stage) {
+        ComposerLockWaitEvent event = new ComposerLockWaitEvent();
+        event.stage = stage;
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return nanoseconds waited for the lock
+     */
+    long acquired() {
+        long waited = System.nanoTime() - startNanos;
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+        return waited;
+    }
+}
@@ -0,0 +1,107 @@
+package dev.ikm.maven;
+
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.EntityVersion;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import dev.ikm.tinkar.entity.StampEntity;
+import dev.ikm.tinkar.terms.EntityFacade;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SHA-256 over the content of the running datastore, independent of nids and stamp identities: every pattern,
+ * concept and semantic in public id order, with each version's status, time, author, module and path, and for
+ * semantics the pattern, referenced component and field values. Components are written by their UUIDs. Two runs
+ * that composed the same content have the same fingerprint. {@link #computeWithoutTimes()} leaves out the stamp
+ * times, for comparing builds that are not deterministic.
+ */
+public final class DatastoreFingerprint {
+
+    private DatastoreFingerprint() {
+    }
+
+    public static String compute() {
+        return compute(true);
+    }
+
+    public static String computeWithoutTimes() {
+        return compute(false);
+    }
+
+    private static String compute(boolean times) {
+        List<Integer> nids = new ArrayList<>();
+        PrimitiveData.get().forEachPatternNid(nids::add);
+        PrimitiveData.get().forEachConceptNid(nids::add);
+        PrimitiveData.get().forEachSemanticNid(nids::add);
+
+        List<String> lines = new ArrayList<>(nids.size());
+        for (int nid : nids) {
+            lines.add(describe(EntityService.get().getEntityFast(nid), times));
+        }
+        lines.sort(null);
+
+        MessageDigest digest = sha256();
+        for (String line : lines) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String describe(Entity<?> entity, boolean times) {
+        StringBuilder line = new StringBuilder(uuids(entity.publicId().asUuidArray()));
+        line.append('|').append(entity.getClass().getSimpleName());
+        if (entity instanceof SemanticEntity<?> semantic) {
+            line.append('|').append(uuids(semantic.pattern().publicId().asUuidArray()))
+                    .append('|').append(uuids(semantic.referencedComponent().publicId().asUuidArray()));
+        }
+        List<String> versions = new ArrayList<>();
+        for (EntityVersion version : entity.versions()) {
+            StampEntity<?> stamp = version.stamp();
+            StringBuilder text = new StringBuilder()
+                    .append(stamp.state()).append(',')
+                    .append(times ? stamp.time() : "").append(',')
+                    .append(uuid(stamp.authorNid())).append(',')
+                    .append(uuid(stamp.moduleNid())).append(',')
+                    .append(uuid(stamp.pathNid()));
+            if (version instanceof SemanticEntityVersion semanticVersion) {
+                for (Object value : semanticVersion.fieldValues()) {
+                    text.append(',').append(value instanceof EntityFacade facade
+                            ? uuids(facade.publicId().asUuidArray()) : String.valueOf(value));
+                }
+            }
+            versions.add(text.toString());
+        }
+        versions.sort(null);
+        versions.forEach(version -> line.append('|').append(version));
+        return line.toString();
+    }
+
+    private static String uuid(int nid) {
+        return uuids(PrimitiveData.publicId(nid).asUuidArray());
+    }
+
+    private static String uuids(UUID[] uuids) {
+        UUID[] sorted = uuids.clone();
+        Arrays.sort(sorted);
+        return Arrays.toString(sorted);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
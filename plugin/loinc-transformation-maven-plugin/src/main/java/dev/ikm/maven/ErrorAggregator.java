@@ -0,0 +1,189 @@
+package dev.ikm.maven;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the failures of a transformation run instead of logging every one. Failures are counted by category,
+ * such as a compose of one {@link ComposedType} or an invalid row of one file; only the first failure of a category
+ * is logged when it happens, the first few exceptions of each category are kept as samples, and rejected rows are appended to
+ * {@value #QUARANTINE_FILE} under dataOutputPath. {@link #logSummary()} prints one table at the end of the run.
+ */
+public class ErrorAggregator implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(ErrorAggregator.class.getSimpleName());
+
+    public static final String QUARANTINE_FILE = "loinc-quarantine.tsv";
+    private static final int MAX_SAMPLES_PER_CATEGORY = 3;
+
+    private final File quarantineFile;
+    private final long failThreshold;
+    private final TransformationMetrics metrics;
+    private final Map<String, Category> categories = new ConcurrentHashMap<>();
+    private final AtomicLong errorCount = new AtomicLong();
+    private BufferedWriter quarantine;
+
+    /**
+     * @param failThreshold number of failures the run tolerates, negative for no limit
+     */
+    public ErrorAggregator(File dataOutputPath, long failThreshold, TransformationMetrics metrics) {
+        this.quarantineFile = new File(dataOutputPath, QUARANTINE_FILE);
+        this.failThreshold = failThreshold;
+        this.metrics = metrics;
+    }
+
+    /**
+     * A compose call for one component that threw; the row it belongs to may still be composed.
+     */
+    public void composeFailed(ComposedType type, Object component, Exception e) {
+        metrics.composeFailed();
+        record("compose " + type.name(), "Unable to compose " + type.name() + " for " + component, e);
+    }
+
+    /**
+     * A row that was not transformed; it is written to the quarantine file.
+     *
+     * @param source the release file
+     * @param key    the line number or code identifying the row
+     * @param line   the rejected row, or null when not at hand
+     * @param e      the cause, or null for a row rejected by validation
+     */
+    public void rowFailed(String source, String key, String reason, String line, Exception e) {
+        metrics.rowFailed();
+        record(source + ": " + reason, source + " " + key + ": " + reason, e);
+        quarantine(source, key, reason, line);
+    }
+
+    public long errorCount() {
+        return errorCount.get();
+    }
+
+    public boolean isThresholdExceeded() {
+        return failThreshold >= 0 && errorCount.get() > failThreshold;
+    }
+
+    /**
+     * @throws LoincTransformationException when more failures than the fail threshold were recorded
+     */
+    public void checkThreshold() {
+        if (isThresholdExceeded()) {
+            throw new LoincTransformationException(errorCount.get() + " transformation errors exceed the fail threshold of "
+                    + failThreshold + ", rejected rows are in " + quarantineFile);
+        }
+    }
+
+    private void record(String category, String message, Exception e) {
+        errorCount.incrementAndGet();
+        Category counts = categories.computeIfAbsent(category, Category::new);
+        if (counts.count.incrementAndGet() == 1) {
+            LOG.warn(message + (e != null ? ": " + e : "") + " (further " + category
+                    + " errors are counted and listed at the end of the run)");
+        }
+        if (e != null) {
+            counts.addSample(message, e);
+        }
+    }
+
+    private synchronized void quarantine(String source, String key, String reason, String line) {
+        try {
+            if (quarantine == null) {
+                quarantineFile.getAbsoluteFile().getParentFile().mkdirs();
+                quarantine = Files.newBufferedWriter(quarantineFile.toPath(), StandardCharsets.UTF_8);
+                quarantine.write("SOURCE\tKEY\tREASON\tROW");
+                quarantine.newLine();
+            }
+            quarantine.write(source + "\t" + key + "\t" + reason + "\t" + (line != null ? line : ""));
+            quarantine.newLine();
+        } catch (IOException e) {
+            LOG.warn("Unable to write to quarantine file " + quarantineFile, e);
+        }
+    }
+
+    /**
+     * Log the failures by category, followed by the sampled stack traces.
+     */
+    public void logSummary() {
+        if (categories.isEmpty()) {
+            LOG.info("No transformation errors");
+            return;
+        }
+        List<Category> sorted = new ArrayList<>(categories.values());
+        sorted.sort((a, b) -> Long.compare(b.count.get(), a.count.get()));
+        int width = sorted.stream().mapToInt(category -> category.name.length()).max().orElse(0);
+        StringBuilder table = new StringBuilder("Transformation errors:");
+        for (Category category : sorted) {
+            table.append(String.format(Locale.ROOT, "%n  %-" + width + "s  %,10d", category.name, category.count.get()));
+        }
+        table.append(String.format(Locale.ROOT, "%n  %-" + width + "s  %,10d", "total", errorCount.get()));
+        LOG.warn(table.toString());
+        for (Category category : sorted) {
+            synchronized (category.samples) {
+                for (Sample sample : category.samples) {
+                    LOG.warn("Sample of " + category.name + ": " + sample.message, sample.exception);
+                }
+            }
+        }
+        if (quarantine != null) {
+            LOG.warn("Rejected rows written to " + quarantineFile);
+        }
+    }
+
+    /**
+     * The exceptions kept as samples of a category, oldest first.
+     */
+    List<Exception> samples(String category) {
+        Category counts = categories.get(category);
+        if (counts == null) {
+            return List.of();
+        }
+        synchronized (counts.samples) {
+            return counts.samples.stream().map(Sample::exception).toList();
+        }
+    }
+
+    void writeTo(JsonWriter json) {
+        json.name("errors").beginObject();
+        categories.values().forEach(category -> json.field(category.name, category.count.get()));
+        json.endObject().field("errorCount", errorCount.get());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (quarantine != null) {
+            quarantine.close();
+        }
+    }
+
+    private static class Category {
+        private final String name;
+        private final AtomicLong count = new AtomicLong();
+        private final List<Sample> samples = new ArrayList<>();
+
+        private Category(String name) {
+            this.name = name;
+        }
+
+        private void addSample(String message, Exception e) {
+            synchronized (samples) {
+                if (samples.size() < MAX_SAMPLES_PER_CATEGORY) {
+                    samples.add(new Sample(message, e));
+                }
+            }
+        }
+    }
+
+    private record Sample(String message, Exception exception) {
+    }
+}
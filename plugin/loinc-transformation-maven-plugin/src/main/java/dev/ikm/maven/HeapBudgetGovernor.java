@@ -0,0 +1,158 @@
+package dev.ikm.maven;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps a transformation run under a heap budget. Worker threads call {@link #checkpoint()} while holding the
+ * composer lock; every few rows it looks at the heap still in use after the last collection, which is the live data
+ * rather than garbage waiting to be collected. Near the budget it commits the open composer sessions early so their
+ * pending state can be released. When the live heap stays above the budget the worker that crossed it calls
+ * {@link #throttle()} after releasing the composer lock, and waits until a collection brings usage back under the
+ * budget or the wait times out; the other workers keep composing in the meantime.
+ *
+ * <pre>
+ * boolean overBudget;
+ * synchronized (composerLock) {
+ *     composeRow();
+ *     overBudget = heapGovernor.checkpoint();
+ * }
+ * if (overBudget) {
+ *     heapGovernor.throttle();
+ * }
+ * </pre>
+ */
+public class HeapBudgetGovernor {
+    private static final Logger LOG = LoggerFactory.getLogger(HeapBudgetGovernor.class.getSimpleName());
+
+    /**
+     * Fraction of the budget at which the open sessions are committed early.
+     */
+    private static final double FLUSH_RATIO = 0.85;
+    static final int CHECK_INTERVAL_ROWS = 64;
+    private static final long MAX_THROTTLE_MILLIS = 30_000;
+    private static final long THROTTLE_STEP_MILLIS = 50;
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+            .toList();
+
+    private final long budgetBytes;
+    private final Runnable flush;
+    private final TransformationMetrics metrics;
+    private final LongSupplier liveHeapBytes;
+
+    private int rowsSinceCheck;
+    private long lastFlushCollectionUsage = -1;
+
+    /**
+     * @param budgetBytes heap budget, 0 or less turns the governor off
+     * @param flush       commits the open composer sessions, called with the composer lock held
+     */
+    public HeapBudgetGovernor(long budgetBytes, Runnable flush, TransformationMetrics metrics) {
+        this(budgetBytes, flush, metrics, HeapBudgetGovernor::collectionUsage);
+    }
+
+    /**
+     * @param liveHeapBytes the heap in use after the last collection
+     */
+    HeapBudgetGovernor(long budgetBytes, Runnable flush, TransformationMetrics metrics, LongSupplier liveHeapBytes) {
+        this.budgetBytes = budgetBytes;
+        this.flush = flush;
+        this.metrics = metrics;
+        this.liveHeapBytes = liveHeapBytes;
+    }
+
+    public boolean isEnabled() {
+        return budgetBytes > 0;
+    }
+
+    /**
+     * Called after each composed row with the composer lock held.
+     *
+     * @return true when the live heap was still above the budget at the early commit, the caller then calls
+     * {@link #throttle()} once it has released the composer lock
+     */
+    public boolean checkpoint() {
+        if (!isEnabled() || ++rowsSinceCheck < CHECK_INTERVAL_ROWS) {
+            return false;
+        }
+        rowsSinceCheck = 0;
+        long live = liveHeapBytes.getAsLong();
+        if (live < budgetBytes * FLUSH_RATIO || live == lastFlushCollectionUsage) {
+            // Under the flush mark, or nothing was collected since the last flush so another one would not help
+            return false;
+        }
+        LOG.info(String.format(Locale.ROOT, "Live heap %,d MB is near the budget of %,d MB, committing open sessions",
+                live >> 20, budgetBytes >> 20));
+        flush.run();
+        metrics.earlyCommit();
+        lastFlushCollectionUsage = live;
+        return live >= budgetBytes;
+    }
+
+    /**
+     * Hold the calling worker, without the composer lock, until a collection brings the live heap under the budget.
+     */
+    public void throttle() {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(MAX_THROTTLE_MILLIS);
+        System.gc();
+        while (liveHeapBytes.getAsLong() >= budgetBytes && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(THROTTLE_STEP_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        long waited = System.nanoTime() - start;
+        metrics.throttled(waited);
+        long live = liveHeapBytes.getAsLong();
+        if (live >= budgetBytes) {
+            LOG.warn(String.format(Locale.ROOT, "Live heap %,d MB is still above the budget of %,d MB after %d ms",
+                    live >> 20, budgetBytes >> 20, TimeUnit.NANOSECONDS.toMillis(waited)));
+        }
+    }
+
+    /**
+     * Heap in use right after the last collection of each pool.
+     */
+    private static long collectionUsage() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : HEAP_POOLS) {
+            if (pool.getCollectionUsage() != null) {
+                used += pool.getCollectionUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Parse a size such as 512m, 2g or 1073741824.
+     */
+    public static long parseSize(String size) {
+        if (size == null || size.isBlank()) {
+            return 0;
+        }
+        String value = size.trim().toLowerCase(Locale.ROOT);
+        long multiplier = 1;
+        char unit = value.charAt(value.length() - 1);
+        if (unit == 'k' || unit == 'm' || unit == 'g') {
+            multiplier = unit == 'k' ? 1L << 10 : unit == 'm' ? 1L << 20 : 1L << 30;
+            value = value.substring(0, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value) * multiplier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid heap budget " + size + ", expected e.g. 512m or 2g", e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package dev.ikm.maven;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * SHA-256 over everything a goal's output depends on: parameters, input files, the plugin code, the identity of the
+ * datastore and the fingerprints of the goals that filled it before. It is stored as {@code <goal>.sha256} in a
+ * fingerprint directory outside the build directory, see {@link #directory(File, File)}, after the goal succeeded,
+ * so the next build can skip the goal when nothing changed. The file is removed before the goal runs, so a failed
+ * run is never taken as up to date. The datastore identity is a random id kept in the datastore itself, so a
+ * datastore that was deleted and built again never matches a fingerprint of the old one.
+ */
+public class InputFingerprint {
+    private static final Logger LOG = LoggerFactory.getLogger(InputFingerprint.class.getSimpleName());
+
+    /**
+     * Marker {@code StarterDataSnapshot} writes to the datastore in the starter data plugin.
+     */
+    public static final String STARTER_DATA_MARKER = "loinc-starterdata.sha256";
+
+    /**
+     * File in the datastore holding its random id.
+     */
+    public static final String DATASTORE_ID_FILE = "loinc-datastore.id";
+
+    private final String goal;
+    private final MessageDigest digest;
+    private String hash;
+
+    public InputFingerprint(String goal) {
+        this.goal = goal;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        add("goal", goal);
+    }
+
+    public InputFingerprint add(String name, Object value) {
+        update(name + "=" + value + "\n");
+        return this;
+    }
+
+    /**
+     * Add the content of a file, or its absence.
+     */
+    public InputFingerprint addFile(String name, File file) throws IOException {
+        update(name + "=");
+        if (file == null || !file.isFile()) {
+            update("missing\n");
+            return this;
+        }
+        try (InputStream in = Files.newInputStream(file.toPath());
+             OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            in.transferTo(out);
+        }
+        update("\n");
+        return this;
+    }
+
+    /**
+     * Add the jar, or the class files when run from a build directory, the given class was loaded from.
+     */
+    public InputFingerprint addCode(Class<?> type) throws IOException {
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            return add("code", type.getName());
+        }
+        Path location;
+        try {
+            location = Path.of(codeSource.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return add("code", codeSource.getLocation());
+        }
+        if (Files.isDirectory(location)) {
+            List<Path> classFiles;
+            try (Stream<Path> paths = Files.walk(location)) {
+                classFiles = paths.filter(Files::isRegularFile).sorted().toList();
+            }
+            for (Path classFile : classFiles) {
+                addFile(location.relativize(classFile).toString(), classFile.toFile());
+            }
+            return this;
+        }
+        return addFile("code", location.toFile());
+    }
+
+    /**
+     * Add the fingerprint or marker another goal left in the given directory, so this goal reruns when that goal did.
+     */
+    public InputFingerprint addUpstream(File directory, String fileName) throws IOException {
+        File upstream = new File(directory, fileName);
+        return add(fileName, upstream.isFile() ? Files.readString(upstream.toPath()).trim() : "missing");
+    }
+
+    /**
+     * Add the id of the datastore, giving it one when it has none yet.
+     */
+    public InputFingerprint addDatastore(File datastore) throws IOException {
+        File idFile = new File(datastore, DATASTORE_ID_FILE);
+        if (!idFile.isFile()) {
+            datastore.mkdirs();
+            Files.writeString(idFile.toPath(), UUID.randomUUID().toString(), StandardCharsets.UTF_8);
+        }
+        return add("datastore", Files.readString(idFile.toPath()).trim());
+    }
+
+    public String hash() {
+        if (hash == null) {
+            hash = HexFormat.of().formatHex(digest.digest());
+        }
+        return hash;
+    }
+
+    public static String fileName(String goal) {
+        return goal + ".sha256";
+    }
+
+    /**
+     * Directory for the fingerprints of one datastore under the given root, named after a hash of the datastore's
+     * absolute path, so cleaning the build directory keeps them and separate checkouts do not share them.
+     */
+    public static File directory(File root, File datastore) {
+        try {
+            byte[] path = datastore.getAbsoluteFile().toPath().normalize().toString().getBytes(StandardCharsets.UTF_8);
+            return new File(root, HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(path), 0, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return true if the goal last succeeded with the same inputs, on the same datastore
+     */
+    public boolean matches(File directory) {
+        File file = new File(directory, fileName(goal));
+        try {
+            return file.isFile() && Files.readString(file.toPath()).trim().equals(hash());
+        } catch (IOException e) {
+            LOG.warn("Unable to read fingerprint " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Remove the stored fingerprint before the goal changes the datastore.
+     */
+    public void invalidate(File directory) throws IOException {
+        Files.deleteIfExists(new File(directory, fileName(goal)).toPath());
+    }
+
+    /**
+     * Store the fingerprint after the goal succeeded.
+     */
+    public void record(File directory) throws IOException {
+        directory.mkdirs();
+        Files.writeString(new File(directory, fileName(goal)).toPath(), hash(), StandardCharsets.UTF_8);
+    }
+
+    private void update(String text) {
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
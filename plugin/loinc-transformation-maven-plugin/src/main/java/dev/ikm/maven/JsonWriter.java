@@ -0,0 +1,149 @@
+package dev.ikm.maven;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Minimal JSON builder for run reports, so the plugins do not need a JSON library.
+ */
+public class JsonWriter {
+    private final StringBuilder json = new StringBuilder();
+    // One entry per open object or array, true until its first member is written
+    private final Deque<Boolean> first = new ArrayDeque<>();
+    private boolean afterName;
+
+    public JsonWriter beginObject() {
+        separator();
+        json.append('{');
+        first.push(true);
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        first.pop();
+        json.append('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        separator();
+        json.append('[');
+        first.push(true);
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        first.pop();
+        json.append(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) {
+        separator();
+        quote(name);
+        json.append(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        separator();
+        if (value == null) {
+            json.append("null");
+        } else {
+            quote(value);
+        }
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        separator();
+        json.append("null");
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separator();
+        json.append(value);
+        return this;
+    }
+
+    public JsonWriter value(double value) {
+        separator();
+        json.append(Double.isFinite(value) ? Double.toString(value) : "null");
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separator();
+        json.append(value);
+        return this;
+    }
+
+    /**
+     * Append an already serialized JSON value.
+     */
+    public JsonWriter rawValue(String json) {
+        separator();
+        this.json.append(json);
+        return this;
+    }
+
+    public JsonWriter field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, long value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, double value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, boolean value) {
+        return name(name).value(value);
+    }
+
+    @Override
+    public String toString() {
+        return json.toString();
+    }
+
+    private void separator() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!first.isEmpty()) {
+            if (first.peek()) {
+                first.pop();
+                first.push(false);
+            } else {
+                json.append(',');
+            }
+        }
+    }
+
+    private void quote(String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
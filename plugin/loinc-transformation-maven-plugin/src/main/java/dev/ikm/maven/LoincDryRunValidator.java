@@ -0,0 +1,82 @@
+package dev.ikm.maven;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Receives the rows of a validate-only run. {@link LoincTransformer} parses Part.csv, ComponentHierarchyBySystem.csv
+ * and Loinc.csv and resolves every axis value through the part cache exactly as it does when composing, but hands
+ * the results here instead of to a composer, and never starts a datastore. Malformed rows are counted and quarantined
+ * by the run's {@link ErrorAggregator} as usual; this collects the axis values that do not resolve to a part and the
+ * OWL expressions built, and writes them with the throughput to {@value #REPORT_FILE}.
+ */
+public class LoincDryRunValidator {
+    private static final Logger LOG = LoggerFactory.getLogger(LoincDryRunValidator.class.getSimpleName());
+
+    public static final String REPORT_FILE = "loinc-dry-run-report.txt";
+
+    private final File reportFile;
+    private final Map<String, AtomicLong> unresolvedParts = new ConcurrentHashMap<>();
+    private final AtomicLong owlExpressions = new AtomicLong();
+
+    public LoincDryRunValidator(File dataOutputPath) {
+        this.reportFile = new File(dataOutputPath, REPORT_FILE);
+    }
+
+    /**
+     * An axis or class value of a Loinc.csv row that is not in the part cache.
+     */
+    public void unresolved(String partTypeName, String partName) {
+        unresolvedParts.computeIfAbsent(partTypeName + ": " + partName, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public void owlExpressionBuilt() {
+        owlExpressions.incrementAndGet();
+    }
+
+    /**
+     * @return true when every axis value resolved and no row failed
+     */
+    public boolean isValid(ErrorAggregator errors) {
+        return unresolvedParts.isEmpty() && errors.errorCount() == 0;
+    }
+
+    /**
+     * @param rows        rows read by all stages
+     * @param errorCount  rows and values the run rejected, listed in {@value ErrorAggregator#QUARANTINE_FILE}
+     */
+    public void writeReport(long rows, long errorCount, long elapsedNanos) throws IOException {
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        Map<String, AtomicLong> sortedUnresolved = new TreeMap<>(unresolvedParts);
+
+        LOG.info("Rows read: " + rows + " in " + millis + " ms (" + (rows * 1000 / millis) + " rows/s)");
+        LOG.info("OWL expressions built: " + owlExpressions.get());
+        LOG.info("Unresolved parts: " + sortedUnresolved.size() + ", errors: " + errorCount);
+        sortedUnresolved.entrySet().stream().limit(20)
+                .forEach(entry -> LOG.warn("Unresolved part " + entry.getKey() + " (" + entry.getValue() + " rows)"));
+
+        reportFile.getAbsoluteFile().getParentFile().mkdirs();
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8))) {
+            writer.println("rows=" + rows);
+            writer.println("elapsedMillis=" + millis);
+            writer.println("rowsPerSecond=" + rows * 1000 / millis);
+            writer.println("owlExpressions=" + owlExpressions.get());
+            writer.println("errors=" + errorCount);
+            writer.println();
+            writer.println("# Unresolved parts (" + sortedUnresolved.size() + ")");
+            sortedUnresolved.forEach((part, count) -> writer.println(part + "\t" + count));
+        }
+        LOG.info("Dry run report written to " + reportFile);
+    }
+}
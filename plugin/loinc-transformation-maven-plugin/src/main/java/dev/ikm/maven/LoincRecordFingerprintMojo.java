@@ -0,0 +1,42 @@
+package dev.ikm.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Records that the OWL transform and the reasoner, bound before it, succeeded on the datastore the transformation
+ * last built. The next build's transformation goal skips the whole chain only when this record matches its own
+ * fingerprint, see {@link LoincTransformationMojo#UP_TO_DATE_PROPERTY}.
+ */
+@Mojo(name = "record-fingerprint", defaultPhase = LifecyclePhase.INSTALL)
+public class LoincRecordFingerprintMojo extends AbstractMojo {
+
+    @Parameter(property = "datastorePath", required = true)
+    private File datastorePath;
+
+    @Parameter(property = "loinc.fingerprintDirectory", defaultValue = "${user.home}/.m2/loinc-fingerprints")
+    private File fingerprintDirectory;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        File fingerprints = InputFingerprint.directory(fingerprintDirectory, datastorePath);
+        String upstream = InputFingerprint.fileName(LoincTransformationMojo.GOAL);
+        if (!new File(fingerprints, upstream).isFile()) {
+            getLog().warn("No transformation fingerprint for " + datastorePath + ", nothing to record");
+            return;
+        }
+        try {
+            new InputFingerprint(LoincTransformationMojo.REASONED_GOAL)
+                    .addUpstream(fingerprints, upstream)
+                    .record(fingerprints);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to record the reasoned fingerprint in " + fingerprints, e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package dev.ikm.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges the change sets written by sharded run-loinc-transformation runs into one datastore, see
+ * {@link LoincShardMerger}.
+ */
+@Mojo(name = "merge-loinc-shards")
+public class LoincShardMergeMojo extends AbstractMojo {
+
+    private static final int CONFLICTS_LOGGED = 20;
+
+    @Parameter(property = "datastorePath", required = true)
+    private String datastorePath;
+
+    @Parameter(property = "controllerName", defaultValue = LoincTransformerSettings.DEFAULT_CONTROLLER_NAME)
+    private String controllerName;
+
+    /**
+     * The snapshotPath change sets of the shards, e.g. -DshardFiles=target/shard-0-pb.zip,target/shard-1-pb.zip.
+     */
+    @Parameter(property = "shardFiles", required = true)
+    private List<File> shardFiles = new ArrayList<>();
+
+    /**
+     * Fail when shards wrote the same component with different content instead of loading them anyway.
+     */
+    @Parameter(property = "failOnConflict", defaultValue = "true")
+    private boolean failOnConflict;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        for (File shardFile : shardFiles) {
+            if (!shardFile.isFile()) {
+                throw new MojoFailureException("Shard change set " + shardFile + " does not exist");
+            }
+        }
+        LoincShardMerger merger = new LoincShardMerger(shardFiles);
+        try {
+            LoincShardMerger.Check check = merger.check();
+            getLog().info(shardFiles.size() + " shards hold " + check.components() + " components, "
+                    + check.duplicates() + " identical duplicates, " + check.conflicts().size() + " conflicts");
+            if (check.hasConflicts()) {
+                check.conflicts().stream().limit(CONFLICTS_LOGGED).forEach(conflict -> getLog().warn("Conflict: " + conflict));
+                if (failOnConflict) {
+                    throw new MojoFailureException(check.conflicts().size() + " components differ between shards, "
+                            + "were the shards run with the same release, namespace and shardCount?");
+                }
+            }
+            merger.merge(new File(datastorePath), controllerName);
+        } catch (MojoFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MojoExecutionException("Unable to merge shards into " + datastorePath, e);
+        }
+    }
+}
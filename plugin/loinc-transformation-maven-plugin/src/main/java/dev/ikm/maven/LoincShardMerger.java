@@ -0,0 +1,142 @@
+package dev.ikm.maven;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.ServiceKeys;
+import dev.ikm.tinkar.common.service.ServiceProperties;
+import dev.ikm.tinkar.entity.load.LoadEntitiesFromProtobufFile;
+import dev.ikm.tinkar.schema.TinkarMsg;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Combines the change sets of a sharded transformation ({@code shardCount} runs with their own {@code snapshotPath})
+ * into one datastore. Every component has a T5 UUID minted from its source code, so the shards are disjoint and the
+ * merge is a union: {@link #check()} reads all shard change sets and reports components that more than one shard
+ * wrote with different content, identical copies such as starter data loaded into every shard are fine.
+ * {@link #merge(File, String)} then loads every shard into the datastore.
+ */
+public class LoincShardMerger {
+    private static final Logger LOG = LoggerFactory.getLogger(LoincShardMerger.class.getSimpleName());
+
+    private final List<File> shardFiles;
+
+    public LoincShardMerger(List<File> shardFiles) {
+        this.shardFiles = List.copyOf(shardFiles);
+    }
+
+    /**
+     * @param components public ids seen in all shards
+     * @param duplicates components written by more than one shard with the same content
+     * @param conflicts  components written by more than one shard with different content, with the shard files
+     */
+    public record Check(long components, long duplicates, List<String> conflicts) {
+        public boolean hasConflicts() {
+            return !conflicts.isEmpty();
+        }
+    }
+
+    public Check check() throws IOException {
+        Map<ByteString, Long> contentHashes = new HashMap<>();
+        Map<ByteString, File> firstShard = new HashMap<>();
+        long duplicates = 0;
+        List<String> conflicts = new ArrayList<>();
+        for (File shardFile : shardFiles) {
+            long messages = 0;
+            try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(shardFile.toPath()))) {
+                ZipEntry entry;
+                while ((entry = zis.getNextEntry()) != null) {
+                    if (!entry.getName().endsWith(".pb")) {
+                        continue;
+                    }
+                    TinkarMsg message;
+                    while ((message = TinkarMsg.parseDelimitedFrom(zis)) != null) {
+                        messages++;
+                        Message chronology = chronology(message);
+                        if (chronology == null) {
+                            continue;
+                        }
+                        ByteString publicId = publicId(chronology);
+                        long contentHash = hash(chronology.toByteString());
+                        Long previous = contentHashes.putIfAbsent(publicId, contentHash);
+                        if (previous == null) {
+                            firstShard.put(publicId, shardFile);
+                        } else if (previous == contentHash) {
+                            duplicates++;
+                        } else {
+                            conflicts.add(describe(chronology) + " in " + firstShard.get(publicId).getName()
+                                    + " and " + shardFile.getName());
+                        }
+                    }
+                }
+            }
+            LOG.info("Read " + messages + " components from shard " + shardFile);
+        }
+        return new Check(contentHashes.size(), duplicates, conflicts);
+    }
+
+    /**
+     * Load all shard change sets into the given datastore, starting and stopping it.
+     */
+    public void merge(File datastore, String controllerName) throws Exception {
+        CachingService.clearAll();
+        ServiceProperties.set(ServiceKeys.DATA_STORE_ROOT, datastore);
+        PrimitiveData.selectControllerByName(controllerName);
+        PrimitiveData.start();
+        try {
+            for (File shardFile : shardFiles) {
+                LOG.info("Loading shard " + shardFile);
+                new LoadEntitiesFromProtobufFile(shardFile).call();
+            }
+        } finally {
+            PrimitiveData.stop();
+        }
+    }
+
+    /**
+     * The concept, semantic, pattern or stamp chronology a message carries.
+     */
+    private static Message chronology(TinkarMsg message) {
+        for (Object value : message.getAllFields().values()) {
+            if (value instanceof Message chronology) {
+                return chronology;
+            }
+        }
+        return null;
+    }
+
+    private static ByteString publicId(Message chronology) {
+        FieldDescriptor field = chronology.getDescriptorForType().findFieldByName("public_id");
+        return ((Message) chronology.getField(field)).toByteString();
+    }
+
+    private static String describe(Message chronology) {
+        FieldDescriptor field = chronology.getDescriptorForType().findFieldByName("public_id");
+        return chronology.getDescriptorForType().getName() + " "
+                + chronology.getField(field).toString().replace('\n', ' ').trim();
+    }
+
+    /**
+     * 64-bit FNV-1a of the serialized chronology.
+     */
+    private static long hash(ByteString bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < bytes.size(); i++) {
+            hash = (hash ^ (bytes.byteAt(i) & 0xff)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+}
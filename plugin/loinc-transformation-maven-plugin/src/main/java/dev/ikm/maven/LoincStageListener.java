@@ -0,0 +1,27 @@
+package dev.ikm.maven;
+
+/**
+ * Callback around each stage of a {@link LoincTransformer} run, registered through
+ * {@link LoincTransformerSettings#stageListener(LoincStageListener)}. Stages run one after another on the calling
+ * thread.
+ */
+public interface LoincStageListener {
+
+    String UNZIP = "unzip";
+    String PART_PARSE = "part-parse";
+    String COMPONENT_CACHE = "component-cache";
+    String COMPONENT_COMPOSE = "component-compose";
+    String PART_COMPOSE = "part-compose";
+    String LEFTOVER_COMPONENTS = "leftover-components";
+    String LOINC_COMPOSE = "loinc-compose";
+    String COMMIT = "commit";
+
+    LoincStageListener NONE = new LoincStageListener() {
+    };
+
+    default void stageStarted(String stage) {
+    }
+
+    default void stageFinished(String stage, long wallNanos) {
+    }
+}
@@ -0,0 +1,15 @@
+package dev.ikm.maven;
+
+/**
+ * A transformation run that cannot produce a trustworthy datastore and must not be committed.
+ */
+public class LoincTransformationException extends RuntimeException {
+
+    public LoincTransformationException(String message) {
+        super(message);
+    }
+
+    public LoincTransformationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
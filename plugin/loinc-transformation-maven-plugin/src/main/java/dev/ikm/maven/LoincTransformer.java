@@ -0,0 +1,1512 @@
+package dev.ikm.maven;
+
+import dev.ikm.tinkar.common.id.PublicIds;
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.ServiceKeys;
+import dev.ikm.tinkar.common.service.ServiceProperties;
+import dev.ikm.tinkar.common.util.uuid.UuidT5Generator;
+import dev.ikm.tinkar.composer.Composer;
+import dev.ikm.tinkar.composer.Session;
+import dev.ikm.tinkar.composer.assembler.ConceptAssembler;
+import dev.ikm.tinkar.composer.assembler.SemanticAssembler;
+import dev.ikm.tinkar.composer.template.AxiomSyntax;
+import dev.ikm.tinkar.composer.template.Definition;
+import dev.ikm.tinkar.composer.template.FullyQualifiedName;
+import dev.ikm.tinkar.composer.template.Identifier;
+import dev.ikm.tinkar.composer.template.StatedNavigation;
+import dev.ikm.tinkar.composer.template.Synonym;
+import dev.ikm.tinkar.composer.template.USDialect;
+import dev.ikm.tinkar.composer.template.StatedAxiom;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.export.ExportEntitiesToProtobufFile;
+
+import dev.ikm.tinkar.terms.EntityProxy;
+import dev.ikm.tinkar.terms.State;
+import dev.ikm.tinkar.terms.TinkarTerm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import static dev.ikm.maven.LoincUtility.removeQuotes;
+import static dev.ikm.maven.LoincUtility.splitCsvLine;
+import static dev.ikm.tinkar.terms.TinkarTerm.DESCRIPTION_NOT_CASE_SENSITIVE;
+import static dev.ikm.tinkar.terms.TinkarTerm.ENGLISH_LANGUAGE;
+import static dev.ikm.tinkar.terms.TinkarTerm.FULLY_QUALIFIED_NAME_DESCRIPTION_TYPE;
+import static dev.ikm.tinkar.terms.TinkarTerm.UNIVERSALLY_UNIQUE_IDENTIFIER;
+import static dev.ikm.tinkar.terms.TinkarTerm.USER;
+
+/**
+ * Transforms the LOINC release files into Tinkar concepts and semantics. {@link #run()} owns the whole run
+ * including the datastore lifecycle; {@link #transform()} composes into a datastore that is already started,
+ * as the single JVM pipeline does.
+ */
+public class LoincTransformer {
+    private static final Logger LOG = LoggerFactory.getLogger(LoincTransformer.class.getSimpleName());
+
+    private final LoincTransformerSettings settings;
+    private final UUID namespace;
+    private final File dataOutputPath;
+    private final int threadCount;
+
+    private File partCsv;
+
+    private File loincCsv;
+
+    private File componentCsv;
+
+    private ExecutorService executorService;
+    private final String loincAuthorStr = "Regenstrief Institute, Inc. Author";
+    // The author has always been minted before the namespace was injected, keep its identity stable
+    private final EntityProxy.Concept loincAuthor = LoincUtility.makeConceptProxy(null, loincAuthorStr);
+
+    private final Map<String,String> idToStatus = new ConcurrentHashMap<>();
+    private final Map<String,List<String>> parentCache = new HashMap<>();
+    private final Set<String> processedMultiParentCodes = new HashSet<>();
+    private final TransformationMetrics metrics = new TransformationMetrics();
+    private StageEvent stageEvent;
+    // Lock object for synchronizing access to the composer, shared by all stages so the heap governor can commit
+    private final Object composerLock = new Object();
+    private HeapBudgetGovernor heapGovernor;
+    private long releaseTime = -1;
+    private long stampTime;
+    private final ErrorAggregator errors;
+    private ChangeSetStreamWriter changeSetStream;
+    private ChangeEventSink changeEvents;
+    // Set for a dry run, receives the rows instead of the composer
+    private LoincDryRunValidator dryRun;
+    // Source code and state of the row the current thread composes, reported with its change events
+    private final ThreadLocal<RowContext> currentRow = new ThreadLocal<>();
+
+    private record RowContext(String code, State status) {
+    }
+
+    public LoincTransformer(LoincTransformerSettings settings) {
+        this.settings = settings;
+        this.namespace = settings.getNamespace();
+        this.dataOutputPath = settings.getDataOutputPath();
+        this.threadCount = settings.getThreadCount();
+        this.errors = new ErrorAggregator(dataOutputPath, settings.getFailThreshold(), metrics);
+    }
+
+    public TransformationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Unzip the release, start the datastore, transform and stop the datastore again.
+     */
+    public void run() throws IOException {
+        LOG.info("########## Loinc Transformer Starting...");
+        Recording recording = startFlightRecording();
+        try {
+            LoincUtility.clearCaches();
+            long start = startStage(LoincStageListener.UNZIP);
+            unzipRawData(settings.getInputZipPath());
+            finishStage(LoincStageListener.UNZIP, start);
+
+            if (settings.isDryRun()) {
+                dryRun();
+                return;
+            }
+
+            // Start by initializing the datastore
+            initializeDatastore(settings.getDatastorePath());
+            try {
+                transform();
+                if (settings.getSnapshotPath() != null) {
+                    exportSnapshot(settings.getSnapshotPath());
+                }
+            } finally {
+                PrimitiveData.stop();
+                LOG.info("########## Loinc Transformation Completed.");
+            }
+        } finally {
+            stopFlightRecording(recording);
+        }
+    }
+
+    /**
+     * Parse and resolve the release through the same stages as {@link #transform()}, handing each row to a
+     * {@link LoincDryRunValidator} instead of the composer. The datastore is never started.
+     */
+    private void dryRun() throws IOException {
+        LOG.info("########## Loinc Dry Run Starting...");
+        long startNanos = System.nanoTime();
+        dryRun = new LoincDryRunValidator(dataOutputPath);
+        this.executorService = Executors.newFixedThreadPool(threadCount);
+        heapGovernor = new HeapBudgetGovernor(0, () -> { }, metrics);
+        try {
+            processStages(null);
+        } finally {
+            executorService.shutdownNow();
+            errors.logSummary();
+            errors.close();
+            writeReport();
+            dryRun.writeReport(metrics.rowsIn(), errors.errorCount(), System.nanoTime() - startNanos);
+        }
+        if (!dryRun.isValid(errors)) {
+            throw new LoincTransformationException("Dry run found unresolved parts or malformed rows, see "
+                    + new File(dataOutputPath, LoincDryRunValidator.REPORT_FILE) + " and "
+                    + new File(dataOutputPath, ErrorAggregator.QUARANTINE_FILE));
+        }
+        LOG.info("########## Loinc Dry Run Completed.");
+    }
+
+    /**
+     * Start a flight recording for the duration of the run when a recording path is set.
+     */
+    private Recording startFlightRecording() throws IOException {
+        File recordingFile = settings.getJfrRecordingPath();
+        if (recordingFile == null) {
+            return null;
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings.getJfrConfiguration());
+        } catch (ParseException e) {
+            throw new IOException("Unable to read flight recorder configuration " + settings.getJfrConfiguration(), e);
+        }
+        recordingFile.getAbsoluteFile().getParentFile().mkdirs();
+        Recording recording = new Recording(configuration);
+        recording.setName("LOINC Transformation");
+        recording.setToDisk(true);
+        recording.setDestination(recordingFile.toPath());
+        recording.start();
+        LOG.info("Flight recording started, writing to " + recordingFile);
+        return recording;
+    }
+
+    private void stopFlightRecording(Recording recording) {
+        if (recording == null) {
+            return;
+        }
+        recording.stop();
+        recording.close();
+        LOG.info("Flight recording written to " + settings.getJfrRecordingPath());
+    }
+
+    private void exportSnapshot(File snapshotFile) throws IOException {
+        LOG.info("Exporting datastore to " + snapshotFile);
+        snapshotFile.getAbsoluteFile().getParentFile().mkdirs();
+        try {
+            if (settings.isDeterministic()) {
+                new SortedChangeSetWriter(snapshotFile, stampTime).write();
+            } else {
+                new ExportEntitiesToProtobufFile(snapshotFile).call();
+            }
+        } catch (Exception e) {
+            throw new IOException("Unable to export datastore to " + snapshotFile, e);
+        }
+    }
+
+    private void initializeDatastore(File datastore){
+        CachingService.clearAll();
+        ServiceProperties.set(ServiceKeys.DATA_STORE_ROOT, datastore);
+        PrimitiveData.selectControllerByName(settings.getControllerName());
+        PrimitiveData.start();
+    }
+
+    /**
+     * Compose all LOINC content from the unzipped release and commit it to the running datastore.
+     */
+    public void transform() {
+        if (settings.isDeterministic()) {
+            stampTime = settings.getStampTime() != null ? settings.getStampTime() : releaseTime;
+            if (stampTime < 0) {
+                throw new LoincTransformationException("A deterministic run needs a stamp time, set stampTime");
+            }
+            LOG.info("Deterministic run, composing in source order with stamp time " + Instant.ofEpochMilli(stampTime));
+        }
+        if (settings.getShardCount() > 1) {
+            if (settings.getShardIndex() < 0 || settings.getShardIndex() >= settings.getShardCount()) {
+                throw new LoincTransformationException("shardIndex " + settings.getShardIndex()
+                        + " is outside 0.." + (settings.getShardCount() - 1));
+            }
+            LOG.info("Composing shard " + settings.getShardIndex() + " of " + settings.getShardCount());
+        }
+        this.executorService = Executors.newFixedThreadPool(threadCount);
+        EntityService.get().beginLoadPhase();
+        ProgressTracker progress = null;
+        if (settings.getProgressIntervalSeconds() > 0) {
+            progress = new ProgressTracker(metrics, settings.getProgressIntervalSeconds());
+            progress.start();
+        }
+
+        boolean streamed = false;
+        try {
+            if (settings.getStreamExportPath() != null) {
+                changeSetStream = new ChangeSetStreamWriter(settings.getStreamExportPath(),
+                        settings.isDeterministic() ? stampTime : -1);
+            }
+            if (settings.getChangeEventPath() != null) {
+                changeEvents = new ChangeEventSink(settings.getChangeEventPath(), settings.isChangeEventsByType());
+            }
+            Composer composer = new Composer("Loinc Transformer Composer");
+            heapGovernor = new HeapBudgetGovernor(settings.getHeapBudgetBytes(), composer::commitAllSessions, metrics);
+
+            if (settings.ownsSharedContent()) {
+                createLoincAuthor(composer);
+            }
+            // Process part.csv first, then process loinc.csv
+            // This avoids potential concurrent modification issues with the composer
+            processStages(composer);
+            LOG.info("Creating Concepts for Sets...");
+            // Commit all sessions after both processes are complete
+            LOG.info("Committing all sessions...");
+            long start = startStage(LoincStageListener.COMMIT);
+            CommitEvent commitEvent = new CommitEvent();
+            commitEvent.begin();
+            composer.commitAllSessions();
+            commitEvent.entitiesComposed = metrics.entitiesComposed();
+            commitEvent.semanticsComposed = metrics.semanticsComposed();
+            commitEvent.commit();
+            if (changeSetStream != null) {
+                changeSetStream.flush();
+            }
+            finishStage(LoincStageListener.COMMIT, start);
+            LOG.info("Sessions committed successfully");
+            if (changeSetStream != null) {
+                changeSetStream.close();
+                LOG.info("Change set written to " + settings.getStreamExportPath());
+            }
+            streamed = true;
+        } catch (IOException e) {
+            throw new LoincTransformationException("Unable to write change set " + settings.getStreamExportPath(), e);
+        } finally {
+            if (changeSetStream != null && !streamed) {
+                changeSetStream.abort();
+            }
+            if (changeEvents != null) {
+                try {
+                    changeEvents.close(streamed);
+                } catch (IOException e) {
+                    LOG.warn("Unable to write change events to " + settings.getChangeEventPath(), e);
+                }
+            }
+            if (progress != null) {
+                progress.close();
+            }
+            // Stops whatever a failed stage left running
+            executorService.shutdownNow();
+            EntityService.get().endLoadPhase();
+            errors.logSummary();
+            try {
+                errors.close();
+            } catch (IOException e) {
+                LOG.warn("Unable to close quarantine file", e);
+            }
+            writeReport();
+        }
+    }
+
+    /**
+     * Parse the release files and hand their rows to the composer, or to the dry run when one is set, in which case
+     * composer is null.
+     */
+    private void processStages(Composer composer) {
+        try {
+            long start = startStage(LoincStageListener.PART_PARSE);
+            List<PartData> filteredParts = processPartCsvAsync();
+            finishStage(LoincStageListener.PART_PARSE, start);
+
+            start = startStage(LoincStageListener.COMPONENT_CACHE);
+            processComponentParentCache();
+            finishStage(LoincStageListener.COMPONENT_CACHE, start);
+
+            start = startStage(LoincStageListener.COMPONENT_COMPOSE);
+            processComponentRowsAsync(filteredParts, composer);
+            finishStage(LoincStageListener.COMPONENT_COMPOSE, start);
+
+            start = startStage(LoincStageListener.PART_COMPOSE);
+            createPartConceptsAsync(filteredParts, composer);
+            finishStage(LoincStageListener.PART_COMPOSE, start);
+
+            start = startStage(LoincStageListener.LEFTOVER_COMPONENTS);
+            processLeftOverComponents(composer);
+            finishStage(LoincStageListener.LEFTOVER_COMPONENTS, start);
+
+            start = startStage(LoincStageListener.LOINC_COMPOSE);
+            processLoincRowsAsync(composer);
+            finishStage(LoincStageListener.LOINC_COMPOSE, start);
+        } catch (LoincTransformationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LoincTransformationException("Error during data processing", e);
+        }
+        errors.checkThreshold();
+    }
+
+    private void conceptComposed(EntityProxy.Concept concept, String text) {
+        if (changeSetStream != null) {
+            changeSetStream.composed(concept.nid());
+        }
+        if (changeEvents != null) {
+            RowContext row = currentRow.get();
+            changeEvents.concept(concept, row == null ? null : row.code(), row == null ? State.ACTIVE : row.status(), text);
+        }
+    }
+
+    private void semanticComposed(ComposedType type, EntityProxy.Semantic semantic, EntityProxy.Pattern pattern,
+                                  EntityProxy.Concept referencedComponent, String text) {
+        if (changeSetStream != null) {
+            changeSetStream.composed(semantic.nid());
+        }
+        if (changeEvents != null) {
+            RowContext row = currentRow.get();
+            changeEvents.semantic(type, semantic, pattern, referencedComponent, row == null ? null : row.code(),
+                    row == null ? State.ACTIVE : row.status(), text);
+        }
+    }
+
+    private void writeReport() {
+        File reportFile = new File(dataOutputPath, TransformationMetrics.REPORT_FILE);
+        try {
+            metrics.writeReport(reportFile, settings, errors);
+            LOG.info("Run report written to " + reportFile);
+        } catch (IOException e) {
+            LOG.warn("Unable to write run report " + reportFile, e);
+        }
+    }
+
+    private long startStage(String stage) {
+        stageEvent = new StageEvent(stage);
+        stageEvent.begin();
+        metrics.stageStarted(stage);
+        settings.getStageListener().stageStarted(stage);
+        return System.nanoTime();
+    }
+
+    private void finishStage(String stage, long startNanos) {
+        stageEvent.commit();
+        metrics.stageFinished(stage);
+        settings.getStageListener().stageFinished(stage, System.nanoTime() - startNanos);
+        errors.checkThreshold();
+    }
+
+    /**
+     * Line number in the release file of a data row, counting the header as line 1.
+     */
+    private static String lineKey(int rowIndex) {
+        return "line " + (rowIndex + 2);
+    }
+
+    /**
+     * Open a composer session, stamped with the fixed stamp time of a deterministic run.
+     */
+    private Session openSession(Composer composer, State state, EntityProxy.Concept author, EntityProxy.Concept module,
+                                EntityProxy.Concept path) {
+        if (settings.isDeterministic()) {
+            return composer.open(state, stampTime, author, module, path);
+        }
+        return composer.open(state, author, module, path);
+    }
+
+    private void createLoincAuthor(Composer composer) {
+        currentRow.set(null);
+        createConcept(composer, loincAuthorStr, "LOINC Author",
+                "Regenstrief Institute, Inc. Author - The entity responsible for publishing LOINC",
+                loincAuthor, USER);
+    }
+
+    private void createConcept(Composer composer, String fullyQualifiedName, String synonym, String definition,
+                               EntityProxy.Concept identifier, EntityProxy.Concept parent, EntityProxy.Concept... children) {
+
+        Session session = openSession(composer, State.ACTIVE, loincAuthor, TinkarTerm.PRIMORDIAL_MODULE, TinkarTerm.PRIMORDIAL_PATH);
+
+        // TODO: make this deduplication workaround more robust (also in #createIdentifierSemantic(), snomed-ct-data, and snomed-ct-loinc-data)
+        UUID uuidForLoincUuidSemantic = UuidT5Generator.singleSemanticUuid(TinkarTerm.IDENTIFIER_PATTERN, identifier);
+        EntityProxy.Semantic loincUuidSemantic = EntityProxy.Semantic.make(PublicIds.of(uuidForLoincUuidSemantic));
+
+        session.compose((ConceptAssembler conceptAssembler) -> {
+                    conceptAssembler.concept(identifier)
+                            .attach((FullyQualifiedName fqn) -> fqn
+                                    .language(ENGLISH_LANGUAGE)
+                                    .text(fullyQualifiedName)
+                                    .caseSignificance(DESCRIPTION_NOT_CASE_SENSITIVE)
+                                    .attach(usDialect()))
+                            .attach((Identifier id) -> id
+                                    .semantic(loincUuidSemantic)
+                                    .source(UNIVERSALLY_UNIQUE_IDENTIFIER)
+                                    .identifier(identifier.asUuidArray()[0].toString()))
+                            .attach(new StatedNavigation()
+                                    .parents(parent)
+                                    .children(children));
+                        conceptAssembler.attach(new StatedAxiom()
+                                .isA(parent));
+                    if (synonym != null) {
+                        conceptAssembler.attach((Synonym syn) -> syn
+                                .language(ENGLISH_LANGUAGE)
+                                .text(synonym)
+                                .caseSignificance(DESCRIPTION_NOT_CASE_SENSITIVE)
+                                .attach(usDialect()));
+                    }
+                    if (definition != null) {
+                        conceptAssembler.attach((Definition defn) -> defn
+                                .language(ENGLISH_LANGUAGE)
+                                .text(definition)
+                                .caseSignificance(DESCRIPTION_NOT_CASE_SENSITIVE)
+                                .attach(usDialect()));
+                    }
+                }
+        );
+        metrics.composed(ComposedType.CONCEPT);
+        metrics.composed(ComposedType.DESCRIPTION);
+        metrics.composed(ComposedType.IDENTIFIER);
+        metrics.composed(ComposedType.STATED_NAVIGATION);
+        metrics.composed(ComposedType.STATED_AXIOM);
+        conceptComposed(identifier, fullyQualifiedName);
+        semanticComposed(ComposedType.IDENTIFIER, loincUuidSemantic, TinkarTerm.IDENTIFIER_PATTERN, identifier,
+                identifier.asUuidArray()[0].toString());
+        if (synonym != null) {
+            metrics.composed(ComposedType.DESCRIPTION);
+        }
+        if (definition != null) {
+            metrics.composed(ComposedType.DESCRIPTION);
+        }
+    }
+
+    /**
+     * Unzip the LOINC release and locate Part.csv, Loinc.csv and ComponentHierarchyBySystem.csv.
+     */
+    public void unzipRawData(String zipFilePath) throws IOException {
+        File outputDirectory = dataOutputPath;
+        try(ZipInputStream zis = new ZipInputStream(new FileInputStream(zipFilePath))) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zis.getNextEntry()) != null) {
+                File newFile = new File(outputDirectory, zipEntry.getName());
+                if (newFile.getName().equals("Loinc.csv")) {
+                    releaseTime = zipEntry.getTime();
+                }
+                if(zipEntry.isDirectory()) {
+                    newFile.mkdirs();
+                } else {
+                    new File(newFile.getParent()).mkdirs();
+                    try(FileOutputStream fos = new FileOutputStream(newFile)) {
+                        byte[] buffer = new byte[1024];
+                        int len;
+                        while ((len = zis.read(buffer)) > 0) {
+                            fos.write(buffer,0,len);
+                        }
+                    }
+                }
+                zis.closeEntry();
+            }
+        }
+        searchDataFolder(outputDirectory);
+    }
+
+    private File searchDataFolder(File dir) {
+        if (dir.isDirectory()){
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (file.getName().equals("Part.csv")) {
+                        partCsv = file;
+                    } else if (file.getName().equals("Loinc.csv")) {
+                        loincCsv = file;
+                    } else if (file.getName().equals("ComponentHierarchyBySystem.csv")) {
+                        componentCsv = file;
+                    }
+                    File found = searchDataFolder(file);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    protected void processComponentParentCache() throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(componentCsv))) {
+
+            String line;
+            //skip first two lines of Component file:
+            br.readLine();
+            br.readLine();
+            while ((line = br.readLine()) != null) {
+                String[] columns = (line.split("\",\""));
+
+                String id = columns[3].replace("\"", ""); //Removes quotation marks (") from first column
+                String parentId = columns[2].replace("\"", ""); //Removes quotation marks (") from last column
+
+                List<String> parents = parentCache.get(id);
+                if (parents == null) {
+                    parents = new ArrayList<String>();
+                }
+                parents.add(parentId);
+                parentCache.put(id, parents);
+            }
+        }
+    }
+
+    /**
+     * Process part.csv by filtering for specific part types
+     * Returns a list of filtered PartData objects
+     */
+    private List<PartData> processPartCsvAsync() {
+        LOG.info("Starting part.csv processing");
+
+        List<PartData> filteredPartData;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(partCsv))) {
+            String header = reader.readLine(); // Skip header
+
+            // Read all lines and convert to a list for parallel processing
+            List<String> lines = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+
+            metrics.rowsIn(lines.size());
+
+            // Process lines in parallel, keeping the filtered parts in source order
+            filteredPartData = IntStream.range(0, lines.size()).parallel().mapToObj(i -> {
+                String csvLine = lines.get(i);
+                String[] columns = splitCsvLine(csvLine);
+                if (columns.length < 5) {
+                    errors.rowFailed("Part.csv", lineKey(i), "insufficient columns", csvLine, null);
+                    return null;
+                }
+
+                String partNumber = removeQuotes(columns[0]); // A
+                String partTypeName = removeQuotes(columns[1]); // B
+                String partName = removeQuotes(columns[2]); // C
+                String partDisplayName = removeQuotes(columns[3]); // D
+                String status = removeQuotes(columns[4]); // E
+
+                // Only process rows with the target part types
+                if (TARGET_PART_TYPES.contains(partTypeName)) {
+                    PartData partData = new PartData(partNumber, partTypeName, partName, partDisplayName, status);
+                    idToStatus.put(partNumber, status);
+                    metrics.rowOut();
+                    return partData;
+                }
+                metrics.rowSkipped();
+                return null;
+            }).filter(Objects::nonNull).toList();
+        } catch (IOException e) {
+            throw new LoincTransformationException("Unable to read " + partCsv, e);
+        }
+
+        LOG.info("Filtered " + filteredPartData.size() + " part entries with target part types");
+        return filteredPartData;
+    }
+
+    // List of specific part types to filter for
+    private static final Set<String> TARGET_PART_TYPES = Set.of(
+            "COMPONENT",
+            "PROPERTY",
+            "TIME",
+            "SYSTEM",
+            "SCALE",
+            "METHOD",
+            "CLASS"
+    );
+
+    /**
+     * Create concepts for the filtered part data
+     */
+    private void createPartConceptsAsync(List<PartData> filteredPartData, Composer composer) {
+
+        // Process part data in batches to reduce contention
+        int batchSize = 10;
+        List<List<PartData>> batches = new ArrayList<>();
+
+        for (int i = 0; i < filteredPartData.size(); i += batchSize) {
+            int end = Math.min(i + batchSize, filteredPartData.size());
+            batches.add(new ArrayList<>(filteredPartData.subList(i, end)));
+        }
+
+        LOG.info("Split part data into " + batches.size() + " batches for processing");
+        metrics.rowsIn(filteredPartData.size());
+
+        // Process each batch in a separate task, the first fatal error cancels the others
+        OrderedTurns turns = new OrderedTurns(settings.isDeterministic());
+        try (StageScope scope = new StageScope(LoincStageListener.PART_COMPOSE, executorService)) {
+            for (int i = 0; i < batches.size(); i++) {
+                List<PartData> batch = batches.get(i);
+                int chunk = i;
+                int startIndex = i * batchSize;
+                scope.fork(() -> {
+                    ChunkCompositionEvent chunkEvent = new ChunkCompositionEvent(LoincStageListener.PART_COMPOSE,
+                            startIndex, startIndex + batch.size());
+                    chunkEvent.begin();
+                    try {
+                        if (!turns.await(chunk, scope::isFailed)) {
+                            return;
+                        }
+                        for (PartData partData : batch) {
+                            if (scope.isFailed()) {
+                                return;
+                            }
+                            if (!settings.ownsCode(partData.getPartNumber())) {
+                                // Composed by another shard, but the Loinc.csv axioms of this shard resolve it
+                                LoincUtility.addPartToCache(partData.getPartName().toLowerCase(),
+                                        partData.getPartTypeName(), partData.getPartNumber());
+                                metrics.rowSkipped();
+                                continue;
+                            }
+                            // Synchronize access to the composer object
+                            ComposerLockWaitEvent lockWait = ComposerLockWaitEvent.waiting(LoincStageListener.PART_COMPOSE);
+                            boolean overBudget;
+                            synchronized (composerLock) {
+                                chunkEvent.lockWait += lockWait.acquired();
+                                try {
+                                    if (createLoincPartConcept(partData, composer)) {
+                                        chunkEvent.rowsComposed++;
+                                    } else {
+                                        chunkEvent.rowsFailed++;
+                                    }
+                                } catch (Exception e) {
+                                    errors.rowFailed("Part.csv", partData.getPartNumber(), "unexpected error", null, e);
+                                    chunkEvent.rowsFailed++;
+                                }
+                                overBudget = heapGovernor.checkpoint();
+                            }
+                            if (overBudget) {
+                                heapGovernor.throttle();
+                            }
+                            errors.checkThreshold();
+                        }
+                    } finally {
+                        turns.done(chunk);
+                        chunkEvent.commit();
+                    }
+                });
+            }
+
+            // Wait for all part concept creation tasks to complete
+            scope.join();
+            LOG.info("Part concept creation completed");
+        }
+    }
+
+    /**
+     * Process LOINC rows and create semantics
+     */
+    private void processLoincRowsAsync(Composer composer) {
+        LOG.info("Starting LOINC.csv processing");
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(loincCsv))) {
+            String header = reader.readLine(); // skip header
+
+            // Read all lines from LOINC.csv
+            List<String> lines = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+
+            LOG.info("Read " + lines.size() + " LOINC rows for processing");
+            metrics.rowsIn(lines.size());
+
+            // Process lines in chunks for better memory management, the first fatal error cancels the other chunks
+            final int CHUNK_SIZE = 100;
+            OrderedTurns turns = new OrderedTurns(settings.isDeterministic());
+            try (StageScope scope = new StageScope(LoincStageListener.LOINC_COMPOSE, executorService)) {
+                for (int i = 0; i < lines.size(); i += CHUNK_SIZE) {
+                    final int startIndex = i;
+                    final int endIndex = Math.min(i + CHUNK_SIZE, lines.size());
+                    final int chunk = i / CHUNK_SIZE;
+
+                    scope.fork(() -> {
+                        ChunkCompositionEvent chunkEvent = new ChunkCompositionEvent(LoincStageListener.LOINC_COMPOSE,
+                                startIndex, endIndex);
+                        chunkEvent.begin();
+                        try {
+                            // Parse the whole chunk in parallel, then wait for its turn when composing in source order
+                            String[][] rows = new String[endIndex - startIndex][];
+                            for (int j = startIndex; j < endIndex; j++) {
+                                rows[j - startIndex] = splitCsvLine(lines.get(j));
+                            }
+                            if (!turns.await(chunk, scope::isFailed)) {
+                                return;
+                            }
+                            // Process all rows in this chunk sequentially but with synchronized composer access
+                            for (int j = startIndex; j < endIndex && !scope.isFailed(); j++) {
+                                final String csvLine = lines.get(j);
+
+                                String[] columns = rows[j - startIndex];
+                                if (columns.length < 40) {
+                                    errors.rowFailed("Loinc.csv", lineKey(j), "insufficient columns", csvLine, null);
+                                    chunkEvent.rowsFailed++;
+                                    continue;
+                                }
+                                if (!settings.ownsCode(removeQuotes(columns[0]))) {
+                                    metrics.rowSkipped();
+                                    continue;
+                                }
+
+                                // Synchronize access to the composer object
+                                ComposerLockWaitEvent lockWait = ComposerLockWaitEvent.waiting(LoincStageListener.LOINC_COMPOSE);
+                                boolean overBudget;
+                                synchronized (composerLock) {
+                                    chunkEvent.lockWait += lockWait.acquired();
+                                    try {
+                                        if (createLoincRowConcept(composer, columns)) {
+                                            chunkEvent.rowsComposed++;
+                                        } else {
+                                            chunkEvent.rowsFailed++;
+                                        }
+                                    } catch (Exception e) {
+                                        errors.rowFailed("Loinc.csv", lineKey(j), "unexpected error", csvLine, e);
+                                        chunkEvent.rowsFailed++;
+                                    }
+                                    overBudget = heapGovernor.checkpoint();
+                                }
+                                if (overBudget) {
+                                    heapGovernor.throttle();
+                                }
+                                errors.checkThreshold();
+                            }
+                        } finally {
+                            turns.done(chunk);
+                            chunkEvent.commit();
+                        }
+                    });
+                }
+
+                // Wait for all chunk processing to complete
+                scope.join();
+                LOG.info("LOINC processing completed");
+            }
+        } catch (IOException e) {
+            throw new LoincTransformationException("Unable to read " + loincCsv, e);
+        }
+    }
+
+    /**
+     * Process Component rows and create semantics
+     */
+    private void processComponentRowsAsync(List<PartData> parts, Composer composer) throws Exception {
+        LOG.info("Starting ComponentHierarchyBySystem.csv processing");
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(componentCsv))) {
+            reader.readLine(); // skip header
+
+            // handle first line of data as addition to existing starter data Component
+            String componentLine = reader.readLine();
+            String[] cols = splitCsvLine(componentLine);
+            // This should exist already from LoincStarterData.
+            EntityProxy.Concept component = LoincUtility.makeConceptProxy(namespace, "Component");
+            // Add new UUID to existing Component.
+            EntityProxy.Concept newComponent = EntityProxy.Concept.make("Component", component.asUuidArray()[0], UuidT5Generator.get(namespace, removeQuotes(cols[3])));
+            if (dryRun == null && settings.ownsSharedContent()) {
+                Session session = openSession(composer, State.ACTIVE, loincAuthor, TinkarTerm.PRIMORDIAL_MODULE, TinkarTerm.PRIMORDIAL_PATH);
+                session.compose((ConceptAssembler conceptAssembler) -> conceptAssembler.concept(newComponent));
+                metrics.composed(ComposedType.CONCEPT);
+                currentRow.set(new RowContext(removeQuotes(cols[3]), State.ACTIVE));
+                conceptComposed(newComponent, "Component");
+            }
+
+            // Read all lines from ComponentHierarchyBySystem.csv
+            List<String> lines = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+
+            LOG.info("Read " + lines.size() + " ComponentHierarchyBySystem rows for processing");
+            metrics.rowsIn(lines.size());
+
+            // Process lines in chunks for better memory management, the first fatal error cancels the other chunks
+            final int CHUNK_SIZE = 100;
+            OrderedTurns turns = new OrderedTurns(settings.isDeterministic());
+            try (StageScope scope = new StageScope(LoincStageListener.COMPONENT_COMPOSE, executorService)) {
+                for (int i = 0; i < lines.size(); i += CHUNK_SIZE) {
+                    final int startIndex = i;
+                    final int endIndex = Math.min(i + CHUNK_SIZE, lines.size());
+                    final int chunk = i / CHUNK_SIZE;
+
+                    scope.fork(() -> {
+                        ChunkCompositionEvent chunkEvent = new ChunkCompositionEvent(LoincStageListener.COMPONENT_COMPOSE,
+                                startIndex, endIndex);
+                        chunkEvent.begin();
+                        try {
+                            // Parse the whole chunk in parallel, then wait for its turn when composing in source order
+                            String[][] rows = new String[endIndex - startIndex][];
+                            for (int j = startIndex; j < endIndex; j++) {
+                                rows[j - startIndex] = splitCsvLine(lines.get(j));
+                            }
+                            if (!turns.await(chunk, scope::isFailed)) {
+                                return;
+                            }
+                            // Process all rows in this chunk sequentially but with synchronized composer access
+                            for (int j = startIndex; j < endIndex && !scope.isFailed(); j++) {
+                                final String csvLine = lines.get(j);
+
+                                String[] columns = rows[j - startIndex];
+                                if (columns.length < 5) {
+                                    errors.rowFailed("ComponentHierarchyBySystem.csv", lineKey(j), "insufficient columns",
+                                            csvLine, null);
+                                    chunkEvent.rowsFailed++;
+                                    continue;
+                                }
+
+                                // Synchronize access to the composer object
+                                ComposerLockWaitEvent lockWait = ComposerLockWaitEvent.waiting(LoincStageListener.COMPONENT_COMPOSE);
+                                boolean overBudget;
+                                synchronized (composerLock) {
+                                    chunkEvent.lockWait += lockWait.acquired();
+                                    try {
+                                        if (createComponentRowConcept(parts, composer, columns)) {
+                                            chunkEvent.rowsComposed++;
+                                        }
+                                    } catch (Exception e) {
+                                        errors.rowFailed("ComponentHierarchyBySystem.csv", lineKey(j), "compose failed",
+                                                csvLine, e);
+                                        chunkEvent.rowsFailed++;
+                                        throw e;
+                                    }
+                                    overBudget = heapGovernor.checkpoint();
+                                }
+                                if (overBudget) {
+                                    heapGovernor.throttle();
+                                }
+                                errors.checkThreshold();
+                            }
+                        } finally {
+                            turns.done(chunk);
+                            chunkEvent.commit();
+                        }
+                    });
+                }
+
+                // Wait for all chunk processing to complete
+                scope.join();
+                LOG.info("ComponentHierarchyBySystem processing completed");
+            }
+        } catch (IOException e) {
+            throw new LoincTransformationException("Unable to read " + componentCsv, e);
+        }
+    }
+
+    /**
+     * Creates a new LOINC concept based on the provided part data.
+     */
+    private boolean createComponentRowConcept(List<PartData> parts, Composer composer, String[] columns) {
+        String code = removeQuotes(columns[3]);
+        String codeText = removeQuotes(columns[4]);
+        String immediateParent = removeQuotes(columns[2]);
+
+        // skip if not prefixed by LP, or composed by another shard together with the part of the same code
+        if (!code.startsWith("LP") || processedMultiParentCodes.contains(code) || !settings.ownsCode(code)) {
+            metrics.rowSkipped();
+            return false;
+        }
+        // This concept will be created later on when we parse the Part file.
+        State state = State.ACTIVE;
+        currentRow.set(new RowContext(code, state));
+        EntityProxy.Concept rowConcept = EntityProxy.Concept.make(PublicIds.of(UuidT5Generator.get(namespace, code)));
+        // We can have multiple axiomSemantics in the case where we have a Part with multiple parents
+        // This will also get created during the parsing of Part later on
+        List<String> parents = parentCache.get(code);
+        List<EntityProxy.Concept> parentConcepts = new ArrayList<>();
+        if (!parents.isEmpty()) {
+            parents.forEach(parent -> {
+                parentConcepts.add(EntityProxy.Concept.make(PublicIds.of(UuidT5Generator.get(namespace, parent))));
+            });
+            processedMultiParentCodes.add(code);
+        } else {
+            parentConcepts.add(EntityProxy.Concept.make(PublicIds.of(UuidT5Generator.get(namespace, immediateParent))));
+        }
+        EntityProxy.Concept[] parentArr = new EntityProxy.Concept[parentConcepts.size()];
+        parentArr = parentConcepts.toArray(parentArr);
+        // This will not be created later on. This is a new concept only existing in the Component file
+        String obsEnt = "Observable Entity of Component " + codeText;
+        EntityProxy.Concept rowConcept2 = EntityProxy.Concept.make(PublicIds.of(UuidT5Generator.get(namespace, obsEnt)));
+        String owlExpressionWithPublicIds = LoincUtility.buildComponentOwlExpression(namespace, rowConcept2, rowConcept);
+        if (dryRun != null) {
+            LoincUtility.addComponentPartToCache(code, codeText);
+            dryRun.owlExpressionBuilt();
+            metrics.rowOut();
+            return true;
+        }
+
+        Session session = openSession(composer, state, loincAuthor, TinkarTerm.PRIMORDIAL_MODULE, TinkarTerm.PRIMORDIAL_PATH);
+        Session activeSession = openSession(composer, State.ACTIVE, loincAuthor, TinkarTerm.PRIMORDIAL_MODULE, TinkarTerm.PRIMORDIAL_PATH);
+        // Create the Axiom Semantic
+        EntityProxy.Semantic axiomSemantic = EntityProxy.Semantic.make(PublicIds.of(UuidT5Generator.get(namespace, rowConcept.publicId().asUuidArray()[0] + code + "AXIOM")));
+        Entity entity = EntityService.get().getEntityFast(axiomSemantic.asUuidArray()[0]);
+        int count = 2;
+        while (entity!=null) {
+            axiomSemantic = EntityProxy.Semantic.make(PublicIds.of(UuidT5Generator.get(namespace, rowConcept.publicId().asUuidArray()[0] + code + "AXIOM" + count)));
+            entity = EntityService.get().getEntityFast(axiomSemantic.asUuidArray()[0]);
+            count++;
+        }
+        try {
+            activeSession.compose(new StatedAxiom()
+                .semantic(axiomSemantic)
+                .isA(parentArr),
+                rowConcept);
+            metrics.composed(ComposedType.STATED_AXIOM);
+            semanticComposed(ComposedType.STATED_AXIOM, axiomSemantic, TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN,
+                    rowConcept, null);
+        } catch (Exception e) {
+            errors.composeFailed(ComposedType.STATED_AXIOM, rowConcept, e);
+            throw e;
+        }
+
+        LoincUtility.addComponentPartToCache(code, codeText);
+        session.compose((ConceptAssembler concept) -> concept
+                .concept(rowConcept2)
+                .attach((FullyQualifiedName fqn) -> fqn
+                        .language(TinkarTerm.ENGLISH_LANGUAGE)
+                        .text(obsEnt)
+                        .caseSignificance(TinkarTerm.DESCRIPTION_NOT_CASE_SENSITIVE)
+                )
+        );
+        metrics.composed(ComposedType.CONCEPT);
+        metrics.composed(ComposedType.DESCRIPTION);
+        conceptComposed(rowConcept2, obsEnt);
+
+        EntityProxy.Semantic axiomSemantic2 = EntityProxy.Semantic.make(PublicIds.of(UuidT5Generator.get(namespace, rowConcept2.publicId().asUuidArray()[0] + codeText + "AXIOM")));
+        try {
+            activeSession.compose(new AxiomSyntax()
+                            .semantic(axiomSemantic2)
+                            .text(owlExpressionWithPublicIds),
+                    rowConcept2);
+            metrics.composed(ComposedType.OWL_AXIOM);
+            semanticComposed(ComposedType.OWL_AXIOM, axiomSemantic2, TinkarTerm.OWL_AXIOM_SYNTAX_PATTERN, rowConcept2,
+                    owlExpressionWithPublicIds);
+        } catch (Exception e) {
+            errors.composeFailed(ComposedType.OWL_AXIOM, rowConcept2, e);
+        }
+        metrics.rowOut();
+        return true;
+    }
+
+    /**
+     * Process the concepts in the Component cache that were not found in the Part file.
+     * All concepts should be considered ACTIVE
+     * @param composer
+     */
+    private void processLeftOverComponents(Composer composer) {
+        // We need to be consistent with our states across Component, Part, and Loinc
+        Session session = dryRun == null
+                ? openSession(composer, State.ACTIVE, loincAuthor, TinkarTerm.PRIMORDIAL_MODULE, TinkarTerm.PRIMORDIAL_PATH)
+                : null;
+        BiConsumer<String,String> consumer = (code, codeText) -> {
+            metrics.rowsIn(1);
+            currentRow.set(new RowContext(code, State.ACTIVE));
+            EntityProxy.Concept concept = EntityProxy.Concept.make(PublicIds.of(UuidT5Generator.get(namespace, code)));
+            if (session == null) {
+                metrics.rowOut();
+                return;
+            }
+                session.compose((ConceptAssembler assembler) -> assembler
+                        .concept(concept)
+                        .attach((FullyQualifiedName fqn) -> fqn
+                                .language(TinkarTerm.ENGLISH_LANGUAGE)
+                                .text(codeText)
+                                .caseSignificance(TinkarTerm.DESCRIPTION_NOT_CASE_SENSITIVE)
+                        )
+                );
+            metrics.composed(ComposedType.CONCEPT);
+            metrics.composed(ComposedType.DESCRIPTION);
+            conceptComposed(concept, codeText);
+            createIdentifierSemantic(session, concept, code);
+            metrics.rowOut();
+        };
+        if (settings.isDeterministic()) {
+            LoincUtility.forEachComponentInCodeOrder(consumer);
+        } else {
+            LoincUtility.forEachComponent(consumer);
+        }
+    }
+
+    /**
+     * Creates a new LOINC concept based on the provided part data.
+     */
+    private boolean createLoincPartConcept(PartData partData, Composer composer) {
+        State state = State.ACTIVE;
+
+        EntityProxy.Concept author = loincAuthor; // Regenstrief Institute, Inc. Author
+        EntityProxy.Concept module = LoincUtility.getModuleConcept(namespace); // Loinc Module??
+        EntityProxy.Concept path = LoincUtility.getPathConcept(); // Master Path
+
+        UUID conceptUuid = UuidT5Generator.get(namespace, partData.getPartNumber());
+
+        LoincUtility.addPartToCache(partData.getPartName().toLowerCase(), partData.getPartTypeName(), partData.getPartNumber());
+        if (dryRun != null) {
+            // Left for the leftover components stage exactly as when composing
+            LoincUtility.removeComponentPartFromCache(partData.getPartNumber());
+            metrics.rowOut();
+            return true;
+        }
+
+        EntityProxy.Concept loincNumConcept = LoincUtility.getLoincNumConcept(namespace);
+
+        Session session = openSession(composer, state, author, module, path);
+        currentRow.set(new RowContext(partData.getPartNumber(), state));
+
+        try {
+            EntityProxy.Concept concept = EntityProxy.Concept.make(PublicIds.of(conceptUuid));
+            session.compose((ConceptAssembler assembler) -> {
+                assembler.concept(concept);
+            });
+            metrics.composed(ComposedType.CONCEPT);
+            conceptComposed(concept, partData.getPartDisplayName());
+
+            // Create the two Description Semantics
+            createDescriptionSemantic(session, concept, partData.getPartDisplayName(), TinkarTerm.FULLY_QUALIFIED_NAME_DESCRIPTION_TYPE);
+            createDescriptionSemantic(session, concept, partData.getPartName(), TinkarTerm.REGULAR_NAME_DESCRIPTION_TYPE);
+
+            // Create the Identifier Semantic
+            createIdentifierSemantic(session, concept, partData.getPartNumber());
+
+            // Create the Axiom Semantic for Part Concepts
+            // if the getPartNumber code is not in the Component cache we built in previous step, then createAxiom... call
+            if (LoincUtility.removeComponentPartFromCache(partData.getPartNumber()) == null) {
+                createAxiomSemanticForPartConcept(session, concept, partData.getPartTypeName());
+            }
+            metrics.rowOut();
+            return true;
+        } catch (Exception e) {
+            errors.rowFailed("Part.csv", partData.getPartNumber(), "compose failed", null, e);
+            return false;
+        }
+    }
+
+    /**
+     * Creates a new LOINC concept based on the LOINC row data.
+     * This creates a concept for each row in the LOINC CSV.
+     */
+    private boolean createLoincRowConcept(Composer composer, String[] columns) {
+            String loincNum = removeQuotes(columns[0]);
+            String longCommonName = removeQuotes(columns[25]);
+            String consumerName = removeQuotes(columns[12]);
+            String shortName = removeQuotes(columns[20]);
+            String relatedNames2 = removeQuotes(columns[19]);
+            String displayName = removeQuotes(columns[39]);
+            String definitionDescription = removeQuotes(columns[10]);
+            String status = removeQuotes(columns[11]); // STATUS column
+
+            State state = State.ACTIVE;
+            if ("DEPRECATED".equals(status)) {
+                state = State.INACTIVE;
+            }
+
+            EntityProxy.Concept author = loincAuthor;
+            EntityProxy.Concept module = LoincUtility.getModuleConcept(namespace);
+            EntityProxy.Concept path = LoincUtility.getPathConcept();
+
+            UUID conceptUuid = UuidT5Generator.get(namespace, loincNum);
+            String identifier = UuidT5Generator.get(namespace, loincNum).toString(); // Using the LOINC_NUM as identifier
+            if (dryRun != null) {
+                return resolveLoincRow(loincNum, columns);
+            }
+
+            Session session = openSession(composer, state, author, module, path);
+            currentRow.set(new RowContext(loincNum, state));
+
+            try {
+                EntityProxy.Concept concept = EntityProxy.Concept.make(PublicIds.of(conceptUuid));
+                EntityProxy.Semantic semantic;
+
+                if ("TRIAL".equals(status)) {
+                    EntityProxy.Pattern pattern = LoincUtility.getLoincTrialStatusPattern(namespace);
+                    semantic = EntityProxy.Semantic.make(PublicIds.of(UuidT5Generator.get(namespace, concept + loincNum + status)));
+                    session.compose((SemanticAssembler assembler) -> {
+                        assembler.semantic(semantic)
+                                .pattern(pattern)
+                                .reference(concept)
+                                .fieldValues(fv -> fv.with(""));
+                    });
+                    metrics.composed(ComposedType.STATUS);
+                    semanticComposed(ComposedType.STATUS, semantic, pattern, concept, status);
+
+                } else if ("DISCOURAGED".equals(status)) {
+                    EntityProxy.Pattern pattern = LoincUtility.getLoincDiscouragedPattern(namespace);
+                    semantic = EntityProxy.Semantic.make(PublicIds.of(UuidT5Generator.get(namespace, concept + loincNum + status)));
+                    session.compose((SemanticAssembler assembler) -> {
+                        assembler.semantic(semantic)
+                                .pattern(pattern)
+                                .reference(concept)
+                                .fieldValues(fv -> fv.with(""));
+                    });
+                    metrics.composed(ComposedType.STATUS);
+                    semanticComposed(ComposedType.STATUS, semantic, pattern, concept, status);
+                }
+
+                session.compose((ConceptAssembler assembler) -> {
+                    assembler.concept(concept);
+                });
+                metrics.composed(ComposedType.CONCEPT);
+                conceptComposed(concept, longCommonName);
+
+                // Create description semantics for non-empty fields
+                if (!longCommonName.isEmpty()) {
+                    createDescriptionSemantic(session, concept, longCommonName, FULLY_QUALIFIED_NAME_DESCRIPTION_TYPE);
+                }
+
+                if (!consumerName.isEmpty()) {
+                    createDescriptionSemantic(session, concept, consumerName, TinkarTerm.REGULAR_NAME_DESCRIPTION_TYPE);
+                }
+
+                if (!shortName.isEmpty()) {
+                    createDescriptionSemantic(session, concept, shortName, TinkarTerm.REGULAR_NAME_DESCRIPTION_TYPE);
+                }
+
+                if (!relatedNames2.isEmpty()) {
+                    createDescriptionSemantic(session, concept, relatedNames2, TinkarTerm.REGULAR_NAME_DESCRIPTION_TYPE);
+                }
+
+                if (!displayName.isEmpty()) {
+                    createDescriptionSemantic(session, concept, displayName, TinkarTerm.REGULAR_NAME_DESCRIPTION_TYPE);
+                }
+
+                if (!definitionDescription.isEmpty()) {
+                    createDescriptionSemantic(session, concept, definitionDescription, TinkarTerm.DEFINITION_DESCRIPTION_TYPE);
+                }
+
+                // Create identifier semantic
+                createIdentifierSemantic(session, concept, loincNum);
+
+                // Create axiom semantic using the existing method
+                createAxiomSemanticsLoincConcept(session, concept,
+                        loincNum,                   // LOINC_NUM
+                        removeQuotes(columns[1]),   // COMPONENT
+                        removeQuotes(columns[2]),   // PROPERTY
+                        removeQuotes(columns[3]),   // TIME_ASPCT
+                        removeQuotes(columns[4]),   // SYSTEM
+                        removeQuotes(columns[5]),   // SCALE_TYP
+                        removeQuotes(columns[6]));   // METHOD_TYP
+
+                // Create Loinc Class semantic
+                createLoincClassSemantic(session, concept,
+                        removeQuotes(columns[7]),   // CLASS
+                        removeQuotes(columns[13])); // CLASSTYPE
+
+                // Create Example UCUM Units semantic if not empty
+                if (!removeQuotes(columns[24]).isEmpty()) {
+                    createExampleUcumUnitsSemantic(session, concept,
+                            removeQuotes(columns[24]));  // EXAMPLE_UNITS
+                }
+
+                // Create Test Membership semantic
+                if (!removeQuotes(columns[21]).isEmpty()) {
+                    createTestMembershipSemantic(session, concept,
+                            removeQuotes(columns[21]));
+                }
+                ;  // ORDER_OBS
+                metrics.rowOut();
+                return true;
+            } catch (Exception e) {
+                errors.rowFailed("Loinc.csv", loincNum, "compose failed", String.join(",", columns), e);
+                return false;
+            }
+    }
+
+
+    /**
+     * Creates a description semantic with the specified description type.
+     *
+     * @param session The current session
+     * @param concept The concept to attach the description to
+     * @param description The description text
+     * @param descriptionType The type of description (FQN, Regular Name, Definition)
+     */
+    private void createDescriptionSemantic(Session session, EntityProxy.Concept concept, String description,
+                                           EntityProxy.Concept descriptionType) {
+        String typeStr = descriptionType.equals(FULLY_QUALIFIED_NAME_DESCRIPTION_TYPE) ? "FQN" :
+                descriptionType.equals(TinkarTerm.REGULAR_NAME_DESCRIPTION_TYPE) ? "Regular" : "Definition";
+
+        EntityProxy.Semantic semantic = EntityProxy.Semantic.make(
+                PublicIds.of(UuidT5Generator.get(namespace, concept.publicId().asUuidArray()[0] + description + typeStr + "DESC")));
+
+        try {
+            session.compose((SemanticAssembler semanticAssembler) -> semanticAssembler
+                    .semantic(semantic)
+                    .pattern(TinkarTerm.DESCRIPTION_PATTERN)
+                    .reference(concept)
+                    .fieldValues(fieldValues -> fieldValues
+                            .with(TinkarTerm.ENGLISH_LANGUAGE)
+                            .with(description)
+                            .with(TinkarTerm.DESCRIPTION_NOT_CASE_SENSITIVE)
+                            .with(descriptionType)
+                    ));
+            metrics.composed(ComposedType.DESCRIPTION);
+            semanticComposed(ComposedType.DESCRIPTION, semantic, TinkarTerm.DESCRIPTION_PATTERN, concept, description);
+        } catch (Exception e) {
+            errors.composeFailed(ComposedType.DESCRIPTION, concept, e);
+        }
+    }
+
+    /**
+     * Creates an identifier semantic based on LOINC_NUM.
+     */
+    private void createIdentifierSemantic(Session session, EntityProxy.Concept concept, String identifier) {
+        EntityProxy.Concept identifierSource = LoincUtility.getLoincNumConcept(namespace);
+
+        // TODO: make this deduplication workaround more robust (also in #createConcept(), snomed-ct-data, and loinc-data)
+        UUID uuidForLoincIdSemantic = UuidT5Generator.singleSemanticUuid(TinkarTerm.IDENTIFIER_PATTERN, PublicIds.of(UuidT5Generator.get(identifier)));
+        EntityProxy.Semantic loincIdSemantic = EntityProxy.Semantic.make(PublicIds.of(uuidForLoincIdSemantic));
+
+        try {
+            session.compose((SemanticAssembler assembler) -> {
+                assembler.semantic(loincIdSemantic)
+                        .pattern(TinkarTerm.IDENTIFIER_PATTERN)
+                        .reference(concept)
+                        .fieldValues(fv -> fv
+                                .with(identifierSource)
+                                .with(identifier));
+            });
+            metrics.composed(ComposedType.IDENTIFIER);
+            semanticComposed(ComposedType.IDENTIFIER, loincIdSemantic, TinkarTerm.IDENTIFIER_PATTERN, concept, identifier);
+        } catch (Exception e) {
+            errors.composeFailed(ComposedType.IDENTIFIER, concept, e);
+        }
+    }
+
+    private void createAxiomSemanticForPartConcept(Session session, EntityProxy.Concept concept, String partTypeName) {
+        EntityProxy.Semantic axiomSemantic = EntityProxy.Semantic.make(PublicIds.of(UuidT5Generator.get(namespace, concept.publicId().asUuidArray()[0] + partTypeName + "AXIOM")));
+        EntityProxy.Concept parentConcept = LoincUtility.getParentForPartType(namespace, partTypeName);
+        try {
+            if (parentConcept!= null) {
+                session.compose(new StatedAxiom()
+                                .semantic(axiomSemantic)
+                                .isA(parentConcept),
+                        concept);
+            } else {
+                session.compose(new StatedAxiom()
+                                    .semantic(axiomSemantic),
+                            concept);
+            }
+            metrics.composed(ComposedType.STATED_AXIOM);
+            semanticComposed(ComposedType.STATED_AXIOM, axiomSemantic, TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN,
+                    concept, null);
+        } catch (Exception e) {
+            errors.composeFailed(ComposedType.STATED_AXIOM, concept, e);
+        }
+    }
+
+    /**
+     * Creates a stated definition semantic that attaches an [IS A] relationship to [Observable Entity]
+     * and includes role group fields for COMPONENT, PROPERTY, TIME_ASPCT, SYSTEM, SCALE_TYP, and METHOD_TYP.
+     */
+    private void createAxiomSemanticsLoincConcept(Session session, EntityProxy.Concept concept, String loincNum,
+                                                String component, String property, String timeAspect,
+                                                String system, String scaleType, String methodType) {
+            String owlExpressionWithPublicIds = LoincUtility.buildOwlExpression(namespace, loincNum, component, property, timeAspect, system, scaleType, methodType);
+            EntityProxy.Semantic axiomSemantic = EntityProxy.Semantic.make(PublicIds.of(UuidT5Generator.get(namespace, concept.publicId().asUuidArray()[0] + component + "AXIOM")));
+            try {
+                session.compose(new AxiomSyntax()
+                                .semantic(axiomSemantic)
+                                .text(owlExpressionWithPublicIds),
+                        concept);
+                metrics.composed(ComposedType.OWL_AXIOM);
+                semanticComposed(ComposedType.OWL_AXIOM, axiomSemantic, TinkarTerm.OWL_AXIOM_SYNTAX_PATTERN, concept,
+                        owlExpressionWithPublicIds);
+            } catch (Exception e) {
+                errors.composeFailed(ComposedType.OWL_AXIOM, concept, e);
+            }
+    }
+
+    /**
+     * Resolve the axis and class values of a Loinc.csv row against the part cache and build its OWL expression and
+     * class type as composing does, without composing them. Values that do not resolve are reported to the dry run.
+     */
+    private boolean resolveLoincRow(String loincNum, String[] columns) {
+        boolean resolved = true;
+        for (int i = 0; i < AXIS_PART_TYPES.length; i++) {
+            resolved &= resolvePart(removeQuotes(columns[i + 1]), AXIS_PART_TYPES[i]);
+        }
+        resolvePart(removeQuotes(columns[7]), "CLASS");
+        if (!resolved) {
+            errors.rowFailed("Loinc.csv", loincNum, "unresolved part", String.join(",", columns), null);
+            return false;
+        }
+        try {
+            LoincUtility.buildOwlExpression(namespace, loincNum, removeQuotes(columns[1]), removeQuotes(columns[2]),
+                    removeQuotes(columns[3]), removeQuotes(columns[4]), removeQuotes(columns[5]), removeQuotes(columns[6]));
+            dryRun.owlExpressionBuilt();
+        } catch (Exception e) {
+            errors.rowFailed("Loinc.csv", loincNum, "compose failed", String.join(",", columns), e);
+            return false;
+        }
+        try {
+            Integer.parseInt(removeQuotes(columns[13]));
+        } catch (NumberFormatException e) {
+            errors.composeFailed(ComposedType.LOINC_CLASS, loincNum, e);
+        }
+        metrics.rowOut();
+        return true;
+    }
+
+    /**
+     * Empty axis values are legal and are left out of the OWL expression, anything else must be in the part cache.
+     */
+    private boolean resolvePart(String partName, String partTypeName) {
+        if (partName.isEmpty() || LoincUtility.getPartNumberFromCache(partName.toLowerCase(), partTypeName) != null) {
+            return true;
+        }
+        dryRun.unresolved(partTypeName, partName);
+        return false;
+    }
+
+    // Part types of the six axes in Loinc.csv columns 1 to 6, in the order buildOwlExpression takes them
+    private static final String[] AXIS_PART_TYPES = {"COMPONENT", "PROPERTY", "TIME", "SYSTEM", "SCALE", "METHOD"};
+
+    /**
+     * Creates a LOINC class semantic that attaches CLASS and CLASSTYPE.
+     */
+    private void createLoincClassSemantic(Session session, EntityProxy.Concept concept,
+                                          String loincClass, String loincClassType) {
+        EntityProxy.Pattern loinClassPattern = LoincUtility.getLoincClassPattern(namespace);
+        int classTypeInt = Integer.parseInt(loincClassType);
+        String loincClassPartNumber = LoincUtility.getPartNumberFromCache(loincClass.toLowerCase(), "CLASS");
+        EntityProxy.Concept loincClassPartConcept = LoincUtility.makeConceptProxy(namespace, loincClassPartNumber);
+        EntityProxy.Semantic semantic = EntityProxy.Semantic.make(PublicIds.of(UuidT5Generator.get(namespace, concept.publicId().asUuidArray()[0] + loincClass)));
+        try {
+            session.compose((SemanticAssembler assembler) -> {
+                assembler.semantic(semantic)
+                        .reference(concept)
+                        .pattern(loinClassPattern)
+                        .fieldValues(fv -> fv
+                                .with(loincClassPartConcept)
+                                .with(classTypeInt)
+                        );
+            });
+            metrics.composed(ComposedType.LOINC_CLASS);
+            semanticComposed(ComposedType.LOINC_CLASS, semantic, loinClassPattern, concept, loincClass);
+        } catch (Exception e) {
+            errors.composeFailed(ComposedType.LOINC_CLASS, concept, e);
+        }
+    }
+
+    /**
+     * Creates an Example UCUM Units semantic using the EXAMPLE_UNITS string.
+     */
+    private void createExampleUcumUnitsSemantic(Session session, EntityProxy.Concept concept, String exampleUnits) {
+        EntityProxy.Pattern exampleUnitsPattern = LoincUtility.getExampleUnitsPattern(namespace);
+        EntityProxy.Semantic semantic = EntityProxy.Semantic.make(PublicIds.of(UuidT5Generator.get(namespace,concept.publicId().asUuidArray()[0] + exampleUnits + "UCUM")));
+        try {
+            session.compose((SemanticAssembler assembler) -> {
+                assembler.semantic(semantic)
+                        .reference(concept)
+                        .pattern(exampleUnitsPattern)
+                        .fieldValues(fv -> fv.with(exampleUnits));
+            });
+            metrics.composed(ComposedType.EXAMPLE_UNITS);
+            semanticComposed(ComposedType.EXAMPLE_UNITS, semantic, exampleUnitsPattern, concept, exampleUnits);
+        } catch (Exception e) {
+            errors.composeFailed(ComposedType.EXAMPLE_UNITS, concept, e);
+        }
+    }
+
+    /**
+     * Creates a Test Ordered/Reported/Subset Membership semantic based on the ORDER_OBS column.
+     * "Order" -> Test Orderable Pattern,
+     * "Observed" -> Test Reportable Pattern,
+     * "Both" -> both patterns,
+     * "Subset" -> Test Subset Pattern.
+     */
+    private void createTestMembershipSemantic(Session session, EntityProxy.Concept concept, String orderObs) {
+        EntityProxy.Pattern pattern;
+        EntityProxy.Pattern pattern2 = null;
+        if ("Order".equalsIgnoreCase(orderObs)) {
+            pattern = LoincUtility.getTestOrderablePattern(namespace);
+        } else if ("Observation".equalsIgnoreCase(orderObs)) {
+            pattern = LoincUtility.getTestReportablePattern(namespace);
+        }  else if ("Subset".equalsIgnoreCase(orderObs)) {
+            pattern = LoincUtility.getTestSubsetPattern(namespace);
+        } else if ("Both".equalsIgnoreCase(orderObs)) {
+            pattern = LoincUtility.getTestOrderablePattern(namespace);
+            pattern2 = LoincUtility.getTestReportablePattern(namespace);
+        } else {
+            pattern = null;
+        }
+
+        EntityProxy.Semantic semantic = EntityProxy.Semantic.make(PublicIds.of(UuidT5Generator.get(namespace, concept.publicId().asUuidArray()[0] + orderObs + "TESTMEM")));
+        try {
+            EntityProxy.Pattern finalPattern = pattern2;
+            session.compose((SemanticAssembler assembler) -> {
+                assembler.semantic(semantic)
+                        .pattern(pattern)
+                        .reference(concept)
+                        .fieldValues(fv -> fv.with(""));
+                if (finalPattern != null){
+                    assembler.pattern(finalPattern);
+                }
+            });
+
+            metrics.composed(ComposedType.TEST_MEMBERSHIP);
+            // The assembler keeps the last pattern set
+            semanticComposed(ComposedType.TEST_MEMBERSHIP, semantic, finalPattern != null ? finalPattern : pattern,
+                    concept, orderObs);
+        } catch (Exception e) {
+            errors.composeFailed(ComposedType.TEST_MEMBERSHIP, concept, e);
+        }
+    }
+
+    private USDialect usDialect() {
+        return new USDialect().acceptability(TinkarTerm.PREFERRED);
+    }
+
+    private static class PartData {
+        private final String partNumber;
+        private final String partTypeName;
+        private final String partName;
+        private final String partDisplayName;
+        private final String status;
+
+        public PartData(String partNumber, String partTypeName, String partName, String partDisplayName, String status) {
+            this.partNumber = partNumber;
+            this.partTypeName = partTypeName;
+            this.partName = partName;
+            this.partDisplayName = partDisplayName;
+            this.status = status;
+        }
+
+        public String getPartNumber() {
+            return partNumber;
+        }
+
+        public String getPartTypeName() {
+            return partTypeName;
+        }
+
+        public String getPartName() {
+            return partName;
+        }
+
+        public String getPartDisplayName() {
+            return partDisplayName;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package dev.ikm.maven;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Command line entry point for the LOINC transformer, running the same code as
+ * {@link LoincTransformationMojo} without booting a Maven reactor.
+ *
+ * <pre>
+ * java -jar loinc-transformation-maven-plugin-cli.jar --namespace &lt;uuid&gt; --datastore &lt;dir&gt;
+ *      --input &lt;loinc-origin.zip&gt; --output &lt;dir&gt; [--threads 4] [--controller "Open SpinedArrayStore"] [--dry-run]
+ * </pre>
+ */
+public class LoincTransformerMain {
+
+    private static final String USAGE = """
+            Usage: loinc-transformer --namespace <uuid> --datastore <dir> --input <zip> --output <dir>
+                                     [--threads <count>] [--controller <name>] [--dry-run]
+                                     [--snapshot <pb.zip>] [--jfr <file.jfr>] [--jfr-settings <name>]
+                                     [--progress-interval <seconds>] [--heap-budget <size>]
+                                     [--fail-threshold <errors>] [--deterministic] [--stamp-time <instant>]
+                                     [--shard-count <count> --shard-index <index>] [--stream-export <pb.zip>]
+                                     [--change-events <file.ndjson>] [--split-events]
+
+              --namespace          origin namespace used to mint the T5 UUIDs
+              --datastore          datastore directory
+              --input              LOINC origin zip
+              --output             directory the release is unzipped into
+              --threads            worker threads (default %d)
+              --controller         datastore controller (default "%s", "%s" keeps it in memory)
+              --snapshot           export the datastore to this change set before it is stopped
+              --jfr                record the run with the flight recorder into this file
+              --jfr-settings       flight recorder settings (default "%s")
+              --progress-interval  seconds between progress log lines, 0 turns them off (default %d)
+              --heap-budget        live heap to stay under, e.g. 2g, by committing early and holding intake
+              --fail-threshold     errors tolerated before the run fails without committing (default no limit)
+              --deterministic      compose in source order with a fixed stamp time for reproducible output
+              --stamp-time         stamp time of a deterministic run, e.g. 2025-09-01T00:00:00Z
+              --shard-count        split the rows over this many processes, merged with merge-loinc-shards
+              --shard-index        the shard this process composes, 0 to shard count - 1
+              --stream-export      write the content the run composes to this change set
+              --change-events      write a JSON line for every composed concept and semantic to this file
+              --split-events       write the change events to one file per concept or semantic type
+              --dry-run            only parse and resolve the release and write a report, the datastore is not touched
+            """.formatted(LoincTransformerSettings.DEFAULT_THREAD_COUNT, LoincTransformerSettings.DEFAULT_CONTROLLER_NAME,
+                    LoincTransformerSettings.EPHEMERAL_CONTROLLER_NAME, LoincTransformerSettings.DEFAULT_JFR_CONFIGURATION,
+                    LoincTransformerSettings.DEFAULT_PROGRESS_INTERVAL_SECONDS);
+
+    public static void main(String[] args) throws Exception {
+        LoincTransformerSettings settings;
+        try {
+            settings = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoincTransformer(settings).run();
+    }
+
+    static LoincTransformerSettings parse(String[] args) {
+        LoincTransformerSettings settings = new LoincTransformerSettings();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--help") || option.equals("-h")) {
+                System.out.print(USAGE);
+                System.exit(0);
+            }
+            if (option.equals("--dry-run")) {
+                settings.dryRun(true);
+                continue;
+            }
+            if (option.equals("--deterministic")) {
+                settings.deterministic(true);
+                continue;
+            }
+            if (option.equals("--split-events")) {
+                settings.changeEventsByType(true);
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--namespace" -> settings.namespace(UUID.fromString(value));
+                case "--datastore" -> settings.datastorePath(new File(value));
+                case "--input" -> settings.inputZipPath(value);
+                case "--output" -> settings.dataOutputPath(new File(value));
+                case "--threads" -> settings.threadCount(Integer.parseInt(value));
+                case "--controller" -> settings.controllerName(value);
+                case "--snapshot" -> settings.snapshotPath(new File(value));
+                case "--stream-export" -> settings.streamExportPath(new File(value));
+                case "--change-events" -> settings.changeEventPath(new File(value));
+                case "--jfr" -> settings.jfrRecordingPath(new File(value));
+                case "--jfr-settings" -> settings.jfrConfiguration(value);
+                case "--progress-interval" -> settings.progressIntervalSeconds(Integer.parseInt(value));
+                case "--heap-budget" -> settings.heapBudgetBytes(HeapBudgetGovernor.parseSize(value));
+                case "--fail-threshold" -> settings.failThreshold(Long.parseLong(value));
+                case "--stamp-time" -> settings.stampTime(Instant.parse(value).toEpochMilli());
+                case "--shard-count" -> settings.shardCount(Integer.parseInt(value));
+                case "--shard-index" -> settings.shardIndex(Integer.parseInt(value));
+                default -> throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        if (settings.getNamespace() == null || (settings.getDatastorePath() == null && !settings.isDryRun())
+                || settings.getInputZipPath() == null || settings.getDataOutputPath() == null) {
+            throw new IllegalArgumentException("--namespace, --datastore, --input and --output are required");
+        }
+        return settings;
+    }
+}
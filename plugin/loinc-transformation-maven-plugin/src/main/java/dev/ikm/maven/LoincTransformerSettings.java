@@ -0,0 +1,294 @@
+package dev.ikm.maven;
+
+import java.io.File;
+import java.util.UUID;
+
+/**
+ * Parameters of a LOINC transformation run, shared by {@link LoincTransformationMojo} and
+ * {@link LoincTransformerMain}.
+ */
+public class LoincTransformerSettings {
+    public static final String DEFAULT_CONTROLLER_NAME = "Open SpinedArrayStore";
+    /**
+     * In-memory datastore that is discarded on stop, for measuring transformation throughput without disk I/O.
+     */
+    public static final String EPHEMERAL_CONTROLLER_NAME = "Load Ephemeral Store";
+    public static final int DEFAULT_THREAD_COUNT = 4;
+    /**
+     * Flight recorder settings shipped with the JDK, "profile" samples more often at a higher overhead.
+     */
+    public static final String DEFAULT_JFR_CONFIGURATION = "default";
+    public static final int DEFAULT_PROGRESS_INTERVAL_SECONDS = 10;
+
+    private UUID namespace;
+    private File datastorePath;
+    private String inputZipPath;
+    private File dataOutputPath;
+    private String controllerName = DEFAULT_CONTROLLER_NAME;
+    private int threadCount = DEFAULT_THREAD_COUNT;
+    private boolean dryRun;
+    private File snapshotPath;
+    private File streamExportPath;
+    private File changeEventPath;
+    private boolean changeEventsByType;
+    private LoincStageListener stageListener = LoincStageListener.NONE;
+    private File jfrRecordingPath;
+    private String jfrConfiguration = DEFAULT_JFR_CONFIGURATION;
+    private int progressIntervalSeconds = DEFAULT_PROGRESS_INTERVAL_SECONDS;
+    private long heapBudgetBytes;
+    private long failThreshold = -1;
+    private boolean deterministic;
+    private Long stampTime;
+    private int shardCount = 1;
+    private int shardIndex;
+
+    public UUID getNamespace() {
+        return namespace;
+    }
+
+    public LoincTransformerSettings namespace(UUID namespace) {
+        this.namespace = namespace;
+        return this;
+    }
+
+    public File getDatastorePath() {
+        return datastorePath;
+    }
+
+    public LoincTransformerSettings datastorePath(File datastorePath) {
+        this.datastorePath = datastorePath;
+        return this;
+    }
+
+    public String getInputZipPath() {
+        return inputZipPath;
+    }
+
+    public LoincTransformerSettings inputZipPath(String inputZipPath) {
+        this.inputZipPath = inputZipPath;
+        return this;
+    }
+
+    public File getDataOutputPath() {
+        return dataOutputPath;
+    }
+
+    public LoincTransformerSettings dataOutputPath(File dataOutputPath) {
+        this.dataOutputPath = dataOutputPath;
+        return this;
+    }
+
+    public String getControllerName() {
+        return controllerName;
+    }
+
+    public LoincTransformerSettings controllerName(String controllerName) {
+        this.controllerName = controllerName;
+        return this;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public LoincTransformerSettings threadCount(int threadCount) {
+        this.threadCount = threadCount;
+        return this;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    /**
+     * Only parse and resolve the release, handing the rows to {@link LoincDryRunValidator} instead of a composer; the
+     * datastore is never started.
+     */
+    public LoincTransformerSettings dryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+        return this;
+    }
+
+    public File getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Protobuf change set the transformed datastore is exported to before it is stopped, mainly to keep the
+     * result of an ephemeral run. Nothing is exported when not set.
+     */
+    public LoincTransformerSettings snapshotPath(File snapshotPath) {
+        this.snapshotPath = snapshotPath;
+        return this;
+    }
+
+    public File getStreamExportPath() {
+        return streamExportPath;
+    }
+
+    /**
+     * Protobuf change set of the composed content, written from the entities the run records as it composes them,
+     * see {@link ChangeSetStreamWriter}. Unlike {@link #snapshotPath(File)} it leaves out what was in the datastore
+     * before the run, and it does not scan the datastore, so it pairs with the ephemeral store.
+     */
+    public LoincTransformerSettings streamExportPath(File streamExportPath) {
+        this.streamExportPath = streamExportPath;
+        return this;
+    }
+
+    public File getChangeEventPath() {
+        return changeEventPath;
+    }
+
+    /**
+     * Newline-delimited JSON file that gets an event for every composed concept and semantic, see
+     * {@link ChangeEventSink}. No events are written when not set.
+     */
+    public LoincTransformerSettings changeEventPath(File changeEventPath) {
+        this.changeEventPath = changeEventPath;
+        return this;
+    }
+
+    public boolean isChangeEventsByType() {
+        return changeEventsByType;
+    }
+
+    /**
+     * Write the change events to one file per composed type next to {@link #changeEventPath(File)}.
+     */
+    public LoincTransformerSettings changeEventsByType(boolean changeEventsByType) {
+        this.changeEventsByType = changeEventsByType;
+        return this;
+    }
+
+    public LoincStageListener getStageListener() {
+        return stageListener;
+    }
+
+    public LoincTransformerSettings stageListener(LoincStageListener stageListener) {
+        this.stageListener = stageListener;
+        return this;
+    }
+
+    public File getJfrRecordingPath() {
+        return jfrRecordingPath;
+    }
+
+    /**
+     * Record the run with the JDK Flight Recorder into this .jfr file, including the transformation events such as
+     * {@link ChunkCompositionEvent}. Nothing is recorded when not set.
+     */
+    public LoincTransformerSettings jfrRecordingPath(File jfrRecordingPath) {
+        this.jfrRecordingPath = jfrRecordingPath;
+        return this;
+    }
+
+    public String getJfrConfiguration() {
+        return jfrConfiguration;
+    }
+
+    public LoincTransformerSettings jfrConfiguration(String jfrConfiguration) {
+        this.jfrConfiguration = jfrConfiguration;
+        return this;
+    }
+
+    public int getProgressIntervalSeconds() {
+        return progressIntervalSeconds;
+    }
+
+    /**
+     * How often {@link ProgressTracker} logs and samples the progress of the running stage, 0 turns it off.
+     */
+    public LoincTransformerSettings progressIntervalSeconds(int progressIntervalSeconds) {
+        this.progressIntervalSeconds = progressIntervalSeconds;
+        return this;
+    }
+
+    public long getHeapBudgetBytes() {
+        return heapBudgetBytes;
+    }
+
+    /**
+     * Live heap the run should stay under, see {@link HeapBudgetGovernor}. 0 leaves the heap ungoverned.
+     */
+    public LoincTransformerSettings heapBudgetBytes(long heapBudgetBytes) {
+        this.heapBudgetBytes = heapBudgetBytes;
+        return this;
+    }
+
+    public long getFailThreshold() {
+        return failThreshold;
+    }
+
+    /**
+     * Number of row and compose errors a run tolerates before it fails instead of committing, -1 for no limit.
+     */
+    public LoincTransformerSettings failThreshold(long failThreshold) {
+        this.failThreshold = failThreshold;
+        return this;
+    }
+
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    /**
+     * Compose in source order with a fixed stamp time, so runs over the same release produce the same datastore
+     * content whatever the thread count. Rows are still parsed in parallel.
+     */
+    public LoincTransformerSettings deterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+        return this;
+    }
+
+    public Long getStampTime() {
+        return stampTime;
+    }
+
+    /**
+     * Stamp time in epoch milliseconds for a deterministic run, by default the modification time of Loinc.csv in the
+     * release zip.
+     */
+    public LoincTransformerSettings stampTime(Long stampTime) {
+        this.stampTime = stampTime;
+        return this;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Split the rows over this many processes by a hash of LOINC_NUM or PartNumber, see {@link LoincShardMerger}.
+     */
+    public LoincTransformerSettings shardCount(int shardCount) {
+        this.shardCount = shardCount;
+        return this;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * The shard this run composes, from 0 to shardCount - 1. Shard 0 also composes the content shared by all rows.
+     */
+    public LoincTransformerSettings shardIndex(int shardIndex) {
+        this.shardIndex = shardIndex;
+        return this;
+    }
+
+    /**
+     * @return true if this run composes the row with the given LOINC_NUM or PartNumber
+     */
+    public boolean ownsCode(String code) {
+        return shardCount <= 1 || Math.floorMod(code.hashCode(), shardCount) == shardIndex;
+    }
+
+    /**
+     * @return true if this run composes the content not tied to a row, such as the LOINC author
+     */
+    public boolean ownsSharedContent() {
+        return shardCount <= 1 || shardIndex == 0;
+    }
+}
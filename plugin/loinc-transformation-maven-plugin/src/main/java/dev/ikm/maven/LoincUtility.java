@@ -4,8 +4,11 @@ import dev.ikm.tinkar.common.util.uuid.UuidT5Generator;
 import dev.ikm.tinkar.terms.EntityProxy;
 import dev.ikm.tinkar.terms.TinkarTerm;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 
@@ -108,6 +111,10 @@ public class LoincUtility {
         componentPartCache.forEach(consumer);
     }
 
+    public static void forEachComponentInCodeOrder(BiConsumer<String,String> consumer) {
+        new TreeMap<>(componentPartCache).forEach(consumer);
+    }
+
     public static EntityProxy.Concept getParentForPartType(UUID namespace, String partType){
         EntityProxy.Concept parentConcept;
 
@@ -278,4 +285,31 @@ public class LoincUtility {
         return owlExpressionBuilder.toString();
     }
 
+    /**
+     * Split a CSV line on commas outside of quotes, keeping the quotes in the returned columns.
+     */
+    public static String[] splitCsvLine(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                inQuotes = !inQuotes;
+                sb.append(c);
+            } else if (c == ',' && !inQuotes) {
+                tokens.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        tokens.add(sb.toString());
+        return tokens.toArray(new String[0]);
+    }
+
+    public static String removeQuotes(String column) {
+        return column.replaceAll("^\"|\"$", "").trim();
+    }
 }
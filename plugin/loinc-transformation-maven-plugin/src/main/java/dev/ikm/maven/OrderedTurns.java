@@ -0,0 +1,45 @@
+package dev.ikm.maven;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lets parallel chunk workers compose in source order for deterministic runs: chunk {@code n} may only take its
+ * turn once chunks {@code 0..n-1} have finished theirs. Workers still parse their rows in parallel before waiting.
+ * Chunks have to be submitted in order to a FIFO executor, so the chunk whose turn it is has always been started.
+ * When ordering is off every turn is granted immediately.
+ */
+class OrderedTurns {
+
+    private final boolean ordered;
+    private int next;
+
+    OrderedTurns(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    /**
+     * Wait for the turn of the given chunk.
+     *
+     * @param cancelled checked while waiting, so a failed stage does not leave workers blocked
+     * @return false when cancelled before the turn came
+     */
+    synchronized boolean await(int chunk, BooleanSupplier cancelled) throws InterruptedException {
+        while (ordered && next != chunk) {
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            wait(100);
+        }
+        return true;
+    }
+
+    /**
+     * Hand the turn to the next chunk, also when the current one failed.
+     */
+    synchronized void done(int chunk) {
+        if (ordered && next == chunk) {
+            next++;
+            notifyAll();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package dev.ikm.maven;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the row counters of {@link TransformationMetrics} at a fixed interval, logs processed/total rows, the
+ * current rate and an ETA for the running stage, and publishes the same numbers through JMX. The counters are the
+ * atomic ones the worker threads already update, so tracking adds nothing to the hot path. The MBean returns the
+ * latest sample.
+ */
+public class ProgressTracker implements ProgressTrackerMBean, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ProgressTracker.class.getSimpleName());
+
+    public static final String OBJECT_NAME = "dev.ikm.loinc:type=TransformationProgress";
+
+    private final TransformationMetrics metrics;
+    private final long intervalSeconds;
+    private ScheduledExecutorService scheduler;
+    private ObjectName objectName;
+
+    private volatile Sample sample = new Sample("", 0, 0, 0, 0, 0);
+
+    public ProgressTracker(TransformationMetrics metrics, long intervalSeconds) {
+        this.metrics = metrics;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    /**
+     * Register the MBean and start sampling on a daemon thread.
+     */
+    public void start() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            objectName = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            LOG.warn("Unable to register progress MBean " + OBJECT_NAME, e);
+            objectName = null;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loinc-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sampleAndLog, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                LOG.warn("Unable to unregister progress MBean " + OBJECT_NAME, e);
+            }
+        }
+    }
+
+    private void sampleAndLog() {
+        Sample previous = sample;
+        Sample next = sample(previous);
+        sample = next;
+        if (!next.stage.isEmpty()) {
+            LOG.info(String.format(Locale.ROOT, "Progress %s: %,d/%,d rows (%.1f%%), %.0f rows/s, ETA %s",
+                    next.stage, next.processed, next.total, percent(next), next.rowsPerSecond, formatEta(eta(next))));
+        }
+    }
+
+    private Sample sample(Sample previous) {
+        TransformationMetrics.StageProgress progress = metrics.progress();
+        if (progress == null) {
+            return new Sample("", 0, 0, System.nanoTime(), 0, 0);
+        }
+        long now = System.nanoTime();
+        double rowsPerSecond = 0;
+        if (progress.stage().equals(previous.stage) && now > previous.sampledAtNanos) {
+            rowsPerSecond = (progress.rowsProcessed() - previous.processed) / ((now - previous.sampledAtNanos) / 1e9);
+        }
+        return new Sample(progress.stage(), progress.rowsProcessed(), progress.rowsIn(), now, rowsPerSecond,
+                progress.elapsedNanos());
+    }
+
+    private static double percent(Sample sample) {
+        return sample.total > 0 ? 100.0 * sample.processed / sample.total : 0.0;
+    }
+
+    private static double averageRate(Sample sample) {
+        return sample.elapsedNanos > 0 ? sample.processed / (sample.elapsedNanos / 1e9) : 0.0;
+    }
+
+    private static long eta(Sample sample) {
+        double rate = averageRate(sample);
+        if (rate <= 0 || sample.total < sample.processed) {
+            return -1;
+        }
+        return Math.round((sample.total - sample.processed) / rate);
+    }
+
+    private static String formatEta(long seconds) {
+        if (seconds < 0) {
+            return "unknown";
+        }
+        return String.format(Locale.ROOT, "%d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+    }
+
+    @Override
+    public String getStage() {
+        return sample.stage;
+    }
+
+    @Override
+    public long getProcessedRows() {
+        return sample.processed;
+    }
+
+    @Override
+    public long getTotalRows() {
+        return sample.total;
+    }
+
+    @Override
+    public double getPercentComplete() {
+        return percent(sample);
+    }
+
+    @Override
+    public double getRowsPerSecond() {
+        return sample.rowsPerSecond;
+    }
+
+    @Override
+    public double getAverageRowsPerSecond() {
+        return averageRate(sample);
+    }
+
+    @Override
+    public long getEtaSeconds() {
+        return eta(sample);
+    }
+
+    private record Sample(String stage, long processed, long total, long sampledAtNanos, double rowsPerSecond,
+                          long elapsedNanos) {
+    }
+}
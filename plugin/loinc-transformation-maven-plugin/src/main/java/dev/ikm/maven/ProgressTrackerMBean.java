@@ -0,0 +1,33 @@
+package dev.ikm.maven;
+
+/**
+ * Live progress of a transformation run, registered as {@value ProgressTracker#OBJECT_NAME} while the run lasts.
+ */
+public interface ProgressTrackerMBean {
+
+    /**
+     * @return the running stage, empty between stages
+     */
+    String getStage();
+
+    long getProcessedRows();
+
+    long getTotalRows();
+
+    double getPercentComplete();
+
+    /**
+     * @return rows per second over the last sampling interval
+     */
+    double getRowsPerSecond();
+
+    /**
+     * @return rows per second since the stage started
+     */
+    double getAverageRowsPerSecond();
+
+    /**
+     * @return estimated seconds until the running stage completes at its average rate, -1 when unknown
+     */
+    long getEtaSeconds();
+}
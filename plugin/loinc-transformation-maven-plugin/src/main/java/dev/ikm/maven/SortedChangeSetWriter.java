@@ -0,0 +1,91 @@
+package dev.ikm.maven;
+
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.transform.EntityToTinkarSchemaTransformer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Protobuf change set export of the whole datastore for deterministic runs. Unlike
+ * {@code ExportEntitiesToProtobufFile}, which follows the datastore's internal order, it writes patterns, concepts
+ * and semantics sorted by public id, then the stamps sorted the same way, and gives every zip entry the run's stamp
+ * time, so the same content always gives the same bytes.
+ */
+public class SortedChangeSetWriter {
+
+    private final File changeSetFile;
+    private final long entryTime;
+
+    public SortedChangeSetWriter(File changeSetFile, long entryTime) {
+        this.changeSetFile = changeSetFile;
+        this.entryTime = entryTime;
+    }
+
+    public void write() throws IOException {
+        List<Integer> patternNids = new ArrayList<>();
+        List<Integer> conceptNids = new ArrayList<>();
+        List<Integer> semanticNids = new ArrayList<>();
+        List<Integer> stampNids = new ArrayList<>();
+        PrimitiveData.get().forEachPatternNid(patternNids::add);
+        PrimitiveData.get().forEachConceptNid(conceptNids::add);
+        PrimitiveData.get().forEachSemanticNid(semanticNids::add);
+        PrimitiveData.get().forEachStampNid(stampNids::add);
+
+        changeSetFile.getAbsoluteFile().getParentFile().mkdirs();
+        File tempFile = new File(changeSetFile.getAbsoluteFile().getParentFile(), changeSetFile.getName() + ".tmp");
+        EntityToTinkarSchemaTransformer transformer = EntityToTinkarSchemaTransformer.getInstance();
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+            zos.putNextEntry(entry(changeSetFile.getName().replace(".zip", ".pb")));
+            for (List<Integer> nids : List.of(patternNids, conceptNids, semanticNids)) {
+                for (Entity<?> entity : sorted(nids, false)) {
+                    transformer.transform(entity).writeDelimitedTo(zos);
+                }
+            }
+            for (Entity<?> stamp : sorted(stampNids, true)) {
+                transformer.transform(stamp).writeDelimitedTo(zos);
+            }
+            zos.closeEntry();
+
+            Manifest manifest = new Manifest();
+            Attributes attributes = manifest.getMainAttributes();
+            attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            attributes.putValue("Total-Count", Integer.toString(patternNids.size() + conceptNids.size()
+                    + semanticNids.size() + stampNids.size()));
+            attributes.putValue("Concept-Count", Integer.toString(conceptNids.size()));
+            attributes.putValue("Semantic-Count", Integer.toString(semanticNids.size()));
+            attributes.putValue("Pattern-Count", Integer.toString(patternNids.size()));
+            attributes.putValue("Stamp-Count", Integer.toString(stampNids.size()));
+            zos.putNextEntry(entry("META-INF/MANIFEST.MF"));
+            manifest.write(zos);
+            zos.closeEntry();
+        }
+        Files.move(tempFile.toPath(), changeSetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private ZipEntry entry(String name) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(entryTime);
+        return entry;
+    }
+
+    private static List<Entity<?>> sorted(List<Integer> nids, boolean stamps) {
+        List<Entity<?>> entities = new ArrayList<>(nids.size());
+        for (int nid : nids) {
+            entities.add(stamps ? EntityService.get().getStampFast(nid) : EntityService.get().getEntityFast(nid));
+        }
+        entities.sort(Comparator.comparing(entity -> entity.publicId().asUuidArray()[0]));
+        return entities;
+    }
+}
@@ -0,0 +1,26 @@
+package dev.ikm.maven;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder span of one {@link LoincStageListener} stage of a transformation run.
+ */
+@Name("dev.ikm.loinc.Stage")
+@Label("LOINC Transformation Stage")
+@Category({"LOINC", "Transformation"})
+@Description("One stage of a LOINC transformation run")
+@StackTrace(false)
+final class StageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    StageEvent(String stage) {
+        this.stage = stage;
+    }
+}
@@ -0,0 +1,118 @@
+package dev.ikm.maven;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fail-fast scope for the parallel tasks of one stage, in the spirit of {@code StructuredTaskScope.ShutdownOnFailure}
+ * (still a preview API on the Java release we build with) but running on the transformer's executor. The first task
+ * that throws cancels and interrupts its siblings, tasks forked afterwards are not started, and {@link #join()}
+ * rethrows that first failure as the root cause. Long running tasks should check {@link #isFailed()} between rows.
+ *
+ * <pre>
+ * try (StageScope scope = new StageScope(LoincStageListener.LOINC_COMPOSE, executorService)) {
+ *     for (chunk ...) {
+ *         scope.fork(() -> composeChunk(chunk));
+ *     }
+ *     scope.join();
+ * }
+ * </pre>
+ */
+public class StageScope implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private final String stage;
+    private final ExecutorService executor;
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public StageScope(String stage, ExecutorService executor) {
+        this.stage = stage;
+        this.executor = executor;
+    }
+
+    public void fork(Task task) {
+        FutureTask<Void> future = new FutureTask<>(() -> {
+            if (isFailed()) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                fail(t);
+            }
+        }, null);
+        // Registered before it can run, so a failure of this or any other task always finds it to cancel
+        synchronized (futures) {
+            if (isFailed()) {
+                return;
+            }
+            futures.add(future);
+        }
+        executor.execute(future);
+    }
+
+    public boolean isFailed() {
+        return failure.get() != null;
+    }
+
+    /**
+     * Wait for every forked task.
+     *
+     * @throws LoincTransformationException with the first failure of a task as its cause
+     */
+    public void join() {
+        List<Future<?>> forked;
+        synchronized (futures) {
+            forked = new ArrayList<>(futures);
+        }
+        for (Future<?> future : forked) {
+            try {
+                future.get();
+            } catch (CancellationException | ExecutionException e) {
+                // Tasks record their own failure, cancelled ones were cancelled because of it
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+                break;
+            }
+        }
+        Throwable cause = failure.get();
+        if (cause instanceof LoincTransformationException transformationException) {
+            throw transformationException;
+        }
+        if (cause != null) {
+            throw new LoincTransformationException("Stage " + stage + " failed: " + cause, cause);
+        }
+    }
+
+    private void fail(Throwable t) {
+        if (failure.compareAndSet(null, t)) {
+            cancelAll();
+        }
+    }
+
+    private void cancelAll() {
+        synchronized (futures) {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Cancel whatever is still running, e.g. when the caller leaves the scope without joining.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+    }
+}
@@ -0,0 +1,289 @@
+package dev.ikm.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters for one transformation run: wall and CPU time, heap high-water mark, rows in, out, skipped and failed, and
+ * components composed by {@link ComposedType}, per stage and in total. Stages run one after another, so counts recorded while a stage
+ * is running belong to that stage; the worker threads of a stage only touch atomic counters.
+ * {@link #writeReport(File, LoincTransformerSettings, ErrorAggregator)} writes everything as JSON for the dashboards,
+ * with null CPU times when the platform does not report the process CPU time.
+ */
+public class TransformationMetrics {
+
+    public static final String REPORT_FILE = "loinc-transformation-report.json";
+
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final LongSupplier cpuClock;
+    private final long startCpuNanos;
+    private final List<StageMetrics> stages = new ArrayList<>();
+    private final StageMetrics total = new StageMetrics("total");
+    private volatile StageMetrics current;
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+    private final AtomicLong earlyCommits = new AtomicLong();
+    private final AtomicLong throttleNanos = new AtomicLong();
+
+    public TransformationMetrics() {
+        this(TransformationMetrics::processCpuNanos);
+    }
+
+    /**
+     * @param cpuClock process CPU time in nanoseconds, -1 when it is not available
+     */
+    TransformationMetrics(LongSupplier cpuClock) {
+        this.cpuClock = cpuClock;
+        this.startCpuNanos = cpuClock.getAsLong();
+    }
+
+    public void stageStarted(String name) {
+        StageMetrics stage = new StageMetrics(name);
+        stage.startNanos = System.nanoTime();
+        stage.startCpuNanos = cpuClock.getAsLong();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        synchronized (stages) {
+            stages.add(stage);
+        }
+        current = stage;
+    }
+
+    public void stageFinished(String name) {
+        StageMetrics stage = current;
+        if (stage != null && stage.name.equals(name)) {
+            stage.wallNanos = System.nanoTime() - stage.startNanos;
+            stage.cpuNanos = cpuNanosSince(stage.startCpuNanos);
+            // Sum of the per-pool peaks, an upper bound of the actual peak heap
+            stage.peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            current = null;
+        }
+    }
+
+    public void rowsIn(long rows) {
+        add(stage -> stage.rowsIn, rows);
+    }
+
+    /**
+     * Rows read by all stages so far.
+     */
+    public long rowsIn() {
+        return total.rowsIn.get();
+    }
+
+    public void rowOut() {
+        add(stage -> stage.rowsOut, 1);
+    }
+
+    public void rowSkipped() {
+        add(stage -> stage.rowsSkipped, 1);
+    }
+
+    public void rowFailed() {
+        add(stage -> stage.rowsFailed, 1);
+    }
+
+    /**
+     * A compose call that threw; the row it belongs to may still be counted as out.
+     */
+    public void composeFailed() {
+        add(stage -> stage.composeErrors, 1);
+    }
+
+    /**
+     * Open sessions committed early by {@link HeapBudgetGovernor}.
+     */
+    public void earlyCommit() {
+        earlyCommits.incrementAndGet();
+    }
+
+    /**
+     * Time workers waited in {@link HeapBudgetGovernor#throttle()} to stay under the heap budget.
+     */
+    public void throttled(long nanos) {
+        throttleNanos.addAndGet(nanos);
+    }
+
+    /**
+     * @return the highest heap high-water mark of the finished stages
+     */
+    public long peakHeapBytes() {
+        synchronized (stages) {
+            return stages.stream().mapToLong(stage -> stage.peakHeapBytes).max().orElse(0);
+        }
+    }
+
+    public void composed(ComposedType type) {
+        total.composed.incrementAndGet(type.ordinal());
+        StageMetrics stage = current;
+        if (stage != null) {
+            stage.composed.incrementAndGet(type.ordinal());
+        }
+    }
+
+    /**
+     * Rows of the running stage so far, or null between stages.
+     */
+    public StageProgress progress() {
+        StageMetrics stage = current;
+        if (stage == null) {
+            return null;
+        }
+        long processed = stage.rowsOut.get() + stage.rowsSkipped.get() + stage.rowsFailed.get();
+        return new StageProgress(stage.name, stage.rowsIn.get(), processed, System.nanoTime() - stage.startNanos);
+    }
+
+    public long composedCount(ComposedType type) {
+        return total.composed.get(type.ordinal());
+    }
+
+    public long entitiesComposed() {
+        return composedCount(true);
+    }
+
+    public long semanticsComposed() {
+        return composedCount(false);
+    }
+
+    private long composedCount(boolean entities) {
+        long count = 0;
+        for (ComposedType type : ComposedType.values()) {
+            if (type.isEntity() == entities) {
+                count += composedCount(type);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Write the run report as JSON to the given file.
+     */
+    public void writeReport(File reportFile, LoincTransformerSettings settings, ErrorAggregator errors) throws IOException {
+        long wallNanos = System.nanoTime() - startNanos;
+        long cpuNanos = cpuNanosSince(startCpuNanos);
+        JsonWriter json = new JsonWriter().beginObject()
+                .field("startedAt", startedAt.toString())
+                .field("namespace", String.valueOf(settings.getNamespace()))
+                .field("threadCount", settings.getThreadCount())
+                .field("shardIndex", settings.getShardIndex())
+                .field("shardCount", settings.getShardCount())
+                .field("controllerName", settings.getControllerName())
+                .field("wallMillis", TimeUnit.NANOSECONDS.toMillis(wallNanos));
+        writeCpuMillis(json, cpuNanos)
+                .field("heapBudgetBytes", settings.getHeapBudgetBytes())
+                .field("peakHeapBytes", peakHeapBytes())
+                .field("earlyCommits", earlyCommits.get())
+                .field("throttleMillis", TimeUnit.NANOSECONDS.toMillis(throttleNanos.get()));
+        json.name("stages").beginArray();
+        synchronized (stages) {
+            for (StageMetrics stage : stages) {
+                stage.write(json);
+            }
+        }
+        json.endArray();
+        json.name("total");
+        total.write(json);
+
+        json.field("entitiesComposed", entitiesComposed())
+                .field("semanticsComposed", semanticsComposed());
+        errors.writeTo(json);
+        json.endObject();
+
+        File parent = reportFile.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+        Files.writeString(reportFile.toPath(), json.toString(), StandardCharsets.UTF_8);
+    }
+
+    private void add(Function<StageMetrics, AtomicLong> counter, long amount) {
+        counter.apply(total).addAndGet(amount);
+        StageMetrics stage = current;
+        if (stage != null) {
+            counter.apply(stage).addAndGet(amount);
+        }
+    }
+
+    /**
+     * CPU time since the given process CPU time, -1 when either end is not available.
+     */
+    private long cpuNanosSince(long startCpuNanos) {
+        long cpuNanos = cpuClock.getAsLong();
+        return startCpuNanos < 0 || cpuNanos < 0 ? -1 : cpuNanos - startCpuNanos;
+    }
+
+    private static JsonWriter writeCpuMillis(JsonWriter json, long cpuNanos) {
+        json.name("cpuMillis");
+        return cpuNanos < 0 ? json.nullValue() : json.value(TimeUnit.NANOSECONDS.toMillis(cpuNanos));
+    }
+
+    /**
+     * Process CPU time including GC and JIT threads, -1 when the platform does not report it.
+     */
+    private static long processCpuNanos() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            return sunOs.getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    /**
+     * @param rowsIn        rows read by the stage, which grows while the stage reads its input
+     * @param rowsProcessed rows out, skipped and failed
+     */
+    public record StageProgress(String stage, long rowsIn, long rowsProcessed, long elapsedNanos) {
+    }
+
+    private static class StageMetrics {
+        private final String name;
+        private long startNanos;
+        private long startCpuNanos;
+        private long wallNanos;
+        private long cpuNanos;
+        private long peakHeapBytes;
+        private final AtomicLong rowsIn = new AtomicLong();
+        private final AtomicLong rowsOut = new AtomicLong();
+        private final AtomicLong rowsSkipped = new AtomicLong();
+        private final AtomicLong rowsFailed = new AtomicLong();
+        private final AtomicLong composeErrors = new AtomicLong();
+        private final AtomicLongArray composed = new AtomicLongArray(ComposedType.values().length);
+
+        private StageMetrics(String name) {
+            this.name = name;
+        }
+
+        private void write(JsonWriter json) {
+            json.beginObject().field("name", name);
+            if (!name.equals("total")) {
+                json.field("wallMillis", TimeUnit.NANOSECONDS.toMillis(wallNanos));
+                writeCpuMillis(json, cpuNanos)
+                        .field("peakHeapBytes", peakHeapBytes)
+                        .field("rowsPerSecond", wallNanos > 0 ? rowsIn.get() / (wallNanos / 1e9) : 0.0);
+            }
+            json.field("rowsIn", rowsIn.get())
+                    .field("rowsOut", rowsOut.get())
+                    .field("rowsSkipped", rowsSkipped.get())
+                    .field("rowsFailed", rowsFailed.get())
+                    .field("composeErrors", composeErrors.get());
+            json.name("composed").beginObject();
+            for (ComposedType type : ComposedType.values()) {
+                json.field(type.name(), composed.get(type.ordinal()));
+            }
+            json.endObject().endObject();
+        }
+    }
+}
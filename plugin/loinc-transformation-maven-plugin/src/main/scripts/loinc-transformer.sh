@@ -0,0 +1,25 @@
+#!/bin/sh
+#
+# Runs the LOINC transformer from the cli jar without Maven.
+#
+#   loinc-transformer.sh [--appcds <archive.jsa>] --namespace <uuid> --datastore <dir> --input <zip> --output <dir>
+#
+# With --appcds the JVM dumps an AppCDS archive of the loaded classes on the first run and maps it on every
+# later run, which cuts JVM and Tinkar service start-up. Delete the archive after upgrading the jar or the JDK.
+#
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+JAR=${LOINC_TRANSFORMER_JAR:-$(ls "$SCRIPT_DIR"/../../../target/loinc-transformation-maven-plugin-*-cli.jar 2>/dev/null | head -n 1)}
+JAVA_OPTS=${JAVA_OPTS:-"-Xmx12g -XX:+UseG1GC"}
+
+if [ -z "$JAR" ] || [ ! -f "$JAR" ]; then
+    echo "cli jar not found, build the plugin first or set LOINC_TRANSFORMER_JAR" >&2
+    exit 1
+fi
+
+CDS_OPTS=""
+if [ "$1" = "--appcds" ]; then
+    CDS_OPTS="-XX:SharedArchiveFile=$2 -XX:+AutoCreateSharedArchive"
+    shift 2
+fi
+
+exec java $JAVA_OPTS $CDS_OPTS -jar "$JAR" "$@"
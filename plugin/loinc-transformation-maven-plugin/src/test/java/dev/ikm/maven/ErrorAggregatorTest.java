@@ -0,0 +1,119 @@
+package dev.ikm.maven;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the fail threshold, the samples kept per category and the quarantine file of {@link ErrorAggregator}.
+ */
+public class ErrorAggregatorTest {
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    public void negativeThresholdNeverFails() throws IOException {
+        try (ErrorAggregator errors = aggregator(-1)) {
+            for (int i = 0; i < 1000; i++) {
+                errors.composeFailed(ComposedType.CONCEPT, "concept " + i, new IllegalStateException());
+            }
+            assertFalse(errors.isThresholdExceeded());
+            errors.checkThreshold();
+            assertEquals(1000, errors.errorCount());
+        }
+    }
+
+    @Test
+    public void zeroThresholdFailsOnTheFirstError() throws IOException {
+        try (ErrorAggregator errors = aggregator(0)) {
+            errors.checkThreshold();
+            errors.rowFailed("Part.csv", "line 2", "insufficient columns", "\"LP1\"", null);
+            assertTrue(errors.isThresholdExceeded());
+            LoincTransformationException thrown = assertThrows(LoincTransformationException.class, errors::checkThreshold);
+            assertEquals("1 transformation errors exceed the fail threshold of 0, rejected rows are in "
+                    + quarantineFile(), thrown.getMessage());
+        }
+    }
+
+    @Test
+    public void thresholdToleratesExactlyThatManyErrors() throws IOException {
+        try (ErrorAggregator errors = aggregator(3)) {
+            for (int i = 0; i < 3; i++) {
+                errors.rowFailed("Loinc.csv", "line " + (i + 2), "insufficient columns", null, null);
+                errors.checkThreshold();
+            }
+            errors.composeFailed(ComposedType.OWL_AXIOM, "concept", new IllegalStateException());
+            assertThrows(LoincTransformationException.class, errors::checkThreshold);
+        }
+    }
+
+    @Test
+    public void keepsTheFirstThreeSamplesPerCategory() throws IOException {
+        try (ErrorAggregator errors = aggregator(-1)) {
+            List<Exception> thrown = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                Exception e = new IllegalStateException("failure " + i);
+                thrown.add(e);
+                errors.rowFailed("Loinc.csv", "LN" + i, "compose failed", null, e);
+                errors.composeFailed(ComposedType.DESCRIPTION, "concept " + i, e);
+            }
+            // Rows rejected by validation have no exception to sample
+            errors.rowFailed("Loinc.csv", "line 9", "insufficient columns", null, null);
+
+            assertEquals(thrown.subList(0, 3), errors.samples("Loinc.csv: compose failed"));
+            assertEquals(thrown.subList(0, 3), errors.samples("compose DESCRIPTION"));
+            assertEquals(List.of(), errors.samples("Loinc.csv: insufficient columns"));
+            assertEquals(11, errors.errorCount());
+
+            JsonWriter json = new JsonWriter().beginObject();
+            errors.writeTo(json);
+            String report = json.endObject().toString();
+            assertTrue(report.contains("\"Loinc.csv: compose failed\":5"), report);
+            assertTrue(report.contains("\"compose DESCRIPTION\":5"), report);
+            assertTrue(report.contains("\"Loinc.csv: insufficient columns\":1"), report);
+        }
+    }
+
+    @Test
+    public void quarantinesRejectedRowsOnly() throws IOException {
+        try (ErrorAggregator errors = aggregator(-1)) {
+            errors.rowFailed("Part.csv", "line 2", "insufficient columns", "\"LP1\",\"COMPONENT\"", null);
+            errors.composeFailed(ComposedType.STATED_AXIOM, "concept", new IllegalStateException());
+            errors.rowFailed("Loinc.csv", "1234-5", "compose failed", null, new IllegalStateException());
+        }
+        assertEquals(List.of(
+                        "SOURCE\tKEY\tREASON\tROW",
+                        "Part.csv\tline 2\tinsufficient columns\t\"LP1\",\"COMPONENT\"",
+                        "Loinc.csv\t1234-5\tcompose failed\t"),
+                Files.readAllLines(quarantineFile().toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void noQuarantineFileWithoutRejectedRows() throws IOException {
+        try (ErrorAggregator errors = aggregator(-1)) {
+            errors.composeFailed(ComposedType.CONCEPT, "concept", new IllegalStateException());
+        }
+        assertFalse(quarantineFile().exists());
+    }
+
+    private ErrorAggregator aggregator(long failThreshold) {
+        return new ErrorAggregator(outputDirectory.toFile(), failThreshold, new TransformationMetrics());
+    }
+
+    private File quarantineFile() {
+        return new File(outputDirectory.toFile(), ErrorAggregator.QUARANTINE_FILE);
+    }
+}
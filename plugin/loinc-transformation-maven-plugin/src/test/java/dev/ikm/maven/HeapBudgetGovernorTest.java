@@ -0,0 +1,100 @@
+package dev.ikm.maven;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the heap budget parsing and when {@link HeapBudgetGovernor} commits early and asks the worker to throttle,
+ * with the live heap supplied by the test.
+ */
+public class HeapBudgetGovernorTest {
+    private static final long BUDGET = 1000;
+
+    private final AtomicLong live = new AtomicLong();
+    private final AtomicInteger flushes = new AtomicInteger();
+    private final HeapBudgetGovernor governor = new HeapBudgetGovernor(BUDGET, flushes::incrementAndGet,
+            new TransformationMetrics(), live::get);
+
+    @Test
+    public void parseSizeUnits() {
+        assertEquals(512L << 10, HeapBudgetGovernor.parseSize("512k"));
+        assertEquals(2L << 20, HeapBudgetGovernor.parseSize("2m"));
+        assertEquals(1L << 30, HeapBudgetGovernor.parseSize("1G"));
+        assertEquals(3L << 30, HeapBudgetGovernor.parseSize(" 3g "));
+        assertEquals(1073741824L, HeapBudgetGovernor.parseSize("1073741824"));
+        assertEquals(0, HeapBudgetGovernor.parseSize(null));
+        assertEquals(0, HeapBudgetGovernor.parseSize(" "));
+    }
+
+    @Test
+    public void parseSizeRejectsBadInput() {
+        for (String size : new String[]{"abc", "12x", "m", "1.5g", "2 gb"}) {
+            assertThrows(IllegalArgumentException.class, () -> HeapBudgetGovernor.parseSize(size), size);
+        }
+    }
+
+    @Test
+    public void disabledGovernorNeverFlushes() {
+        HeapBudgetGovernor disabled = new HeapBudgetGovernor(0, flushes::incrementAndGet, new TransformationMetrics(),
+                live::get);
+        live.set(Long.MAX_VALUE);
+        assertFalse(checkpoints(disabled, HeapBudgetGovernor.CHECK_INTERVAL_ROWS * 2));
+        assertEquals(0, flushes.get());
+    }
+
+    @Test
+    public void underTheFlushMarkNothingHappens() {
+        live.set(BUDGET * 84 / 100);
+        assertFalse(checkpoints(governor, HeapBudgetGovernor.CHECK_INTERVAL_ROWS * 3));
+        assertEquals(0, flushes.get());
+    }
+
+    @Test
+    public void nearTheBudgetCommitsEarlyOncePerCollection() {
+        live.set(BUDGET * 90 / 100);
+        assertFalse(checkpoints(governor, HeapBudgetGovernor.CHECK_INTERVAL_ROWS - 1));
+        assertEquals(0, flushes.get(), "Flushed before the check interval");
+        assertFalse(governor.checkpoint(), "Asked to throttle under the budget");
+        assertEquals(1, flushes.get());
+
+        // Nothing was collected since, another commit would not help
+        assertFalse(checkpoints(governor, HeapBudgetGovernor.CHECK_INTERVAL_ROWS));
+        assertEquals(1, flushes.get());
+
+        live.set(BUDGET * 95 / 100);
+        assertFalse(checkpoints(governor, HeapBudgetGovernor.CHECK_INTERVAL_ROWS));
+        assertEquals(2, flushes.get());
+    }
+
+    @Test
+    public void overTheBudgetCommitsThenAsksToThrottle() {
+        live.set(BUDGET + 200);
+        assertFalse(checkpoints(governor, HeapBudgetGovernor.CHECK_INTERVAL_ROWS - 1));
+        assertTrue(governor.checkpoint(), "Not asked to throttle above the budget");
+        assertEquals(1, flushes.get(), "Throttling before committing the open sessions");
+
+        live.set(BUDGET / 2);
+        long start = System.nanoTime();
+        governor.throttle();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10), "Throttled although under the budget");
+    }
+
+    /**
+     * @return true if any of the checkpoints asked to throttle
+     */
+    private static boolean checkpoints(HeapBudgetGovernor governor, int rows) {
+        boolean overBudget = false;
+        for (int i = 0; i < rows; i++) {
+            overBudget |= governor.checkpoint();
+        }
+        return overBudget;
+    }
+}
@@ -0,0 +1,94 @@
+package dev.ikm.maven;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the fail-fast contract of {@link StageScope}: the first failure cancels and interrupts the running siblings,
+ * later forks do not run, and join rethrows that first failure.
+ */
+public class StageScopeTest {
+    private static final int SIBLINGS = 3;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void startExecutor() {
+        executor = Executors.newFixedThreadPool(SIBLINGS + 1);
+    }
+
+    @AfterEach
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void firstFailureCancelsSiblingsAndIsRethrown() throws Exception {
+        CountDownLatch siblingsRunning = new CountDownLatch(SIBLINGS);
+        CountDownLatch siblingsInterrupted = new CountDownLatch(SIBLINGS);
+        IllegalStateException first = new IllegalStateException("first");
+        LoincTransformationException thrown;
+        try (StageScope scope = new StageScope("test", executor)) {
+            for (int i = 0; i < SIBLINGS; i++) {
+                scope.fork(() -> {
+                    siblingsRunning.countDown();
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                        siblingsInterrupted.countDown();
+                        throw e;
+                    }
+                });
+            }
+            scope.fork(() -> {
+                siblingsRunning.await();
+                throw first;
+            });
+            thrown = assertThrows(LoincTransformationException.class, scope::join);
+
+            AtomicBoolean ranAfterFailure = new AtomicBoolean();
+            scope.fork(() -> ranAfterFailure.set(true));
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Cancelled tasks kept running");
+            assertFalse(ranAfterFailure.get(), "A task forked after the failure ran");
+        }
+        assertSame(first, thrown.getCause());
+        assertTrue(siblingsInterrupted.await(10, TimeUnit.SECONDS), "Siblings were not interrupted");
+    }
+
+    @Test
+    public void transformationExceptionIsRethrownAsIs() {
+        LoincTransformationException failure = new LoincTransformationException("threshold exceeded");
+        try (StageScope scope = new StageScope("test", executor)) {
+            scope.fork(() -> {
+                throw failure;
+            });
+            assertSame(failure, assertThrows(LoincTransformationException.class, scope::join));
+        }
+    }
+
+    @Test
+    public void joinWaitsForEveryTask() {
+        CountDownLatch done = new CountDownLatch(SIBLINGS);
+        try (StageScope scope = new StageScope("test", executor)) {
+            for (int i = 0; i < SIBLINGS; i++) {
+                scope.fork(done::countDown);
+            }
+            scope.join();
+        }
+        assertEquals(0, done.getCount(), "join returned before every task finished");
+    }
+}
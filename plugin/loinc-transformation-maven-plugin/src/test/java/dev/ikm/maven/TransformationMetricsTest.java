@@ -0,0 +1,61 @@
+package dev.ikm.maven;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the CPU times of the {@link TransformationMetrics} run report, with the process CPU time supplied by the
+ * test.
+ */
+public class TransformationMetricsTest {
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    public void reportsCpuTimeOfRunAndStages() throws IOException {
+        AtomicLong cpuNanos = new AtomicLong(TimeUnit.SECONDS.toNanos(5));
+        TransformationMetrics metrics = new TransformationMetrics(cpuNanos::get);
+        cpuNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        metrics.stageStarted("part parse");
+        cpuNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        metrics.stageFinished("part parse");
+
+        String report = writeReport(metrics);
+        assertTrue(report.contains("\"controllerName\":\"Open SpinedArrayStore\",\"wallMillis\":"), report);
+        assertTrue(report.contains("\"cpuMillis\":350,\"heapBudgetBytes\":"), report);
+        assertTrue(report.contains("\"name\":\"part parse\",\"wallMillis\":"), report);
+        assertTrue(report.contains("\"cpuMillis\":250,\"peakHeapBytes\":"), report);
+    }
+
+    @Test
+    public void unavailableCpuTimeIsNull() throws IOException {
+        TransformationMetrics metrics = new TransformationMetrics(() -> -1);
+        metrics.stageStarted("part parse");
+        metrics.stageFinished("part parse");
+
+        String report = writeReport(metrics);
+        assertTrue(report.contains("\"cpuMillis\":null,\"heapBudgetBytes\":"), report);
+        assertTrue(report.contains("\"cpuMillis\":null,\"peakHeapBytes\":"), report);
+        assertFalse(report.contains("\"cpuMillis\":-"), report);
+    }
+
+    private String writeReport(TransformationMetrics metrics) throws IOException {
+        File reportFile = new File(outputDirectory.toFile(), TransformationMetrics.REPORT_FILE);
+        try (ErrorAggregator errors = new ErrorAggregator(outputDirectory.toFile(), -1, metrics)) {
+            metrics.writeReport(reportFile, new LoincTransformerSettings(), errors);
+        }
+        return Files.readString(reportFile.toPath(), StandardCharsets.UTF_8);
+    }
+}